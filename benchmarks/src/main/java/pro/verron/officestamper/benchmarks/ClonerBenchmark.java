@@ -0,0 +1,99 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.docx4j.XmlUtils;
+import org.docx4j.jaxb.Context;
+import org.docx4j.wml.*;
+import org.openjdk.jmh.annotations.*;
+import pro.verron.officestamper.utils.wml.WmlCloner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Compares [WmlCloner#copy(Object)] with the JAXB round trip of [XmlUtils#deepCopy(Object)] on the elements copied
+/// by the repeat processors: a block of styled paragraphs holding placeholders, and a table row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClonerBenchmark {
+
+    /// The number of paragraphs in the repeated block.
+    @Param({"1", "3", "10"}) public int paragraphs;
+
+    private List<Object> block;
+    private Tr row;
+
+    /// Builds the block and the row to copy.
+    @Setup
+    public void setUp() {
+        block = new ArrayList<>();
+        for (int i = 0; i < paragraphs; i++)
+            block.add(paragraph(i));
+        row = newRow();
+        var factory = Context.getWmlObjectFactory();
+        for (int i = 0; i < 4; i++) {
+            var cell = newCell();
+            cell.getContent()
+                .add(paragraph(i));
+            row.getContent()
+               .add(factory.createTrTc(cell));
+        }
+    }
+
+    private static P paragraph(int index) {
+        var run = newRun("Item " + index + ": ");
+        var rPr = new RPr();
+        rPr.setB(new BooleanDefaultTrue());
+        run.setRPr(rPr);
+        var paragraph = newParagraph(run);
+        paragraph.setPPr(newPPr());
+        paragraph.getContent()
+                 .add(newSmartTag("officestamper", newCtAttr("type", "placeholder"), newRun("${name}")));
+        paragraph.getContent()
+                 .add(newRun(" and some trailing text."));
+        return paragraph;
+    }
+
+    /// Copies the block with a JAXB marshal and unmarshal round trip per element.
+    ///
+    /// @return the copies.
+    @Benchmark
+    public List<Object> blockDeepCopy() {
+        var copies = new ArrayList<>(block.size());
+        for (var element : block)
+            copies.add(XmlUtils.deepCopy(element));
+        return copies;
+    }
+
+    /// Copies the block structurally.
+    ///
+    /// @return the copies.
+    @Benchmark
+    public List<Object> blockWmlCloner() {
+        var copies = new ArrayList<>(block.size());
+        for (var element : block)
+            copies.add(WmlCloner.copy(element));
+        return copies;
+    }
+
+    /// Copies the row with a JAXB marshal and unmarshal round trip.
+    ///
+    /// @return the copy.
+    @Benchmark
+    public Tr rowDeepCopy() {
+        return XmlUtils.deepCopy(row);
+    }
+
+    /// Copies the row structurally.
+    ///
+    /// @return the copy.
+    @Benchmark
+    public Tr rowWmlCloner() {
+        return WmlCloner.copy(row);
+    }
+}
@@ -0,0 +1,72 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import pro.verron.officestamper.api.Insert;
+import pro.verron.officestamper.api.ProcessorContext;
+import pro.verron.officestamper.core.*;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Measures [Engine#resolve] alone: evaluating the expression of a placeholder against a context, and resolving its
+/// value into the runs replacing the placeholder, the way a placeholder hook does once its evaluation context is built.
+///
+/// The [UnionEvaluationContext] of the placeholder is built by the [OfficeStamperEvaluationContextFactory] of the
+/// configuration, as a [DocxStamper] builds it, without stamping a whole document.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    /// The expression of the placeholder: a property, a method call, an indexed property.
+    @Param({"name", "name.toUpperCase()", "nicknames[1]"}) public String expression;
+
+    private Engine engine;
+    private UnionEvaluationContext evaluationContext;
+
+    /// Builds the engine and the evaluation context of a placeholder holding the expression.
+    @Setup
+    public void setUp() {
+        var configuration = OfficeStamperConfigurations.standard();
+        var document = newWord();
+        var tag = newSmartTag("officestamper", newCtAttr("type", "placeholder"), newRun(expression));
+        document.getMainDocumentPart()
+                .getContent()
+                .add(newParagraph(List.of(newRun("Hello "), tag)));
+        var part = new TextualDocxPart(document);
+        var placeholder = Tag.of(part, tag);
+        var contextRoot = new ContextRoot(new Person("Homer", List.of("Homie", "Mr. Plow")));
+        var branch = contextRoot.find(placeholder.getContextKey());
+        var processorContext = new ProcessorContext(part,
+                placeholder.getParagraph(),
+                placeholder.asComment(),
+                placeholder.expression(),
+                branch);
+        evaluationContext = OfficeStamperEvaluationContextFactory.of(configuration)
+                                                                 .create(processorContext, branch);
+        engine = new Engine(configuration.getParserConfiguration(),
+                configuration.getExceptionResolver(),
+                new ObjectResolverRegistry(configuration.getResolvers()),
+                processorContext);
+    }
+
+    /// Resolves the placeholder.
+    ///
+    /// @return the runs replacing the placeholder.
+    @Benchmark
+    public Insert resolve() {
+        return engine.resolve(evaluationContext);
+    }
+
+    /// The context of the placeholder.
+    ///
+    /// @param name the name.
+    /// @param nicknames the nicknames.
+    public record Person(String name, List<String> nicknames) {}
+}
@@ -0,0 +1,88 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import pro.verron.officestamper.api.ProcessorContext;
+import pro.verron.officestamper.core.*;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Measures the [UnionEvaluationContext] of a hook on the steady state, once its expression ran once: handing its
+/// accessor and resolver lists to SpEL, and reading a property of its context branch, from the leaf or from the root.
+///
+/// Run it with `-prof gc` to read the bytes allocated per operation, `gc.alloc.rate.norm`: handing the lists allocates
+/// nothing, and the property reads allocate only what SpEL allocates for any evaluation.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationContextBenchmark {
+
+    /// The property read: `name` from the leaf of the branch, `family` from its root.
+    @Param({"name", "family"}) public String property;
+
+    private UnionEvaluationContext evaluationContext;
+    private Expression expression;
+
+    /// Builds the evaluation context of a hook on a branch of two levels, then reads the property once.
+    @Setup
+    public void setUp() {
+        var configuration = OfficeStamperConfigurations.standard();
+        var document = newWord();
+        var tag = newSmartTag("officestamper", newCtAttr("type", "inlineProcessor"), newRun(property));
+        document.getMainDocumentPart()
+                .getContent()
+                .add(newParagraph(List.of(tag)));
+        var part = new TextualDocxPart(document);
+        var hook = Tag.of(part, tag);
+        var contextRoot = new ContextRoot(new Family("Simpson"));
+        var key = contextRoot.find("0")
+                             .addBranch(new Person("Homer"));
+        var branch = contextRoot.find(key);
+        var processorContext = new ProcessorContext(part,
+                hook.getParagraph(),
+                hook.asComment(),
+                hook.expression(),
+                branch);
+        evaluationContext = OfficeStamperEvaluationContextFactory.of(configuration)
+                                                                 .create(processorContext, branch);
+        expression = new SpelExpressionParser(configuration.getParserConfiguration()).parseExpression(property);
+        expression.getValue(evaluationContext);
+    }
+
+    /// Hands the accessor and resolver lists to SpEL, as it does for each property, index and method node.
+    ///
+    /// @param blackhole consumes the lists.
+    @Benchmark
+    public void accessorLists(Blackhole blackhole) {
+        blackhole.consume(evaluationContext.getPropertyAccessors());
+        blackhole.consume(evaluationContext.getIndexAccessors());
+        blackhole.consume(evaluationContext.getMethodResolvers());
+    }
+
+    /// Reads the property from the branch, as a comment processor expression does.
+    ///
+    /// @return the value of the property.
+    @Benchmark
+    public Object readProperty() {
+        return expression.getValue(evaluationContext);
+    }
+
+    /// The root of the context.
+    ///
+    /// @param family the family name.
+    public record Family(String family) {}
+
+    /// The leaf of the context.
+    ///
+    /// @param name the name.
+    public record Person(String name) {}
+}
@@ -0,0 +1,125 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import pro.verron.officestamper.core.MethodCall;
+import pro.verron.officestamper.core.MethodCallExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+/// Compares the executors of the methods of exposed interfaces: the [ReflectionExecutor] baseline, invoking them
+/// through [java.lang.reflect.Method#invoke], and the [MethodCallExecutor] of the engine, calling them through a method
+/// handle specialized by arity.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodCallBenchmark {
+
+    private final StandardEvaluationContext context = new StandardEvaluationContext();
+    private final Object[] one = {"Homer"};
+    private final Object[] two = {"Homer", 2};
+    private MethodExecutor reflectiveOne;
+    private MethodExecutor reflectiveTwo;
+    private MethodExecutor handleOne;
+    private MethodExecutor handleTwo;
+
+    /// Prepares both executors for a method of one parameter, and for a method of two parameters.
+    ///
+    /// @throws NoSuchMethodException never, the methods being declared by [Greeter].
+    @Setup
+    public void setUp()
+            throws NoSuchMethodException {
+        var greeter = new SimpleGreeter();
+        var greet = Greeter.class.getMethod("greet", String.class);
+        var repeat = Greeter.class.getMethod("repeat", String.class, int.class);
+        reflectiveOne = new ReflectionExecutor(greeter, greet);
+        reflectiveTwo = new ReflectionExecutor(greeter, repeat);
+        handleOne = new MethodCallExecutor(greeter, MethodCall.of(greet));
+        handleTwo = new MethodCallExecutor(greeter, MethodCall.of(repeat));
+    }
+
+    /// Calls a method of one parameter reflectively.
+    ///
+    /// @return the result of the call.
+    ///
+    /// @throws AccessException never.
+    @Benchmark
+    public Object reflectiveOneArgument()
+            throws AccessException {
+        return reflectiveOne.execute(context, this, one)
+                            .getValue();
+    }
+
+    /// Calls a method of one parameter through its method handle.
+    ///
+    /// @return the result of the call.
+    ///
+    /// @throws AccessException never.
+    @Benchmark
+    public Object handleOneArgument()
+            throws AccessException {
+        return handleOne.execute(context, this, one)
+                        .getValue();
+    }
+
+    /// Calls a method of two parameters, one of them primitive, reflectively.
+    ///
+    /// @return the result of the call.
+    ///
+    /// @throws AccessException never.
+    @Benchmark
+    public Object reflectiveTwoArguments()
+            throws AccessException {
+        return reflectiveTwo.execute(context, this, two)
+                            .getValue();
+    }
+
+    /// Calls a method of two parameters, one of them primitive, through its method handle.
+    ///
+    /// @return the result of the call.
+    ///
+    /// @throws AccessException never.
+    @Benchmark
+    public Object handleTwoArguments()
+            throws AccessException {
+        return handleTwo.execute(context, this, two)
+                        .getValue();
+    }
+
+    /// An interface exposed to the expression language.
+    public interface Greeter {
+        /// Greets someone.
+        ///
+        /// @param name the name.
+        ///
+        /// @return the greeting.
+        String greet(String name);
+
+        /// Repeats a name.
+        ///
+        /// @param name the name.
+        /// @param times the number of repetitions.
+        ///
+        /// @return the repeated name.
+        String repeat(String name, int times);
+    }
+
+    /// The implementation of the exposed interface.
+    public static final class SimpleGreeter
+            implements Greeter {
+        @Override
+        public String greet(String name) {
+            return name;
+        }
+
+        @Override
+        public String repeat(String name, int times) {
+            return times > 1 ? name : "";
+        }
+    }
+}
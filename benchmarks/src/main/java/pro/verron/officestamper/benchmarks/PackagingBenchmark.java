@@ -0,0 +1,76 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.openjdk.jmh.annotations.*;
+import pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the loading and the export of a `.docx` package of `paragraphs` paragraphs with [OpenpackagingUtils],
+/// eagerly and lazily loaded.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackagingBenchmark {
+
+    /// The number of paragraphs in the package.
+    @Param({"10", "1000", "100000"}) public int paragraphs;
+
+    private byte[] bytes;
+    private WordprocessingMLPackage loaded;
+    private WordprocessingMLPackage lazilyLoaded;
+
+    /// Builds the package, and loads it to export it.
+    @Setup
+    public void setUp() {
+        bytes = SyntheticTemplates.placeholders(paragraphs);
+        loaded = OpenpackagingUtils.loadWord(new ByteArrayInputStream(bytes));
+        lazilyLoaded = OpenpackagingUtils.loadWordLazily(bytes);
+        lazilyLoaded.getMainDocumentPart()
+                    .getJaxbElement();
+    }
+
+    /// Loads the package, inflating and unmarshalling all its parts.
+    ///
+    /// @return the document.
+    @Benchmark
+    public WordprocessingMLPackage loadWord() {
+        return OpenpackagingUtils.loadWord(new ByteArrayInputStream(bytes));
+    }
+
+    /// Loads the package lazily, then unmarshals its main document part as stamping does.
+    ///
+    /// @return the document.
+    @Benchmark
+    public WordprocessingMLPackage loadWordLazily() {
+        var document = OpenpackagingUtils.loadWordLazily(bytes);
+        document.getMainDocumentPart()
+                .getJaxbElement();
+        return document;
+    }
+
+    /// Exports the eagerly loaded package.
+    ///
+    /// @return the bytes exported.
+    @Benchmark
+    public byte[] exportWord() {
+        var output = new ByteArrayOutputStream(bytes.length);
+        OpenpackagingUtils.exportWord(loaded, output);
+        return output.toByteArray();
+    }
+
+    /// Exports the lazily loaded package, copying the parts left untouched verbatim.
+    ///
+    /// @return the bytes exported.
+    @Benchmark
+    public byte[] exportWordLazily() {
+        var output = new ByteArrayOutputStream(bytes.length);
+        OpenpackagingUtils.exportWord(lazilyLoaded, output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import pro.verron.officestamper.preset.EvaluationContextFactories;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the property reads of the default evaluation context, through data binding, with the ones of the typed
+/// evaluation context, through method handles, on records, JavaBeans and maps, interpreted by SpEL.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessorBenchmark {
+
+    /// The evaluation context factory: `default` or `typed`.
+    @Param({"default", "typed"}) public String factory;
+
+    /// The expression: a record component, a JavaBean getter, then a map entry.
+    @Param({"address.city", "person.name", "extra.pet"}) public String expression;
+
+    private EvaluationContext context;
+    private Expression parsed;
+
+    /// Creates the evaluation context and parses the expression, then evaluates it once.
+    @Setup
+    public void setUp() {
+        var contextFactory = switch (factory) {
+            case "default" -> EvaluationContextFactories.defaultFactory();
+            case "typed" -> EvaluationContextFactories.typedFactory();
+            default -> throw new IllegalArgumentException(factory);
+        };
+        Map<String, Object> extra = new HashMap<>();
+        extra.put("pet", "Santa's Little Helper");
+        context = contextFactory.create(new Household(new Person("Homer"), new Address("Springfield"), extra));
+        parsed = new SpelExpressionParser().parseExpression(expression);
+        parsed.getValue(context);
+    }
+
+    /// Evaluates the expression.
+    ///
+    /// @return the value read.
+    @Benchmark
+    public Object read() {
+        return parsed.getValue(context);
+    }
+
+    /// The root of the context.
+    ///
+    /// @param person a JavaBean.
+    /// @param address a record.
+    /// @param extra a map.
+    public record Household(Person person, Address address, Map<String, Object> extra) {}
+
+    /// An address.
+    ///
+    /// @param city the city.
+    public record Address(String city) {}
+
+    /// A person, as a JavaBean.
+    public static final class Person {
+        private final String name;
+
+        Person(String name) {
+            this.name = name;
+        }
+
+        /// @return the name.
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package pro.verron.officestamper.core;
+package pro.verron.officestamper.benchmarks;
 
 import org.jspecify.annotations.Nullable;
 import org.springframework.expression.AccessException;
@@ -14,6 +14,9 @@ import java.util.Arrays;
 /// using reflection. This record implements the [MethodExecutor] interface and serves as a mechanism to invoke methods
 /// dynamically.
 ///
+/// The engine executed the methods of exposed interfaces this way before calling them through method handles; it
+/// remains here as the baseline of the [MethodCallBenchmark].
+///
 /// @param object the object on which to invoke the method.
 /// @param method the method to invoke.
 public record ReflectionExecutor(Object object, Method method)
@@ -0,0 +1,133 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.openjdk.jmh.annotations.*;
+import pro.verron.officestamper.api.OfficeStamper;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+import pro.verron.officestamper.preset.OfficeStampers;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures [pro.verron.officestamper.core.DocxStamper#stamp] end to end, preprocessing included, on synthetic
+/// templates scaled by the number of items:
+/// - a template of as many paragraphs holding a placeholder, hooked by the
+///   [pro.verron.officestamper.api.PlaceholderHooker] then resolved one by one;
+/// - a paragraph repeated by the [pro.verron.officestamper.preset.processors.repeat.RepeatProcessor];
+/// - a table row repeated by the [pro.verron.officestamper.preset.processors.repeatrow.RepeatRowProcessor].
+///
+/// Stamping modifies its document, so each measured stamping gets a document freshly loaded outside of the measure.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StampBenchmark {
+
+    /// Stamps a template of `items` paragraphs, each holding a placeholder.
+    ///
+    /// @param state the template and its context.
+    ///
+    /// @return the stamped document.
+    @Benchmark
+    public WordprocessingMLPackage placeholders(Placeholders state) {
+        return state.stamper.stamp(state.document, state.context);
+    }
+
+    /// Stamps a paragraph repeated for `items` names.
+    ///
+    /// @param state the template and its context.
+    ///
+    /// @return the stamped document.
+    @Benchmark
+    public WordprocessingMLPackage repeatParagraph(RepeatedParagraph state) {
+        return state.stamper.stamp(state.document, state.context);
+    }
+
+    /// Stamps a table row repeated for `items` names.
+    ///
+    /// @param state the template and its context.
+    ///
+    /// @return the stamped document.
+    @Benchmark
+    public WordprocessingMLPackage repeatTableRow(RepeatedRow state) {
+        return state.stamper.stamp(state.document, state.context);
+    }
+
+    /// A template, reloaded before each measured stamping, and the context to stamp it with.
+    @State(Scope.Thread)
+    public abstract static class Template {
+        /// The number of items of the template or of its context.
+        @Param({"10", "1000", "100000"}) public int items;
+
+        OfficeStamper<WordprocessingMLPackage> stamper;
+        Object context;
+        WordprocessingMLPackage document;
+        private byte[] bytes;
+
+        /// Builds the template.
+        ///
+        /// @return the bytes of the template.
+        protected abstract byte[] template();
+
+        /// Builds the context.
+        ///
+        /// @return the context.
+        protected abstract Object context();
+
+        /// Builds the stamper, the template and its context.
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            stamper = OfficeStampers.docxPackageStamper(OfficeStamperConfigurations.standard());
+            bytes = template();
+            context = context();
+        }
+
+        /// Loads a fresh copy of the template.
+        @Setup(Level.Iteration)
+        public void setUpIteration() {
+            document = SyntheticTemplates.load(bytes);
+        }
+    }
+
+    /// A template of `items` paragraphs holding a placeholder.
+    public static class Placeholders
+            extends Template {
+        @Override
+        protected byte[] template() {
+            return SyntheticTemplates.placeholders(items);
+        }
+
+        @Override
+        protected Object context() {
+            return SyntheticTemplates.names(0);
+        }
+    }
+
+    /// A paragraph to repeat for `items` names.
+    public static class RepeatedParagraph
+            extends Template {
+        @Override
+        protected byte[] template() {
+            return SyntheticTemplates.repeatedParagraph();
+        }
+
+        @Override
+        protected Object context() {
+            return SyntheticTemplates.names(items);
+        }
+    }
+
+    /// A table row to repeat for `items` names.
+    public static class RepeatedRow
+            extends Template {
+        @Override
+        protected byte[] template() {
+            return SyntheticTemplates.repeatedRow();
+        }
+
+        @Override
+        protected Object context() {
+            return SyntheticTemplates.names(items);
+        }
+    }
+}
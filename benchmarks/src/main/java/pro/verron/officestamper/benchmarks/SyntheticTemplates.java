@@ -0,0 +1,144 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.docx4j.jaxb.Context;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.wml.P;
+import org.docx4j.wml.Tc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.exportWord;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.loadWord;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Builds the templates and contexts the benchmarks stamp, in memory, so that their results do not depend on files.
+///
+/// Each template is exported once to the bytes of a `.docx` package, loaded again before each stamping since stamping
+/// modifies the document.
+final class SyntheticTemplates {
+
+    private SyntheticTemplates() {
+        throw new AssertionError("Utility class shouldn't be instantiated");
+    }
+
+    /// Builds a template of the given number of paragraphs, each holding a `${name}` placeholder surrounded by text.
+    ///
+    /// @param paragraphs the number of paragraphs.
+    ///
+    /// @return the bytes of the template.
+    static byte[] placeholders(int paragraphs) {
+        var document = newWord();
+        var content = document.getMainDocumentPart()
+                              .getContent();
+        for (int i = 0; i < paragraphs; i++)
+            content.add(newParagraph(List.of(newRun("Paragraph " + i + " is for "), newRun("${name}"), newRun("."))));
+        return bytes(document);
+    }
+
+    /// Builds a template of a single paragraph holding a `${name}` placeholder, commented with
+    /// `repeatParagraph(names)`.
+    ///
+    /// @return the bytes of the template.
+    static byte[] repeatedParagraph() {
+        var document = newWord();
+        var paragraph = newParagraph(List.of(newRun("Hello "), newRun("${name}"), newRun("!")));
+        comment(document, paragraph, "repeatParagraph(names)");
+        document.getMainDocumentPart()
+                .getContent()
+                .add(paragraph);
+        return bytes(document);
+    }
+
+    /// Builds a template of a table holding a header row, and a row of two cells holding a `${name}` placeholder, the
+    /// first one commented with `repeatTableRow(names)`.
+    ///
+    /// @return the bytes of the template.
+    static byte[] repeatedRow() {
+        var document = newWord();
+        var factory = Context.getWmlObjectFactory();
+        var table = newTbl();
+        var header = newRow();
+        header.getContent()
+              .add(factory.createTrTc(cell(newParagraph("Name"))));
+        header.getContent()
+              .add(factory.createTrTc(cell(newParagraph("Greeting"))));
+        var row = newRow();
+        var paragraph = newParagraph(List.of(newRun("${name}")));
+        comment(document, paragraph, "repeatTableRow(names)");
+        row.getContent()
+           .add(factory.createTrTc(cell(paragraph)));
+        row.getContent()
+           .add(factory.createTrTc(cell(newParagraph(List.of(newRun("Hello "), newRun("${name}"))))));
+        table.getContent()
+             .addAll(List.of(header, row));
+        document.getMainDocumentPart()
+                .getContent()
+                .add(table);
+        return bytes(document);
+    }
+
+    /// Builds the context of the templates, a list of the given number of names.
+    ///
+    /// @param count the number of names.
+    ///
+    /// @return the context, exposing `name` and `names`.
+    static Names names(int count) {
+        var names = new ArrayList<Name>(count);
+        for (int i = 0; i < count; i++)
+            names.add(new Name("Name " + i));
+        return new Names("Homer", names);
+    }
+
+    /// Loads a template again.
+    ///
+    /// @param bytes the bytes of the template.
+    ///
+    /// @return a new document.
+    static WordprocessingMLPackage load(byte[] bytes) {
+        return loadWord(new ByteArrayInputStream(bytes));
+    }
+
+    private static Tc cell(P paragraph) {
+        var cell = newCell();
+        cell.getContent()
+            .add(paragraph);
+        return cell;
+    }
+
+    private static void comment(WordprocessingMLPackage document, P paragraph, String value) {
+        var comments = document.getMainDocumentPart()
+                               .getCommentsPart()
+                               .getJaxbElement()
+                               .getComment();
+        var id = BigInteger.valueOf(comments.size() + 1L);
+        comments.add(newComment(id, value));
+        var referenceRun = newRun(List.of());
+        referenceRun.getContent()
+                    .add(newCommentReference(id, referenceRun));
+        paragraph.getContent()
+                 .addFirst(newCommentRangeStart(id, paragraph));
+        paragraph.getContent()
+                 .addAll(List.of(newCommentRangeEnd(id, paragraph), referenceRun));
+    }
+
+    private static byte[] bytes(WordprocessingMLPackage document) {
+        var output = new ByteArrayOutputStream();
+        exportWord(document, output);
+        return output.toByteArray();
+    }
+
+    /// A name to greet.
+    ///
+    /// @param name the name.
+    public record Name(String name) {}
+
+    /// The context of the templates.
+    ///
+    /// @param name the name of the placeholders outside repeated content.
+    /// @param names the names repeated content is stamped with.
+    public record Names(String name, List<Name> names) {}
+}
@@ -0,0 +1,67 @@
+package pro.verron.officestamper.benchmarks;
+
+import org.docx4j.wml.Body;
+import org.openjdk.jmh.annotations.*;
+import pro.verron.officestamper.api.PlaceholderHooker;
+import pro.verron.officestamper.api.PlaceholderScanner;
+import pro.verron.officestamper.utils.wml.DocxIterator;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
+import pro.verron.officestamper.utils.wml.WmlCloner;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures the traversals of a document body of `paragraphs` paragraphs, each holding a `${name}` placeholder: the
+/// [DocxIterator] walking all its elements, and the [PlaceholderHooker] wrapping its placeholders in smart tags.
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+
+    /// The number of paragraphs in the body.
+    @Param({"10", "1000", "100000"}) public int paragraphs;
+
+    private Body body;
+    private Body copy;
+    private ElementHandlers hooker;
+
+    /// Builds the body and the handlers hooking its placeholders.
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        body = SyntheticTemplates.load(SyntheticTemplates.placeholders(paragraphs))
+                                 .getMainDocumentPart()
+                                 .getJaxbElement()
+                                 .getBody();
+        hooker = new ElementHandlers();
+        new PlaceholderHooker(PlaceholderScanner.braces('$'), "placeholder").register(hooker);
+    }
+
+    /// Copies the body, hooking placeholders modifying it.
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        copy = WmlCloner.copy(body);
+    }
+
+    /// Walks all the elements of the body.
+    ///
+    /// @return the number of elements.
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int iterate() {
+        var count = 0;
+        for (var iterator = new DocxIterator(body); iterator.hasNext(); iterator.next())
+            count++;
+        return count;
+    }
+
+    /// Wraps the placeholders of a fresh copy of the body in smart tags.
+    ///
+    /// @return the hooked body.
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Body hookPlaceholders() {
+        hooker.visit(copy);
+        return copy;
+    }
+}
@@ -12,7 +12,9 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
 import pro.verron.officestamper.api.OfficeStamperException;
 import pro.verron.officestamper.experimental.ExperimentalStampers;
 import pro.verron.officestamper.preset.OfficeStampers;
@@ -37,17 +39,19 @@ import java.util.stream.Collectors;
 import static java.nio.file.Files.newOutputStream;
 
 /// Main class for the CLI.
-@Command(name = "officestamper", mixinStandardHelpOptions = true, description = "Office Stamper CLI tool")
+@Command(name = "officestamper",
+         mixinStandardHelpOptions = true,
+         description = "Office Stamper CLI tool",
+         subcommands = Service.class)
 public class Main
         implements Runnable {
 
     private static final Logger logger = Utils.getLogger();
+    @Spec private CommandSpec spec;
     @Option(names = {"-i", "--input"},
-            required = true,
             description = "Input file path (csv, properties, html, xml, json, excel) or a keyword (diagnostic) for "
                           + "documented data sources") private String inputFile;
     @Option(names = {"-t", "--template"},
-            required = true,
             description = "Template file path or a keyword (diagnostic) for documented template packages") private String templateFile;
     @Option(names = {"-o", "--output"},
             defaultValue = "output.docx",
@@ -77,10 +81,9 @@ public class Main
 
     @Override
     public void run() {
-        if (inputFile == null || templateFile == null) {
-            logger.log(Level.SEVERE, "Input file and template file must be provided");
-            return;
-        }
+        if (inputFile == null || templateFile == null)
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "Input file and template file must be provided");
 
         stamperType = stamperType.toLowerCase();
 
@@ -102,12 +105,12 @@ public class Main
         stamper.stamp(templateStream, context, outputStream);
     }
 
-    private Object extractContext(String input) {
+    static Object extractContext(String input) {
         if ("diagnostic".equals(input)) return Diagnostic.context();
         return contextualise(Path.of(input));
     }
 
-    private InputStream extractTemplate(String template) {
+    static InputStream extractTemplate(String template) {
         if ("diagnostic".equals(template)) return Diagnostic.template();
         return streamFile(Path.of(template));
     }
@@ -120,17 +123,18 @@ public class Main
         }
     }
 
-    private Object contextualise(Path path) {
-        if (path.endsWith(".csv")) return processCsv(path);
-        if (path.endsWith(".properties")) return processProperties(path);
-        if (path.endsWith(".html") || path.endsWith(".xml")) return processXmlOrHtml(path);
-        if (path.endsWith(".json")) return processJson(path);
-        if (path.endsWith(".xlsx")) return processExcel(path);
+    private static Object contextualise(Path path) {
+        var name = path.toString();
+        if (name.endsWith(".csv")) return processCsv(path);
+        if (name.endsWith(".properties")) return processProperties(path);
+        if (name.endsWith(".html") || name.endsWith(".xml")) return processXmlOrHtml(path);
+        if (name.endsWith(".json")) return processJson(path);
+        if (name.endsWith(".xlsx")) return processExcel(path);
         throw new OfficeStamperException("Unsupported file type: " + path);
     }
 
     /// Return a list of objects with the csv properties
-    private Object processCsv(Path path) {
+    private static Object processCsv(Path path) {
         try (var reader = new CSVReader(new InputStreamReader(Files.newInputStream(path)))) {
             String[] headers = reader.readNext();
             return reader.readAll()
@@ -148,7 +152,7 @@ public class Main
         }
     }
 
-    private Object processProperties(Path path) {
+    private static Object processProperties(Path path) {
         var properties = new Properties();
         try (var inputStream = Files.newInputStream(path)) {
             properties.load(inputStream);
@@ -163,7 +167,7 @@ public class Main
         }
     }
 
-    private Object processXmlOrHtml(Path path) {
+    private static Object processXmlOrHtml(Path path) {
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
@@ -177,7 +181,7 @@ public class Main
         }
     }
 
-    private Map<String, Object> processNode(Element element) {
+    private static Map<String, Object> processNode(Element element) {
         Map<String, Object> result = new LinkedHashMap<>();
         NodeList children = element.getChildNodes();
 
@@ -197,7 +201,7 @@ public class Main
         return result;
     }
 
-    private Object processJson(Path path) {
+    private static Object processJson(Path path) {
         try {
             ObjectMapper mapper = new ObjectMapper();
             TypeReference<LinkedHashMap<String, Object>> typeRef = new TypeReference<>() {};
@@ -207,7 +211,7 @@ public class Main
         }
     }
 
-    private Object processExcel(Path path) {
+    private static Object processExcel(Path path) {
         try {
             return ExcelContext.from(Files.newInputStream(path));
         } catch (IOException e) {
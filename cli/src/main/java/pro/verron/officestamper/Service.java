@@ -0,0 +1,248 @@
+package pro.verron.officestamper;
+
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+import pro.verron.officestamper.api.CompiledStreamStamper;
+import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+import pro.verron.officestamper.preset.OfficeStampers;
+
+import java.io.*;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.nio.file.Files.newOutputStream;
+
+/// Long-running service mode of the CLI, stamping the jobs it reads line by line in a single JVM.
+///
+/// Each line holds a job, the template path, the context path and the output path, separated by tabs, or by spaces
+/// when the line holds no tab. The `diagnostic` keyword stands for the documented template or context, as for the
+/// [Main] command. Blank lines and lines starting with `#` are ignored.
+///
+/// Jobs are read from the standard input, or from each connection made to a Unix domain socket. Each job runs on a
+/// virtual thread, and templates are compiled once then kept in memory, so that a job only pays for its own stamping.
+/// At most `--max-jobs` jobs run at once, across all connections; reading further jobs waits for one to complete.
+/// For each job, a tab-separated line is written back once it completes, jobs completing in any order:
+/// - `<job number> OK <output path> <latency in ms>` when the document was written;
+/// - `<job number> KO <line> <error message>` otherwise, where backslashes, tabs and line breaks of the line and of the
+///   message are escaped as `\\`, `\t`, `\n` and `\r`, keeping a single line per job.
+@Command(name = "serve",
+         mixinStandardHelpOptions = true,
+         description = "Stamps the jobs read line by line (template, context and output paths), on virtual threads")
+public class Service
+        implements Runnable {
+
+    private static final Logger logger = Utils.getLogger();
+    @Spec private CommandSpec spec;
+    @Option(names = {"--socket"},
+            description = "Unix domain socket path to accept job connections on, instead of reading jobs from the "
+                          + "standard input") private Path socket;
+    @Option(names = {"--cache"},
+            defaultValue = "64",
+            description = "Maximum number of compiled templates kept in memory") private int cache;
+    @Option(names = {"--max-jobs"},
+            defaultValue = "64",
+            description = "Maximum number of jobs stamped at once, strictly positive") private int maxJobs;
+
+    /// Default constructor.
+    public Service() {
+    }
+
+    private static Job parse(String line) {
+        var fields = line.contains("\t") ? line.split("\t") : line.trim()
+                                                                 .split("\\s+");
+        if (fields.length != 3) throw new OfficeStamperException("Expected template, context and output paths");
+        return new Job(fields[0].trim(), fields[1].trim(), fields[2].trim());
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                   .replace("\t", "\\t")
+                   .replace("\n", "\\n")
+                   .replace("\r", "\\r");
+    }
+
+    /// Deletes the file at the socket path if it is a socket no server listens on anymore.
+    ///
+    /// @param path the socket path.
+    ///
+    /// @throws OfficeStamperException if the path holds anything else, or a socket a server still listens on.
+    private static void deleteStaleSocket(Path path)
+            throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) return;
+        var attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attributes.isOther())
+            throw new OfficeStamperException("Refusing to replace %s, not a socket".formatted(path));
+        try (var _ = SocketChannel.open(UnixDomainSocketAddress.of(path))) {
+            throw new OfficeStamperException("Refusing to replace %s, a server listens on it".formatted(path));
+        } catch (ConnectException _) {
+            Files.delete(path);
+        }
+    }
+
+    private static void deleteSocket(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to delete socket " + path, e);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (maxJobs <= 0)
+            throw new CommandLine.ParameterException(spec.commandLine(),
+                    "Maximum number of jobs must be strictly positive: " + maxJobs);
+        var stamper = OfficeStampers.compiledDocxStamper(OfficeStamperConfigurations.full(), cache);
+        var slots = new Semaphore(maxJobs);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (socket == null) serve(stamper, executor, slots, System.in, System.out);
+            else listen(stamper, executor, slots, socket);
+        }
+    }
+
+    private void listen(
+            CompiledStreamStamper<WordprocessingMLPackage> stamper,
+            ExecutorService executor,
+            Semaphore slots,
+            Path path
+    ) {
+        try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            deleteStaleSocket(path);
+            server.bind(UnixDomainSocketAddress.of(path));
+            var cleanup = new Thread(() -> deleteSocket(path));
+            Runtime.getRuntime()
+                   .addShutdownHook(cleanup);
+            try {
+                logger.log(Level.INFO, "Listening on {0}", path);
+                while (!Thread.currentThread()
+                              .isInterrupted()) {
+                    var connection = server.accept();
+                    executor.execute(() -> serve(stamper, executor, slots, connection));
+                }
+            } finally {
+                try {
+                    Runtime.getRuntime()
+                           .removeShutdownHook(cleanup);
+                } catch (IllegalStateException _) {
+                    // Shutting down already, the hook deletes the socket.
+                }
+                deleteSocket(path);
+            }
+        } catch (IOException e) {
+            throw new OfficeStamperException(e);
+        }
+    }
+
+    private void serve(
+            CompiledStreamStamper<WordprocessingMLPackage> stamper,
+            ExecutorService executor,
+            Semaphore slots,
+            SocketChannel connection
+    ) {
+        try (connection) {
+            serve(stamper,
+                    executor,
+                    slots,
+                    Channels.newInputStream(connection),
+                    Channels.newOutputStream(connection));
+        } catch (IOException | OfficeStamperException e) {
+            logger.log(Level.WARNING, "Connection failed", e);
+        }
+    }
+
+    /// Stamps the jobs read from the given input, writing a line per job to the given output, and returns once every
+    /// job read has completed.
+    ///
+    /// @param stamper the stamper, keeping the compiled templates.
+    /// @param executor the executor running the jobs.
+    /// @param slots the permits of the jobs running at once, one taken by each job until it completes.
+    /// @param input the stream to read the jobs from, until its end.
+    /// @param output the stream to write the outcome of each job to.
+    void serve(
+            CompiledStreamStamper<WordprocessingMLPackage> stamper,
+            ExecutorService executor,
+            Semaphore slots,
+            InputStream input,
+            OutputStream output
+    ) {
+        var writer = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), true);
+        var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        var running = new Phaser(1);
+        try {
+            var number = 0L;
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                var jobNumber = ++number;
+                var jobLine = line;
+                slots.acquire();
+                running.register();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            writer.println(run(stamper, jobNumber, jobLine));
+                        } finally {
+                            slots.release();
+                            running.arriveAndDeregister();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    running.arriveAndDeregister();
+                    throw new OfficeStamperException(e);
+                }
+            }
+        } catch (IOException e) {
+            throw new OfficeStamperException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new OfficeStamperException(e);
+        } finally {
+            running.arriveAndAwaitAdvance();
+        }
+    }
+
+    private String run(CompiledStreamStamper<WordprocessingMLPackage> stamper, long number, String line) {
+        var start = System.nanoTime();
+        try {
+            var job = parse(line);
+            var context = Main.extractContext(job.context());
+            try (var template = Main.extractTemplate(job.template());
+                 var output = newOutputStream(Path.of(job.output()))) {
+                stamper.stamp(template, context, output);
+            }
+            var latency = (System.nanoTime() - start) / 1_000_000.0;
+            return String.format(Locale.ROOT, "%d\tOK\t%s\t%.1f ms", number, job.output(), latency);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.FINE, "Job " + number + " failed", e);
+            var message = Objects.requireNonNullElse(e.getMessage(), e.getClass()
+                                                                      .getName());
+            return "%d\tKO\t%s\t%s".formatted(number, escape(line), escape(message));
+        }
+    }
+
+    private record Job(String template, String context, String output) {}
+}
@@ -0,0 +1,96 @@
+package pro.verron.officestamper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import picocli.CommandLine;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+import pro.verron.officestamper.preset.OfficeStampers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Tests the service mode, feeding it jobs through in-memory streams.
+public class ServiceTest {
+
+    private static final Path TEMPLATE = Path.of("..", "test", "sources", "ExpressionWithSurroundingSpacesTest.docx");
+
+    /// Default constructor.
+    public ServiceTest() {
+    }
+
+    @Test
+    void stampsEachJobAndReportsItsOutcome(@TempDir Path directory)
+            throws IOException {
+        var context = Files.writeString(directory.resolve("context.json"), """
+                {
+                  "expressionWithLeadingAndTrailingSpace": " Expression ",
+                  "expressionWithLeadingSpace": " Expression",
+                  "expressionWithTrailingSpace": "Expression ",
+                  "expressionWithoutSpaces": "Expression"
+                }
+                """);
+        var first = directory.resolve("first.docx");
+        var second = directory.resolve("second.docx");
+        var jobs = String.join("\n",
+                "# template\tcontext\toutput",
+                TEMPLATE + "\t" + context + "\t" + first,
+                "",
+                TEMPLATE + " " + context + " " + second,
+                TEMPLATE + "\t" + directory.resolve("missing.json") + "\t" + directory.resolve("third.docx"),
+                TEMPLATE + "\t" + context);
+        var input = new ByteArrayInputStream(jobs.getBytes(StandardCharsets.UTF_8));
+        var output = new ByteArrayOutputStream();
+        var stamper = OfficeStampers.compiledDocxStamper(OfficeStamperConfigurations.full());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new Service().serve(stamper, executor, new Semaphore(2), input, output);
+        }
+
+        var lines = output.toString(StandardCharsets.UTF_8)
+                          .lines()
+                          .sorted()
+                          .toList();
+        assertEquals(4, lines.size(), () -> "One line per job expected: " + lines);
+        assertTrue(lines.get(0)
+                        .matches("1\tOK\t.*first\\.docx\t[\\d.]+ ms"), lines.get(0));
+        assertTrue(lines.get(1)
+                        .matches("2\tOK\t.*second\\.docx\t[\\d.]+ ms"), lines.get(1));
+        assertTrue(lines.get(2)
+                        .startsWith("3\tKO\t"), lines.get(2));
+        assertEquals(4,
+                lines.get(2)
+                     .split("\t").length,
+                () -> "The tabs of the job line are escaped: " + lines.get(2));
+        assertTrue(lines.get(3)
+                        .startsWith("4\tKO\t"), lines.get(3));
+        assertTrue(Files.isRegularFile(first));
+        assertTrue(Files.isRegularFile(second));
+        assertEquals(1, stamper.size(), "the template is kept compiled once");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1"})
+    void rejectsNonPositiveMaxJobs(String maxJobs) {
+        var errors = new StringWriter();
+        var commandLine = new CommandLine(new Service());
+        commandLine.setErr(new PrintWriter(errors));
+
+        var exitCode = commandLine.execute("--max-jobs", maxJobs);
+
+        assertEquals(CommandLine.ExitCode.USAGE, exitCode);
+        assertTrue(errors.toString()
+                         .contains("Maximum number of jobs must be strictly positive"), errors::toString);
+    }
+}
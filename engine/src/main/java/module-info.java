@@ -9,6 +9,7 @@
 /// - Optionally requires `org.apache.commons.io`, `org.slf4j`, and `jakarta.xml.bind` as static dependencies.
 /// - Requires `org.jetbrains.annotations` for annotation support.
 /// - Requires `org.docx4j.openxml_objects` for OpenXML document handling.
+/// - Requires `jdk.jfr` to emit the Java Flight Recorder events of the stamping lifecycle.
 ///
 /// Module Exports:
 /// - Exports `pro.verron.officestamper.api` for public API access.
@@ -31,6 +32,7 @@ module pro.verron.officestamper {
     requires org.docx4j.openxml_objects;
     requires org.jspecify;
     requires pro.verron.officestamper.utils;
+    requires jdk.jfr;
 
     opens pro.verron.officestamper.api;
     exports pro.verron.officestamper.api;
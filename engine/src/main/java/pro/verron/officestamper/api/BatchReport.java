@@ -0,0 +1,36 @@
+package pro.verron.officestamper.api;
+
+import java.util.List;
+
+/// The outcome of stamping a template with each context of a batch, see
+/// [CompiledStreamStamper#stampAll(CompiledTemplate, Iterable, java.util.function.Function)].
+///
+/// A batch does not stop at the first failing item: each failure is reported with the position and the context of the
+/// item, the other items being stamped regardless.
+///
+/// @param stamped the number of documents stamped and written to their sink.
+/// @param failures the items that failed, in no particular order.
+public record BatchReport(long stamped, List<Failure> failures) {
+
+    /// Creates a report.
+    ///
+    /// @param stamped the number of documents stamped and written to their sink.
+    /// @param failures the items that failed, in no particular order.
+    public BatchReport {
+        failures = List.copyOf(failures);
+    }
+
+    /// Tells whether every item of the batch was stamped.
+    ///
+    /// @return `true` when no item failed.
+    public boolean succeeded() {
+        return failures.isEmpty();
+    }
+
+    /// An item of a batch that could not be stamped or written.
+    ///
+    /// @param index the position of the item among the contexts of the batch, from zero.
+    /// @param context the context of the item.
+    /// @param cause the exception or error raised while stamping or writing the item.
+    public record Failure(long index, Object context, Throwable cause) {}
+}
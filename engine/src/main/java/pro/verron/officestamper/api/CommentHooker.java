@@ -1,10 +1,10 @@
 package pro.verron.officestamper.api;
 
-import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.utils.TraversalUtilVisitor;
 import org.docx4j.wml.CommentRangeStart;
 import org.docx4j.wml.ContentAccessor;
-import pro.verron.officestamper.utils.wml.WmlUtils;
+import pro.verron.officestamper.utils.wml.CommentIndex;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,35 +13,43 @@ import static pro.verron.officestamper.utils.wml.WmlFactory.newCtAttr;
 import static pro.verron.officestamper.utils.wml.WmlFactory.newSmartTag;
 
 /// The [CommentHooker] class is responsible for preparing comment processors in a Word document. It implements the
-/// [PreProcessor] interface and provides functionality to process comment range starts and wrap them with smart tags
-/// for further processing by the OfficeStamper engine.
+/// [ElementPreProcessor] interface and provides functionality to process comment range starts and wrap them with smart
+/// tags for further processing by the OfficeStamper engine.
 ///
 /// This pre-processor is typically used to identify and mark comment-based expressions, making them recognizable as
 /// hooks for subsequent processing steps.
+///
+/// The same traversal fills the [CommentIndex] of the document, which the stamper then consults to resolve each comment
+/// hook without searching the document again.
 public final class CommentHooker
-        implements PreProcessor {
+        implements ElementPreProcessor {
 
     /// Default constructor for CommentHooker.
     public CommentHooker() {
     }
 
     @Override
-    public void process(WordprocessingMLPackage document) {
-        var visitor = new CRSCollector();
-        WmlUtils.visitDocument(document, visitor);
-        // Replaces comment range starts with smart tags
-        for (var commentRangeStart : visitor.commentRangeStarts()) {
-            var parent = (ContentAccessor) commentRangeStart.getParent();
-            var siblings = parent.getContent();
-            var crsIndex = siblings.indexOf(commentRangeStart);
-            var tag = newSmartTag("officestamper", newCtAttr("type", "processor"), commentRangeStart);
-            siblings.set(crsIndex, tag);
-        }
+    public void register(ElementHandlers handlers) {
+        handlers.onEnter(CommentRangeStart.class, CommentHooker::hook)
+                .onDocument(CommentIndex::indexer);
+    }
+
+    // Replaces the comment range start with a smart tag
+    private static void hook(CommentRangeStart commentRangeStart) {
+        var parent = (ContentAccessor) commentRangeStart.getParent();
+        var siblings = parent.getContent();
+        var crsIndex = siblings.indexOf(commentRangeStart);
+        var tag = newSmartTag("officestamper", newCtAttr("type", "processor"), commentRangeStart);
+        siblings.set(crsIndex, tag);
     }
 
     /// A collector class that gathers [CommentRangeStart] elements during document traversal. This class extends
     /// [TraversalUtilVisitor] to collect all [CommentRangeStart] objects encountered while traversing a DOCX document
     /// structure.
+    ///
+    /// @deprecated the hooker now visits the comment range starts through its [ElementHandlers] registration, and no
+    ///         longer uses this collector.
+    @Deprecated(since = "3.1", forRemoval = true)
     public static class CRSCollector
             extends TraversalUtilVisitor<CommentRangeStart> {
 
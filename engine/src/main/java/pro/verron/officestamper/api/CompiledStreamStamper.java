@@ -0,0 +1,333 @@
+package pro.verron.officestamper.api;
+
+import org.docx4j.openpackaging.packages.OpcPackage;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/// A [StreamStamper] compiling each template once, then stamping copies of the compiled template.
+///
+/// Compiled templates are kept in a thread-safe, size-bounded cache keyed by the SHA-256 digest of the template bytes,
+/// so stamping the same template again, from whatever stream, neither loads nor pre-processes it again. When the cache
+/// is full, the least recently used template is evicted.
+///
+/// The stamped copies may hold blocks shared with their compiled template, see [CompiledTemplate#copy()]: the
+/// post-processors of the underlying stamper must not edit the blocks the stamping did not rewrite.
+///
+/// @param <T> The type of the template that can be stamped. This type must extend [OpcPackage].
+public class CompiledStreamStamper<T extends OpcPackage>
+        extends StreamStamper<T> {
+
+    /// The default maximum number of compiled templates kept by a stamper.
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Function<InputStream, T> loader;
+    private final CompilingStamper<T> stamper;
+    private final BiConsumer<T, OutputStream> exporter;
+    private final Map<String, CompiledTemplate<T>> templates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /// Constructs a new [CompiledStreamStamper] with the provided loader, stamper and exporter, keeping at most
+    /// `capacity` compiled templates.
+    ///
+    /// @param loader A Function that takes in an [InputStream] and produces an instance of type [T].
+    /// @param stamper A [CompilingStamper] used to compile the templates and stamp them.
+    /// @param exporter A [BiConsumer] that exports the stamped document to an [OutputStream].
+    /// @param capacity the maximum number of compiled templates to keep, must be strictly positive.
+    public CompiledStreamStamper(
+            Function<InputStream, T> loader,
+            CompilingStamper<T> stamper,
+            BiConsumer<T, OutputStream> exporter,
+            int capacity
+    ) {
+        super(loader, stamper, exporter);
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be strictly positive: " + capacity);
+        this.loader = loader;
+        this.stamper = stamper;
+        this.exporter = exporter;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of()
+                            .formatHex(MessageDigest.getInstance("SHA-256")
+                                                    .digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new OfficeStamperException(e);
+        }
+    }
+
+    /// Returns the compiled form of the template present in the given [InputStream], compiling it on a cache miss.
+    ///
+    /// @param inputStream template to compile
+    ///
+    /// @return the compiled template.
+    ///
+    /// @throws OfficeStamperException if the template cannot be read or compiled
+    public CompiledTemplate<T> compile(InputStream inputStream)
+            throws OfficeStamperException {
+        return compile(inputStream, null);
+    }
+
+    private CompiledTemplate<T> compile(InputStream inputStream, @Nullable StreamStampEvent event) {
+        byte[] bytes;
+        try {
+            bytes = inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new OfficeStamperException("Failed to read the template", e);
+        }
+        var key = digest(bytes);
+        if (event != null) event.template = key;
+        synchronized (templates) {
+            var cached = templates.get(key);
+            if (cached != null) {
+                hits.increment();
+                if (event != null) event.cacheHit = true;
+                return cached;
+            }
+        }
+        misses.increment();
+        var compiled = stamper.compile(loader.apply(new ByteArrayInputStream(bytes)));
+        synchronized (templates) {
+            var previous = templates.putIfAbsent(key, compiled);
+            return previous == null ? compiled : previous;
+        }
+    }
+
+    /// Stamps the template present in the given InputStream with the context given and writes the result to the
+    /// provided [OutputStream], compiling the template only if it is not cached yet.
+    ///
+    /// @param inputStream template to stamp
+    /// @param context context to use for stamping
+    /// @param outputStream output stream to write the result to
+    ///
+    /// @throws OfficeStamperException if the stamping fails for any reason
+    @Override
+    public void stamp(InputStream inputStream, Object context, OutputStream outputStream)
+            throws OfficeStamperException {
+        var event = new StreamStampEvent();
+        event.begin();
+        try {
+            var start = event.isEnabled() ? System.nanoTime() : 0;
+            var template = compile(inputStream, event);
+            if (event.isEnabled()) event.loadTime = System.nanoTime() - start;
+            export(template, context, outputStream, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /// Stamps a copy of the given compiled template with the context given and writes the result to the provided
+    /// [OutputStream].
+    ///
+    /// @param template template compiled by this stamper
+    /// @param context context to use for stamping
+    /// @param outputStream output stream to write the result to
+    ///
+    /// @throws OfficeStamperException if the stamping fails for any reason
+    public void stamp(CompiledTemplate<T> template, Object context, OutputStream outputStream)
+            throws OfficeStamperException {
+        var event = new StreamStampEvent();
+        event.begin();
+        try {
+            export(template, context, outputStream, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void export(CompiledTemplate<T> template, Object context, OutputStream outputStream, StreamStampEvent event) {
+        var stamped = stamper.stamp(template, context);
+        var start = event.isEnabled() ? System.nanoTime() : 0;
+        exporter.accept(stamped, outputStream);
+        if (event.isEnabled()) event.exportTime = System.nanoTime() - start;
+    }
+
+    /// Stamps a copy of the given compiled template with each of the given contexts, in parallel on the common
+    /// [ForkJoinPool], at most as many documents as there are processors being in flight at once.
+    ///
+    /// @param template template compiled by this stamper
+    /// @param contexts contexts to use for stamping, one document being stamped per context
+    /// @param sinks gives the output stream to write the document stamped with a context to, closed once written
+    ///
+    /// @return the report of the batch, listing the items that failed.
+    ///
+    /// @throws OfficeStamperException if the calling thread is interrupted while waiting for the batch
+    /// @see #stampAll(CompiledTemplate, Iterable, Function, Executor, int)
+    public BatchReport stampAll(
+            CompiledTemplate<T> template,
+            Iterable<?> contexts,
+            Function<Object, ? extends OutputStream> sinks
+    ) {
+        var parallelism = Runtime.getRuntime()
+                                 .availableProcessors();
+        return stampAll(template, contexts, sinks, ForkJoinPool.commonPool(), parallelism);
+    }
+
+    /// Stamps a copy of the given compiled template with each of the given contexts, on the given executor.
+    ///
+    /// The contexts are iterated on the calling thread, which waits whenever `maxInFlight` documents are being stamped
+    /// or written, so that a batch of any size, drawing its contexts lazily, holds a bounded number of documents in
+    /// memory. An item failing to stamp or to write, or rejected by the executor, is reported without aborting the
+    /// batch. The call returns, or throws, only once every item submitted to the executor has completed.
+    ///
+    /// @param template template compiled by this stamper
+    /// @param contexts contexts to use for stamping, one document being stamped per context
+    /// @param sinks gives the output stream to write the document stamped with a context to, closed once written
+    /// @param executor executor running the stamping of each item
+    /// @param maxInFlight maximum number of documents stamped or written at once, must be strictly positive
+    ///
+    /// @return the report of the batch, listing the items that failed.
+    ///
+    /// @throws OfficeStamperException if the calling thread is interrupted while waiting for the batch
+    public BatchReport stampAll(
+            CompiledTemplate<T> template,
+            Iterable<?> contexts,
+            Function<Object, ? extends OutputStream> sinks,
+            Executor executor,
+            int maxInFlight
+    ) {
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("Maximum in-flight documents must be strictly positive: " + maxInFlight);
+        var inFlight = new Semaphore(maxInFlight);
+        var stamped = new LongAdder();
+        var failures = new ConcurrentLinkedQueue<BatchReport.Failure>();
+        long index = 0;
+        try {
+            for (var context : contexts) {
+                inFlight.acquire();
+                var position = index++;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            stampItem(template, context, sinks);
+                            stamped.increment();
+                        } catch (Throwable t) {
+                            failures.add(new BatchReport.Failure(position, context, t));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    failures.add(new BatchReport.Failure(position, context, e));
+                    inFlight.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new OfficeStamperException("Interrupted while stamping a batch", e);
+        } finally {
+            // Even when drawing the contexts fails, no item keeps running after the call.
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+        return new BatchReport(stamped.sum(), new ArrayList<>(failures));
+    }
+
+    /// Returns a processor stamping a copy of the given compiled template with each context it receives, on the
+    /// common [ForkJoinPool], holding at most as many documents as there are processors.
+    ///
+    /// @param template template compiled by this stamper
+    ///
+    /// @return a new processor, to subscribe once upstream and once downstream.
+    ///
+    /// @see #processor(CompiledTemplate, Executor, int)
+    public StampingProcessor<T> processor(CompiledTemplate<T> template) {
+        var parallelism = Runtime.getRuntime()
+                                 .availableProcessors();
+        return processor(template, ForkJoinPool.commonPool(), parallelism);
+    }
+
+    /// Returns a processor stamping a copy of the given compiled template with each context it receives, on the given
+    /// executor, and publishing the serialized documents only as fast as its subscriber requests them.
+    ///
+    /// @param template template compiled by this stamper
+    /// @param executor executor running the stamping of each item
+    /// @param maxInFlight maximum number of documents being stamped or waiting to be published, must be strictly
+    ///         positive
+    ///
+    /// @return a new processor, to subscribe once upstream and once downstream.
+    ///
+    /// @see StampingProcessor
+    public StampingProcessor<T> processor(CompiledTemplate<T> template, Executor executor, int maxInFlight) {
+        return new StampingProcessor<>(this, template, executor, maxInFlight);
+    }
+
+    private void stampItem(CompiledTemplate<T> template, Object context, Function<Object, ? extends OutputStream> sinks)
+            throws IOException {
+        var stamped = stamper.stamp(template, context);
+        try (var outputStream = sinks.apply(context)) {
+            exporter.accept(stamped, outputStream);
+        }
+    }
+
+    /// Returns the number of templates found compiled in the cache.
+    ///
+    /// @return the hit count.
+    public long hits() {
+        return hits.sum();
+    }
+
+    /// Returns the number of templates that required compiling.
+    ///
+    /// @return the miss count.
+    public long misses() {
+        return misses.sum();
+    }
+
+    /// Returns the number of expression lookups answered from the parsed expressions of the underlying stamper.
+    ///
+    /// @return the expression hit count.
+    ///
+    /// @see CompilingStamper#expressionHits()
+    public long expressionHits() {
+        return stamper.expressionHits();
+    }
+
+    /// Returns the number of expression lookups that required parsing the expression.
+    ///
+    /// @return the expression miss count.
+    ///
+    /// @see CompilingStamper#expressionMisses()
+    public long expressionMisses() {
+        return stamper.expressionMisses();
+    }
+
+    /// Returns the number of compiled templates currently held.
+    ///
+    /// @return the cache size.
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /// Removes all compiled templates and resets the hit and miss counters.
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+}
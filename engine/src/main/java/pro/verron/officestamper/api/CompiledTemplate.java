@@ -0,0 +1,25 @@
+package pro.verron.officestamper.api;
+
+import org.docx4j.openpackaging.packages.OpcPackage;
+
+/// A template loaded and pre-processed once, its hooks discovered, from which each stamp works on a copy of its own.
+///
+/// A compiled template is immutable: it can be cached and stamped concurrently by the [CompilingStamper] that compiled
+/// it, see [CompilingStamper#stamp(CompiledTemplate, Object)].
+///
+/// @param <T> the type of the template.
+public interface CompiledTemplate<T extends OpcPackage> {
+
+    /// Returns a new working copy of the pre-processed template.
+    ///
+    /// The copy is meant to be stamped by the [CompilingStamper] that compiled this template, which does not
+    /// pre-process it again.
+    ///
+    /// A copy may share with the template, and with the other copies, the blocks of its content the stamping does not
+    /// rewrite, like the paragraphs and tables holding no expression. The shared blocks are read-only: editing one of
+    /// them, or removing it through its parent, edits the template and every later copy. Only the lists holding the
+    /// top-level blocks of the copy belong to it, and can be edited.
+    ///
+    /// @return the copy.
+    T copy();
+}
@@ -0,0 +1,48 @@
+package pro.verron.officestamper.api;
+
+import org.docx4j.openpackaging.packages.OpcPackage;
+
+/// An [OfficeStamper] able to compile a template once, then stamp it many times without loading or pre-processing it
+/// again.
+///
+/// @param <T> the type of the template that can be stamped.
+public interface CompilingStamper<T extends OpcPackage>
+        extends OfficeStamper<T> {
+
+    /// Pre-processes the given template into a [CompiledTemplate].
+    ///
+    /// The template is consumed: it must not be used anymore once compiled.
+    ///
+    /// @param template the template to compile.
+    ///
+    /// @return the compiled template.
+    CompiledTemplate<T> compile(T template);
+
+    /// Stamps a copy of the given compiled template with the given context, as [#stamp(OpcPackage, Object)] would
+    /// stamp the template it was compiled from.
+    ///
+    /// The resulting document may hold blocks shared with the template, which are read-only, see
+    /// [CompiledTemplate#copy()].
+    ///
+    /// @param template a template compiled by this stamper.
+    /// @param context the context to use for stamping.
+    ///
+    /// @return the resulting document.
+    ///
+    /// @throws OfficeStamperException if the template was compiled by another stamper, or if the stamping fails.
+    T stamp(CompiledTemplate<T> template, Object context);
+
+    /// Returns the number of expression lookups answered from the parsed expressions this stamper keeps across stamps.
+    ///
+    /// @return the hit count, `0` for a stamper not keeping parsed expressions.
+    default long expressionHits() {
+        return 0;
+    }
+
+    /// Returns the number of expression lookups that required parsing the expression.
+    ///
+    /// @return the miss count, `0` for a stamper not keeping parsed expressions.
+    default long expressionMisses() {
+        return 0;
+    }
+}
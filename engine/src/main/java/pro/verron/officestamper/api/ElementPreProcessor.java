@@ -0,0 +1,30 @@
+package pro.verron.officestamper.api;
+
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
+
+/// A [PreProcessor] expressed as handlers of individual elements, so that it can share a document traversal with
+/// other pre-processors.
+///
+/// The stamper fuses consecutive element pre-processors of its configuration into a single traversal of each part;
+/// plain [PreProcessor]s still run on their own, in their configured order. Handlers must only rewrite the element they
+/// receive, its subtree or its siblings: they cannot rely on the rest of the document being processed yet, nor on the
+/// handlers of the following pre-processors having seen the element.
+public interface ElementPreProcessor
+        extends PreProcessor {
+
+    /// Registers the handlers of this pre-processor.
+    ///
+    /// @param handlers the registry shared with the other pre-processors of the traversal.
+    void register(ElementHandlers handlers);
+
+    /// Processes the document in a traversal of its own.
+    ///
+    /// @param document the WordprocessingMLPackage document to be processed; cannot be null
+    @Override
+    default void process(WordprocessingMLPackage document) {
+        var handlers = new ElementHandlers();
+        register(handlers);
+        handlers.visit(document);
+    }
+}
@@ -0,0 +1,22 @@
+package pro.verron.officestamper.api;
+
+/// The [StampingMetrics] ignoring all events.
+enum NoStampingMetrics
+        implements StampingMetrics {
+    INSTANCE;
+
+    @Override
+    public boolean enabled() {
+        return false;
+    }
+
+    @Override
+    public void phase(Phase phase, String name, long nanos) {
+        // Ignored
+    }
+
+    @Override
+    public void hook(String type, String expression, long nanos, Outcome outcome) {
+        // Ignored
+    }
+}
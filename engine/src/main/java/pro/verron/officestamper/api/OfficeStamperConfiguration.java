@@ -1,6 +1,7 @@
 package pro.verron.officestamper.api;
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import pro.verron.officestamper.api.CustomFunction.NeedsBiFunctionImpl;
 import pro.verron.officestamper.api.CustomFunction.NeedsFunctionImpl;
@@ -176,4 +177,27 @@ public interface OfficeStamperConfiguration {
     ///
     /// @return the updated [OfficeStamperConfiguration] object.
     OfficeStamperConfiguration setParserConfiguration(SpelParserConfiguration parserConfiguration);
+
+    /// Sets the compiler mode of the parser configuration, keeping all its other settings.
+    ///
+    /// With [SpelCompilerMode#MIXED] or [SpelCompilerMode#IMMEDIATE], expressions evaluated repeatedly are compiled to
+    /// bytecode when possible. Expressions that cannot be compiled, or whose compiled form fails at runtime, keep being
+    /// interpreted.
+    ///
+    /// @param compilerMode the [SpelCompilerMode] to use.
+    ///
+    /// @return the updated [OfficeStamperConfiguration] object.
+    OfficeStamperConfiguration setCompilerMode(SpelCompilerMode compilerMode);
+
+    /// Retrieves the metrics receiving the timings of the stamping phases.
+    ///
+    /// @return the [StampingMetrics], [StampingMetrics#none()] by default.
+    StampingMetrics getMetrics();
+
+    /// Sets the metrics receiving the timings of the stamping phases, from the stampers created afterward.
+    ///
+    /// @param metrics the [StampingMetrics] to report to.
+    ///
+    /// @return the updated [OfficeStamperConfiguration] object.
+    OfficeStamperConfiguration setMetrics(StampingMetrics metrics);
 }
@@ -1,9 +1,9 @@
 package pro.verron.officestamper.api;
 
-import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.utils.TraversalUtilVisitor;
 import org.docx4j.wml.P;
-import pro.verron.officestamper.utils.wml.WmlUtils;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
+import pro.verron.officestamper.utils.wml.RunIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,10 +18,14 @@ import static pro.verron.officestamper.utils.wml.WmlUtils.insertSmartTag;
 ///
 /// This pre-processor is typically used to identify and mark inline expressions within paragraphs, making them
 /// recognizable for subsequent processing steps.
+///
+/// Each paragraph is scanned once: its runs are indexed with their offset in the paragraph's text, and all its
+/// placeholders are wrapped in a single pass. Paragraphs whose runs cannot be indexed, like those holding text boxes,
+/// are hooked one placeholder at a time, rescanning the paragraph after each one.
 public class PlaceholderHooker
-        implements PreProcessor {
+        implements ElementPreProcessor {
 
-    private final Pattern pattern;
+    private final PlaceholderScanner scanner;
     private final String element;
 
 
@@ -46,29 +50,54 @@ public class PlaceholderHooker
     /// @param element the name of the XML element to wrap around identified placeholders. This element will be
     ///         used to mark the placeholders for further processing.
     public PlaceholderHooker(Pattern pattern, String element) {
-        this.pattern = pattern;
+        this(PlaceholderScanner.of(pattern), element);
+    }
+
+    /// Constructs a new [PlaceholderHooker] instance with the specified scanner and XML element name.
+    ///
+    /// @param scanner the scanner used to identify inline placeholders in the document, see
+    ///         [PlaceholderScanner#braces(char)] for a scanner of `${...}` or `#{...}` placeholders.
+    /// @param element the name of the XML element to wrap around identified placeholders. This element will be
+    ///         used to mark the placeholders for further processing.
+    public PlaceholderHooker(PlaceholderScanner scanner, String element) {
+        this.scanner = scanner;
         this.element = element;
     }
 
     @Override
-    public void process(WordprocessingMLPackage document) {
-        var visitor = new ParagraphCollector(pattern);
-        WmlUtils.visitDocument(document, visitor);
-        for (var paragraph : visitor.paragraphs()) {
-            var string = asString(paragraph);
-            var matcher = pattern.matcher(string);
-            // Iterates matches; replaces placeholder with a smart tag
-            while (matcher.find()) {
-                var start = matcher.start(1);
-                var end = matcher.end(1);
-                var placeholder = matcher.group(2);
-                var newContent = insertSmartTag(element, paragraph, placeholder, start, end);
-                var content = paragraph.getContent();
-                content.clear();
-                content.addAll(newContent);
-                string = asString(paragraph);
-                matcher = pattern.matcher(string);
-            }
+    public void register(ElementHandlers handlers) {
+        handlers.onEnter(P.class, this::hook);
+    }
+
+    private void hook(P paragraph) {
+        var index = RunIndex.of(paragraph);
+        if (index != null) {
+            var placeholders = scanner.scan(index.text());
+            if (placeholders.isEmpty()) return;
+            var spans = placeholders.stream()
+                                    .map(p -> new RunIndex.Span(p.start(), p.end(), p.expression()))
+                                    .toList();
+            // Wrapping placeholders can reveal new ones, like the outer one of `${${inner}}`
+            if (index.insertSmartTags(element, spans) && scanner.scan(asString(paragraph))
+                                                                .isEmpty()) return;
+        }
+        hookOneByOne(paragraph);
+    }
+
+    private void hookOneByOne(P paragraph) {
+        var placeholders = scanner.scan(asString(paragraph));
+        // Iterates matches; replaces placeholder with a smart tag
+        while (!placeholders.isEmpty()) {
+            var placeholder = placeholders.getFirst();
+            var newContent = insertSmartTag(element,
+                    paragraph,
+                    placeholder.expression(),
+                    placeholder.start(),
+                    placeholder.end());
+            var content = paragraph.getContent();
+            content.clear();
+            content.addAll(newContent);
+            placeholders = scanner.scan(asString(paragraph));
         }
     }
 
@@ -76,6 +105,10 @@ public class PlaceholderHooker
     ///
     /// This class is used to traverse a document and collect all paragraph elements ([P]) that match a specified
     /// regular expression pattern. The collected paragraphs can be retrieved using the [#paragraphs()] method.
+    ///
+    /// @deprecated the hooker now visits the paragraphs through its [ElementHandlers] registration, and no longer uses
+    ///         this collector.
+    @Deprecated(since = "3.1", forRemoval = true)
     public static class ParagraphCollector
             extends TraversalUtilVisitor<P> {
 
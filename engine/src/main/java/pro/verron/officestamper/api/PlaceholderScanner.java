@@ -0,0 +1,80 @@
+package pro.verron.officestamper.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/// Finds the placeholders in the text of a paragraph, for the [PlaceholderHooker] to wrap them in smart tags.
+@FunctionalInterface
+public interface PlaceholderScanner {
+
+    /// Returns a scanner matching the given regular expression, its first capturing group delimiting the placeholder
+    /// and its second one holding the expression.
+    ///
+    /// @param pattern the compiled regular expression.
+    ///
+    /// @return a scanner based on the regular expression.
+    static PlaceholderScanner of(Pattern pattern) {
+        return text -> {
+            var placeholders = new ArrayList<Placeholder>();
+            var matcher = pattern.matcher(text);
+            while (matcher.find())
+                placeholders.add(new Placeholder(matcher.start(1), matcher.end(1), matcher.group(2)));
+            return placeholders;
+        };
+    }
+
+    /// Returns a hand-written scanner of the placeholders written `<marker>{expression}`, like `${name}` or `#{name}`,
+    /// where the expression is not empty and holds no opening brace.
+    ///
+    /// It finds the same placeholders as the regular expression `(\<marker>\{([^{]+?)})`, without backtracking.
+    ///
+    /// @param marker the character introducing the placeholders.
+    ///
+    /// @return a scanner of the placeholders introduced by the marker.
+    static PlaceholderScanner braces(char marker) {
+        return text -> {
+            var placeholders = new ArrayList<Placeholder>();
+            var length = text.length();
+            var index = 0;
+            scan:
+            while (index + 3 < length) {
+                if (text.charAt(index) != marker || text.charAt(index + 1) != '{' || text.charAt(index + 2) == '{') {
+                    index++;
+                    continue;
+                }
+                for (int closing = index + 3; closing < length; closing++) {
+                    var character = text.charAt(closing);
+                    if (character == '}') {
+                        var expression = text.subSequence(index + 2, closing)
+                                             .toString();
+                        placeholders.add(new Placeholder(index, closing + 1, expression));
+                        index = closing + 1;
+                        continue scan;
+                    }
+                    if (character == '{') {
+                        // No placeholder can start before the character preceding this brace.
+                        index = closing - 1;
+                        continue scan;
+                    }
+                }
+                break;
+            }
+            return placeholders;
+        };
+    }
+
+    /// Finds the placeholders of the given text.
+    ///
+    /// @param text the text of a paragraph.
+    ///
+    /// @return the placeholders found, from left to right and not overlapping.
+    List<Placeholder> scan(CharSequence text);
+
+    /// A placeholder found in a text.
+    ///
+    /// @param start the offset of the first character of the placeholder.
+    /// @param end the offset following the last character of the placeholder.
+    /// @param expression the expression held by the placeholder.
+    record Placeholder(int start, int end, String expression) {}
+}
@@ -11,6 +11,9 @@ import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 /// A typical use of this interface might involve implementing custom logic
 /// to traverse and manipulate the contents of a WordprocessingMLPackage
 /// document, such as removing orphaned footnotes or endnotes.
+///
+/// When stamping a copy of a [CompiledTemplate], the document may hold blocks shared with the template, which are
+/// read-only, see [CompiledTemplate#copy()].
 public interface PostProcessor {
     /// Processes a given WordprocessingMLPackage document.
     /// This method is typically used for performing operations such as modifying
@@ -0,0 +1,10 @@
+package pro.verron.officestamper.api;
+
+/// A document stamped and serialized by a [StampingProcessor].
+///
+/// The content is the array the document was serialized to, not a copy of it: it must not be modified.
+///
+/// @param index the position of the context among the contexts received by the processor, from zero.
+/// @param context the context the document was stamped with.
+/// @param content the bytes of the stamped document.
+public record StampedDocument(long index, Object context, byte[] content) {}
@@ -0,0 +1,82 @@
+package pro.verron.officestamper.api;
+
+/// Receives the timings of the phases of stamping, to expose where the stamping time goes.
+///
+/// For each document, a stamper reports:
+/// - [Phase#LOAD], the loading of the template from its stream, or the copy of the compiled template it is stamped
+///   from;
+/// - [Phase#PREPROCESS], each pre-processing stage, named after its pre-processor, consecutive
+///   [ElementPreProcessor]s sharing a single traversal being reported as one stage;
+/// - [Phase#HOOK_DISCOVERY], the traversals of each document part looking for the hooks to execute, named after the
+///   part;
+/// - [Phase#HOOK], each hook execution, reported through [#hook(String, String, long, Outcome)];
+/// - [Phase#POSTPROCESS], each post-processor, named after it;
+/// - [Phase#EXPORT], the export of the stamped document to its stream.
+///
+/// Stamping calls the metrics on the stamping threads, concurrently when documents are stamped in parallel, so
+/// implementations must be thread-safe and cheap. The default metrics, [#none()], are not [#enabled()]: stampers then
+/// skip the timing altogether.
+///
+/// @see OfficeStamperConfiguration#setMetrics(StampingMetrics)
+public interface StampingMetrics {
+
+    /// Returns the metrics ignoring all events, the default of a configuration.
+    ///
+    /// @return the disabled metrics.
+    static StampingMetrics none() {
+        return NoStampingMetrics.INSTANCE;
+    }
+
+    /// Tells whether these metrics receive events, stampers not timing anything otherwise.
+    ///
+    /// @return `true` unless these metrics ignore all events.
+    default boolean enabled() {
+        return true;
+    }
+
+    /// Receives the duration of a phase.
+    ///
+    /// @param phase the phase.
+    /// @param name the name of the pre-processor, part or post-processor concerned, or the kind of document loaded
+    ///         or exported.
+    /// @param nanos the duration of the phase, in nanoseconds.
+    void phase(Phase phase, String name, long nanos);
+
+    /// Receives the duration of a hook execution.
+    ///
+    /// By default, reports it as a [Phase#HOOK] phase named after the type of the hook.
+    ///
+    /// @param type the type of the hook, like `placeholder`, `inlineProcessor` or `processor`.
+    /// @param expression the expression of the hook.
+    /// @param nanos the duration of the execution, in nanoseconds.
+    /// @param outcome the outcome of the execution.
+    default void hook(String type, String expression, long nanos, Outcome outcome) {
+        phase(Phase.HOOK, type, nanos);
+    }
+
+    /// The phases of stamping a document.
+    enum Phase {
+        /// Loading the template from its stream, or copying the compiled template.
+        LOAD,
+        /// Pre-processing the template.
+        PREPROCESS,
+        /// Looking for the hooks of a document part.
+        HOOK_DISCOVERY,
+        /// Executing a hook.
+        HOOK,
+        /// Post-processing the stamped document.
+        POSTPROCESS,
+        /// Exporting the stamped document to its stream.
+        EXPORT
+    }
+
+    /// The outcomes of a hook execution.
+    enum Outcome {
+        /// The hook was processed.
+        PROCESSED,
+        /// The hook was left unprocessed, like a comment no processor handled, or a hook already executed.
+        UNPROCESSED,
+        /// The hook threw an exception, propagated to the caller.
+        FAILED
+    }
+}
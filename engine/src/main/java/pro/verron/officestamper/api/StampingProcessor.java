@@ -0,0 +1,201 @@
+package pro.verron.officestamper.api;
+
+import org.docx4j.openpackaging.packages.OpcPackage;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// A [Flow.Processor] stamping a compiled template with each context it receives, and publishing the serialized
+/// documents, see [CompiledStreamStamper#processor(CompiledTemplate, Executor, int)].
+///
+/// The processor never holds more than `maxInFlight` documents, whether being stamped or waiting for the subscriber to
+/// request them: it requests that many contexts upfront, then one more each time it publishes a document. A subscriber
+/// slower than the stamping slows the requests made upstream instead of letting finished documents pile up in memory.
+///
+/// Documents are published in the order their stamping completes, their [StampedDocument#index()] telling the position
+/// of their context. The first item failing to stamp, or rejected by the executor, cancels the upstream subscription
+/// and terminates the subscriber with an [OfficeStamperException], the documents not yet published being dropped. An
+/// error received from upstream terminates the subscriber the same way.
+///
+/// The processor accepts a single subscription upstream and a single subscriber.
+///
+/// @param <T> The type of the template stamped. This type must extend [OpcPackage].
+public final class StampingProcessor<T extends OpcPackage>
+        implements Flow.Processor<Object, StampedDocument> {
+
+    private final CompiledStreamStamper<T> stamper;
+    private final CompiledTemplate<T> template;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final Queue<StampedDocument> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger drains = new AtomicInteger();
+    private final AtomicReference<Flow.@Nullable Subscription> upstream = new AtomicReference<>();
+    private final AtomicReference<Flow.@Nullable Subscriber<? super StampedDocument>> downstream =
+            new AtomicReference<>();
+    private final AtomicReference<@Nullable Throwable> error = new AtomicReference<>();
+    private volatile boolean completed;
+    private volatile boolean cancelled;
+    private boolean terminated;
+    private long received;
+
+    StampingProcessor(
+            CompiledStreamStamper<T> stamper,
+            CompiledTemplate<T> template,
+            Executor executor,
+            int maxInFlight
+    ) {
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("Maximum in-flight documents must be strictly positive: " + maxInFlight);
+        this.stamper = stamper;
+        this.template = template;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        if (cancelled) subscription.cancel();
+        else subscription.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(Object context) {
+        if (cancelled || error.get() != null) return;
+        var index = received++;
+        running.incrementAndGet();
+        try {
+            executor.execute(() -> stamp(index, context));
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+            fail(new OfficeStamperException("Item " + index + " was rejected by the executor", e));
+        }
+    }
+
+    private void stamp(long index, Object context) {
+        try {
+            if (cancelled || error.get() != null) return;
+            var output = new ByteArrayOutputStream();
+            stamper.stamp(template, context, output);
+            ready.add(new StampedDocument(index, context, output.toByteArray()));
+        } catch (Throwable t) {
+            fail(new OfficeStamperException("Failed to stamp item " + index, t));
+        } finally {
+            running.decrementAndGet();
+            drain();
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        if (!error.compareAndSet(null, throwable)) return;
+        var subscription = upstream.get();
+        if (subscription != null) subscription.cancel();
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error.compareAndSet(null, throwable);
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+        drain();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super StampedDocument> subscriber) {
+        if (!downstream.compareAndSet(null, subscriber)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // The subscriber is refused, nothing will be published to it.
+                }
+
+                @Override
+                public void cancel() {
+                    // The subscriber is refused, there is nothing to cancel.
+                }
+            });
+            subscriber.onError(new IllegalStateException("The processor accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) fail(new IllegalArgumentException("Requested count must be strictly positive: " + n));
+                else demand.getAndAccumulate(n, StampingProcessor::addDemand);
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                var subscription = upstream.get();
+                if (subscription != null) subscription.cancel();
+                drain();
+            }
+        });
+        drain();
+    }
+
+    // Demand saturates at Long.MAX_VALUE, which stands for an unbounded demand.
+    private static long addDemand(long current, long added) {
+        var sum = current + added;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    // Signals the subscriber from a single thread at a time, the thread draining on behalf of those arriving meanwhile.
+    private void drain() {
+        if (drains.getAndIncrement() != 0) return;
+        var missed = 1;
+        do {
+            var subscriber = downstream.get();
+            if (subscriber != null && !terminated) publish(subscriber);
+            missed = drains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void publish(Flow.Subscriber<? super StampedDocument> subscriber) {
+        while (true) {
+            if (cancelled) {
+                terminated = true;
+                ready.clear();
+                return;
+            }
+            var throwable = error.get();
+            if (throwable != null) {
+                terminated = true;
+                ready.clear();
+                subscriber.onError(throwable);
+                return;
+            }
+            if (demand.get() == 0) break;
+            var document = ready.poll();
+            if (document == null) break;
+            demand.decrementAndGet();
+            subscriber.onNext(document);
+            var subscription = upstream.get();
+            if (subscription != null && !completed) subscription.request(1);
+        }
+        if (completed && running.get() == 0 && ready.isEmpty()) {
+            terminated = true;
+            subscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package pro.verron.officestamper.api;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.Nullable;
+
+/// The Java Flight Recorder event of a [StreamStamper] stamping a template from a stream to another, enclosing the
+/// stamping events of the engine.
+///
+/// Like them, it is disabled by default, even in a running recording, and must be enabled in its settings, like with
+/// `-XX:StartFlightRecording:+pro.verron.officestamper.StreamStamp#enabled=true`.
+@Name("pro.verron.officestamper.StreamStamp")
+@Label("Stamp Stream")
+@Category("Office Stamper")
+@Description("Loading, stamping and export of a template from a stream to another")
+@Enabled(false)
+@StackTrace(false)
+final class StreamStampEvent
+        extends Event {
+    @Label("Template")
+    @Description("SHA-256 digest of the template bytes, absent when the template was not compiled from the stream")
+    @Nullable String template;
+
+    @Label("Cache Hit")
+    @Description("Whether the compiled template was found in the cache")
+    boolean cacheHit;
+
+    @Label("Load Time")
+    @Description("Time spent loading the template, compiling it on a cache miss")
+    @Timespan(Timespan.NANOSECONDS)
+    long loadTime;
+
+    @Label("Export Time")
+    @Description("Time spent exporting the stamped document")
+    @Timespan(Timespan.NANOSECONDS)
+    long exportTime;
+}
@@ -54,8 +54,19 @@ public class StreamStamper<T extends OpcPackage> {
     /// @throws OfficeStamperException if the stamping fails for any reason
     public void stamp(InputStream inputStream, Object context, OutputStream outputStream)
             throws OfficeStamperException {
-        var template = loader.apply(inputStream);
-        var stamped = stamper.stamp(template, context);
-        exporter.accept(stamped, outputStream);
+        var event = new StreamStampEvent();
+        event.begin();
+        var timed = event.isEnabled();
+        try {
+            var start = timed ? System.nanoTime() : 0;
+            var template = loader.apply(inputStream);
+            if (timed) event.loadTime = System.nanoTime() - start;
+            var stamped = stamper.stamp(template, context);
+            start = timed ? System.nanoTime() : 0;
+            exporter.accept(stamped, outputStream);
+            if (timed) event.exportTime = System.nanoTime() - start;
+        } finally {
+            event.commit();
+        }
     }
 }
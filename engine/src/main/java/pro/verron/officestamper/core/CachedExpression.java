@@ -0,0 +1,174 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.ExpressionState;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/// A parsed expression held by an [ExpressionCache], together with its compilation state.
+///
+/// The expression is always parsed with compilation turned off, so Spring never compiles or reverts it behind our
+/// back. Instead, this class applies the [SpelCompilerMode] of the configuration it was requested with:
+/// - [SpelCompilerMode#OFF] always interprets the expression.
+/// - [SpelCompilerMode#IMMEDIATE] compiles it once it has been interpreted twice.
+/// - [SpelCompilerMode#MIXED] compiles it once it has been interpreted [#MIXED_THRESHOLD] times.
+///
+/// Most template expressions go through the [UnionPropertyAccessor] and [UnionMethodResolver], which are not
+/// compilable; for those, compilation fails and the expression keeps being interpreted. When compiled code fails at
+/// runtime, for example because the same expression text is evaluated against a context of a different type, the
+/// expression reverts to interpretation and is evaluated again. After [#MAX_FAILED_ATTEMPTS] failures, no further
+/// compilation is attempted.
+///
+/// Compiled code uses a single object as both root and active context object, so an expression referencing `#root` is
+/// interpreted whenever its active context object is not the root object, even once compiled.
+public final class CachedExpression {
+    /// The number of interpretations after which an expression is compiled in [SpelCompilerMode#MIXED].
+    public static final int MIXED_THRESHOLD = 100;
+    /// The number of interpretations after which an expression is compiled in [SpelCompilerMode#IMMEDIATE].
+    public static final int IMMEDIATE_THRESHOLD = 2;
+    /// The number of failed compilations, or failed compiled runs, after which the expression stays interpreted.
+    public static final int MAX_FAILED_ATTEMPTS = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(CachedExpression.class);
+
+    private final SpelParserConfiguration configuration;
+    private final SpelExpression expression;
+    private final boolean referencesRoot;
+    private final AtomicInteger interpretedSinceRevert = new AtomicInteger();
+    private final AtomicInteger failedAttempts = new AtomicInteger();
+    private final LongAdder interpretedEvaluations = new LongAdder();
+    private final LongAdder compiledEvaluations = new LongAdder();
+    private volatile boolean compiled;
+
+    CachedExpression(SpelParserConfiguration configuration, SpelExpression expression) {
+        this.configuration = configuration;
+        this.expression = expression;
+        this.referencesRoot = referencesRoot(expression.getAST());
+    }
+
+    private static boolean referencesRoot(SpelNode node) {
+        if (node instanceof VariableReference && "#root".equals(node.toStringAST())) return true;
+        for (int i = 0; i < node.getChildCount(); i++)
+            if (referencesRoot(node.getChild(i))) return true;
+        return false;
+    }
+
+    /// Returns the parsed expression.
+    ///
+    /// @return the parsed expression.
+    public SpelExpression expression() {
+        return expression;
+    }
+
+    /// Evaluates the expression with the root object of the given context as active context object.
+    ///
+    /// @param context the evaluation context.
+    ///
+    /// @return the value of the expression.
+    public @Nullable Object evaluate(EvaluationContext context) {
+        return evaluate(context, context.getRootObject());
+    }
+
+    /// Evaluates the expression with the given active context object, the root object being still provided by the
+    /// evaluation context.
+    ///
+    /// @param context the evaluation context.
+    /// @param activeContextObject the object against which unqualified references are evaluated.
+    ///
+    /// @return the value of the expression.
+    public @Nullable Object evaluate(EvaluationContext context, TypedValue activeContextObject) {
+        var needsRoot = referencesRoot && activeContextObject != context.getRootObject();
+        if (compiled && !needsRoot) {
+            try {
+                var value = expression.getValue(context, activeContextObject.getValue());
+                compiledEvaluations.increment();
+                return value;
+            } catch (SpelEvaluationException e) {
+                if (e.getMessageCode() != SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION) throw e;
+                revert(e);
+            }
+        }
+        var state = new ExpressionState(context, configuration);
+        if (activeContextObject != context.getRootObject()) state.pushActiveContextObject(activeContextObject);
+        var value = expression.getAST()
+                              .getValue(state);
+        interpretedEvaluations.increment();
+        if (!needsRoot && isCompilationCandidate()) compile();
+        return value;
+    }
+
+    private boolean isCompilationCandidate() {
+        var threshold = switch (configuration.getCompilerMode()) {
+            case OFF -> 0;
+            case IMMEDIATE -> IMMEDIATE_THRESHOLD;
+            case MIXED -> MIXED_THRESHOLD;
+        };
+        if (threshold == 0) return false;
+        if (failedAttempts.get() >= MAX_FAILED_ATTEMPTS) return false;
+        return interpretedSinceRevert.incrementAndGet() >= threshold;
+    }
+
+    private synchronized void compile() {
+        if (compiled) return;
+        if (expression.compileExpression()) {
+            compiled = true;
+            log.debug("Compiled expression '{}'.", expression.getExpressionString());
+        }
+        else {
+            failedAttempts.incrementAndGet();
+            interpretedSinceRevert.set(0);
+        }
+    }
+
+    private synchronized void revert(Exception cause) {
+        if (!compiled) return;
+        expression.revertToInterpreted();
+        compiled = false;
+        failedAttempts.incrementAndGet();
+        interpretedSinceRevert.set(0);
+        log.atDebug()
+           .setCause(cause)
+           .log("Compiled expression '{}' failed, reverting to interpretation.", expression.getExpressionString());
+    }
+
+    /// Returns a snapshot of the evaluation statistics of this expression.
+    ///
+    /// @return the statistics.
+    public ExpressionStatistics statistics() {
+        return new ExpressionStatistics(expression.getExpressionString(),
+                configuration.getCompilerMode(),
+                compiled,
+                interpretedEvaluations.sum(),
+                compiledEvaluations.sum(),
+                failedAttempts.get());
+    }
+
+    /// Evaluation statistics of a cached expression.
+    ///
+    /// @param expression the expression text.
+    /// @param compilerMode the compiler mode requested for this expression.
+    /// @param compiled whether the expression currently runs as compiled bytecode.
+    /// @param interpretedEvaluations the number of interpreted evaluations.
+    /// @param compiledEvaluations the number of compiled evaluations.
+    /// @param failedAttempts the number of failed compilations and failed compiled runs.
+    public record ExpressionStatistics(
+            String expression,
+            SpelCompilerMode compilerMode,
+            boolean compiled,
+            long interpretedEvaluations,
+            long compiledEvaluations,
+            int failedAttempts
+    ) {}
+}
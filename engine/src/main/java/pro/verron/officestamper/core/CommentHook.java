@@ -18,6 +18,16 @@ public class CommentHook
         this.comment = comment;
     }
 
+    @Override
+    public String type() {
+        return "processor";
+    }
+
+    @Override
+    public String expression() {
+        return comment.expression();
+    }
+
     @Override
     public boolean run(
             EngineFactory engineFactory,
@@ -25,6 +35,30 @@ public class CommentHook
             OfficeStamperEvaluationContextFactory evaluationContextFactory
     ) {
         if (WmlUtils.hasTagAttribute(tag.tag(), "status", "executed")) return false;
+        var event = new StampingEvents.Hook();
+        event.begin();
+        boolean processed = false;
+        try {
+            processed = process(engineFactory, contextRoot, evaluationContextFactory);
+            return processed;
+        } finally {
+            if (event.shouldCommit()) {
+                event.partName = part.part()
+                                     .getPartName()
+                                     .getName();
+                event.hookType = type();
+                event.expression = StampingEvents.truncate(comment.expression());
+                event.processed = processed;
+                event.commit();
+            }
+        }
+    }
+
+    private boolean process(
+            EngineFactory engineFactory,
+            ContextRoot contextRoot,
+            OfficeStamperEvaluationContextFactory evaluationContextFactory
+    ) {
         var paragraph = tag.getParagraph();
         var expression = comment.expression();
         var contextKey = tag.getContextKey();
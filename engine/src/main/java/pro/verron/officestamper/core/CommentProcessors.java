@@ -0,0 +1,40 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.api.CommentProcessor;
+import pro.verron.officestamper.api.CommentProcessorFactory;
+import pro.verron.officestamper.api.ProcessorContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/// The comment processors bound to a single hook, created on demand.
+///
+/// Most hooks only resolve a placeholder and never call a comment processor, so instead of creating one processor per
+/// registered factory up front, a processor is created the first time a method of its interface is invoked, then
+/// reused for the remainder of the hook.
+final class CommentProcessors {
+    private final Map<Class<?>, CommentProcessorFactory> factories;
+    private final ProcessorContext processorContext;
+    private final Map<Class<?>, CommentProcessor> instances = new HashMap<>(4);
+
+    CommentProcessors(Map<Class<?>, CommentProcessorFactory> factories, ProcessorContext processorContext) {
+        this.factories = factories;
+        this.processorContext = processorContext;
+    }
+
+    /// Returns the comment processor registered under the given interface, creating it on first access.
+    ///
+    /// @param processorClass the interface under which the comment processor has been registered.
+    ///
+    /// @return the comment processor, or `null` if none is registered under that interface.
+    @Nullable CommentProcessor get(Class<?> processorClass) {
+        var instance = instances.get(processorClass);
+        if (instance != null) return instance;
+        var factory = factories.get(processorClass);
+        if (factory == null) return null;
+        instance = factory.create(processorContext);
+        instances.put(processorClass, instance);
+        return instance;
+    }
+}
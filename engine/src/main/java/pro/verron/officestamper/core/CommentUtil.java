@@ -12,14 +12,12 @@ import org.docx4j.wml.R.CommentReference;
 import pro.verron.officestamper.api.Comment;
 import pro.verron.officestamper.api.DocxPart;
 import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.utils.wml.CommentIndex;
 import pro.verron.officestamper.utils.wml.DocxIterator;
 
 import java.math.BigInteger;
 import java.util.*;
 
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
-
 /// Utility class for working with comments in a DOCX document.
 ///
 /// @author Joseph Verron
@@ -47,17 +45,21 @@ public class CommentUtil {
     /// @param document        the WordprocessingMLPackage document containing the paragraph and its comments.
     /// @return a collection of found comments.
     public static Collection<Comments.Comment> getCommentFor(ContentAccessor contentAccessor, OpcPackage document) {
-        var comments = getCommentsPart(document.getParts()).map(CommentUtil::extractContent)
-                                                           .map(Comments::getComment)
-                                                           .stream()
-                                                           .flatMap(Collection::stream)
-                                                           .toList();
-
+        var index = document instanceof WordprocessingMLPackage wordDocument ? CommentIndex.of(wordDocument) : null;
+        Map<BigInteger, Comments.Comment> comments = null;
         var result = new ArrayList<Comments.Comment>();
         var commentIterator = new DocxIterator(contentAccessor).selectClass(CommentRangeStart.class);
         while (commentIterator.hasNext()) {
-            var crs = commentIterator.next();
-            findCommentById(comments, crs.getId()).ifPresent(result::add);
+            var id = commentIterator.next()
+                                    .getId();
+            if (index != null) {
+                var comment = index.comment(id);
+                if (comment != null) result.add(comment);
+                continue;
+            }
+            if (comments == null) comments = mapComments(document);
+            var comment = comments.get(id);
+            if (comment != null) result.add(comment);
         }
         return result;
     }
@@ -86,13 +88,12 @@ public class CommentUtil {
         }
     }
 
-    private static Optional<Comments.Comment> findCommentById(List<Comments.Comment> comments, BigInteger id) {
-        for (Comments.Comment comment : comments) {
-            if (id.equals(comment.getId())) {
-                return Optional.of(comment);
-            }
-        }
-        return Optional.empty();
+    private static Map<BigInteger, Comments.Comment> mapComments(OpcPackage document) {
+        var comments = new HashMap<BigInteger, Comments.Comment>();
+        getCommentsPart(document.getParts()).map(CommentUtil::extractContent)
+                                            .map(Comments::getComment)
+                                            .ifPresent(list -> list.forEach(c -> comments.putIfAbsent(c.getId(), c)));
+        return comments;
     }
 
     /// Returns the string value of the specified comment object.
@@ -121,6 +122,9 @@ public class CommentUtil {
 
     /// Creates a [Comment] object.
     ///
+    /// The range end, the reference and the comment itself are taken from the [CommentIndex] of the document when it
+    /// knows the range start, and searched in the content accessor and the comments part otherwise.
+    ///
     /// @param docxPart the document part.
     /// @param crs the comment range start.
     /// @param document the document.
@@ -133,6 +137,18 @@ public class CommentUtil {
             WordprocessingMLPackage document,
             ContentAccessor contentAccessor
     ) {
+        var index = CommentIndex.of(document);
+        var range = index == null ? null : index.range(crs);
+        if (range != null) {
+            var comment = index.comment(crs.getId());
+            return new StandardComment(docxPart,
+                    (CTSmartTagRun) crs.getParent(),
+                    crs,
+                    range.end(),
+                    comment,
+                    range.reference());
+        }
+
         var iterator = new DocxIterator(contentAccessor).slice(crs, null);
         CommentRangeEnd cre = null;
         CommentReference cr = null;
@@ -151,18 +167,7 @@ public class CommentUtil {
         if (cre == null)
             throw new IllegalStateException("Could not find comment range end or reference");
 
-        var comment = comment(document, commentId);
-
-
+        var comment = index != null ? index.comment(commentId) : mapComments(document).get(commentId);
         return new StandardComment(docxPart, (CTSmartTagRun) crs.getParent(), crs, cre, comment, cr);
     }
-
-    private static Comments.Comment comment(WordprocessingMLPackage document, BigInteger commentId) {
-        return getCommentsPart(document.getParts()).map(CommentUtil::extractContent)
-                                                   .map(Comments::getComment)
-                                                   .stream()
-                                                   .flatMap(Collection::stream)
-                                                   .collect(toMap(Comments.Comment::getId, identity()))
-                                                   .get(commentId);
-    }
 }
@@ -0,0 +1,136 @@
+package pro.verron.officestamper.core;
+
+import org.docx4j.TraversalUtil;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.openpackaging.parts.JaxbXmlPart;
+import org.docx4j.openpackaging.parts.PartName;
+import org.docx4j.wml.*;
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.api.CompiledTemplate;
+import pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils;
+import pro.verron.officestamper.utils.wml.WmlCloner;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.docx4j.XmlUtils.unwrap;
+
+/// A [CompiledTemplate] of a Word document, holding the pre-processed package as zip bytes along with the
+/// WordprocessingML content of the parts the pre-processing unmarshalled.
+///
+/// A copy is loaded lazily from the bytes, then given a [WmlCloner] copy of each of these contents, instead of
+/// unmarshalling them again. Parts the pre-processing did not touch stay compressed in the copy until needed.
+///
+/// The contents of the main document, headers and footers are copied on write: only the top-level blocks holding
+/// hooks, the smart tags and comment markers the stamping rewrites, are copied, along with the part root and body
+/// holding them. A hook may rewrite its whole enclosing table, but no further up than the list of blocks of its part,
+/// from which it only removes blocks or in which it inserts copies of them: the blocks holding no hook are shared by
+/// all the copies.
+///
+/// A shared block keeps its `parent` pointer into the template, so removing it through its parent would edit the
+/// template. The contents of the other parts, like the footnotes and endnotes the post-processors prune that way, are
+/// therefore copied whole.
+final class CompiledDocxTemplate
+        implements CompiledTemplate<WordprocessingMLPackage> {
+    private static final String WML_PACKAGE = Document.class.getPackageName();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final long id = IDS.incrementAndGet();
+    private final DocxStamper stamper;
+    private final byte[] bytes;
+    private final Map<PartName, Content> contents;
+
+    private CompiledDocxTemplate(DocxStamper stamper, byte[] bytes, Map<PartName, Content> contents) {
+        this.stamper = stamper;
+        this.bytes = bytes;
+        this.contents = contents;
+    }
+
+    /// Compiles the given pre-processed document.
+    ///
+    /// @param stamper the stamper that pre-processed the document.
+    /// @param document the pre-processed document, not to be used afterward.
+    ///
+    /// @return the compiled template.
+    static CompiledDocxTemplate of(DocxStamper stamper, WordprocessingMLPackage document) {
+        var contents = new HashMap<PartName, Content>();
+        for (var entry : document.getParts()
+                                 .getParts()
+                                 .entrySet()) {
+            if (!(entry.getValue() instanceof JaxbXmlPart<?> part) || !part.isUnmarshalled()) continue;
+            var content = part.getJaxbElement();
+            if (content != null && content.getClass()
+                                          .getPackageName()
+                                          .equals(WML_PACKAGE)) contents.put(entry.getKey(), Content.of(content));
+        }
+        var output = new ByteArrayOutputStream();
+        OpenpackagingUtils.exportWord(document, output);
+        return new CompiledDocxTemplate(stamper, output.toByteArray(), Map.copyOf(contents));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void setContent(JaxbXmlPart<E> part, Content content) {
+        part.setJaxbElement((E) WmlCloner.copy(content.root(), content.shared()::contains));
+    }
+
+    /// Tells whether this template was compiled by the given stamper.
+    ///
+    /// @param stamper the stamper.
+    ///
+    /// @return `true` when the stamper compiled this template.
+    boolean isCompiledBy(DocxStamper stamper) {
+        return this.stamper == stamper;
+    }
+
+    /// Returns the identity of this template, unique in the JVM, as recorded in the [StampingEvents.Stamp] events.
+    ///
+    /// @return the identity, strictly positive.
+    long id() {
+        return id;
+    }
+
+    @Override
+    public WordprocessingMLPackage copy() {
+        var document = OpenpackagingUtils.loadWordLazily(bytes);
+        var parts = document.getParts();
+        for (var entry : contents.entrySet())
+            if (parts.get(entry.getKey()) instanceof JaxbXmlPart<?> part) setContent(part, entry.getValue());
+        return document;
+    }
+
+    /// The content of a part, and the blocks that copies share.
+    ///
+    /// @param root the root element of the part.
+    /// @param shared the top-level blocks holding no hook, as held by their list.
+    private record Content(Object root, Set<Object> shared) {
+        private static Content of(Object root) {
+            var shared = Collections.newSetFromMap(new IdentityHashMap<>());
+            var blocks = blocks(root);
+            if (blocks != null) for (var block : blocks)
+                if (!holdsHooks(unwrap(block))) shared.add(block);
+            return new Content(root, Collections.unmodifiableSet(shared));
+        }
+
+        // Only the blocks of the parts holding the stamped content are shared.
+        private static @Nullable List<Object> blocks(Object root) {
+            return switch (root) {
+                case Document document when document.getBody() != null -> document.getBody()
+                                                                                   .getContent();
+                case Hdr header -> header.getContent();
+                case Ftr footer -> footer.getContent();
+                default -> null;
+            };
+        }
+
+        private static boolean holdsHooks(Object element) {
+            if (element instanceof CTSmartTagRun || element instanceof CommentRangeStart
+                || element instanceof CommentRangeEnd || element instanceof R.CommentReference) return true;
+            var children = TraversalUtil.getChildrenImpl(element);
+            if (children == null) return false;
+            for (var child : children)
+                if (holdsHooks(unwrap(child))) return true;
+            return false;
+        }
+    }
+}
@@ -50,6 +50,15 @@ public class ContextBranch
         return branch.getLast();
     }
 
+    /// Returns the object at the given level of the branch, counted from its leaf.
+    ///
+    /// @param level the level, 0 being the leaf.
+    ///
+    /// @return the object.
+    Object level(int level) {
+        return branch.get(branch.size() - 1 - level);
+    }
+
     @Override
     public int size() {
         return branch.size();
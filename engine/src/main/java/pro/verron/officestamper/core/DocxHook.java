@@ -2,11 +2,8 @@ package pro.verron.officestamper.core;
 
 import org.docx4j.wml.CTSmartTagRun;
 import org.docx4j.wml.CommentRangeStart;
-import org.docx4j.wml.ContentAccessor;
 import pro.verron.officestamper.api.DocxPart;
 import pro.verron.officestamper.api.Hook;
-import pro.verron.officestamper.utils.iterator.ResetableIterator;
-import pro.verron.officestamper.utils.wml.DocxIterator;
 
 import static pro.verron.officestamper.utils.wml.WmlUtils.isTagElement;
 
@@ -14,17 +11,6 @@ import static pro.verron.officestamper.utils.wml.WmlUtils.isTagElement;
 public interface DocxHook
         extends Hook {
 
-    /// Creates an iterator over the hooks in the given content accessor.
-    ///
-    /// @param contentAccessor the content accessor to search for hooks.
-    /// @param part the document part.
-    ///
-    /// @return an iterator over the found hooks.
-    static ResetableIterator<DocxHook> ofHooks(ContentAccessor contentAccessor, DocxPart part) {
-        return new DocxIterator(contentAccessor).filter(DocxHook::isPotentialHook)
-                                                .map(o -> asHook(part, o));
-    }
-
     /// Checks if the given object is a potential hook.
     ///
     /// @param o the object to check.
@@ -62,7 +48,9 @@ public interface DocxHook
                   .anyMatch(attr -> typeKey.equals(attr.getName()) && type.equals(attr.getVal()));
     }
 
-    /// Creates a new comment hook.
+    /// Creates a new comment hook, its comment being resolved from the
+    /// [pro.verron.officestamper.utils.wml.CommentIndex] filled while the document was pre-processed, when it knows the
+    /// tagged range start.
     ///
     /// @param part the document part.
     /// @param tag the tag.
@@ -76,6 +64,16 @@ public interface DocxHook
         return new CommentHook(part, myTag, comment);
     }
 
+    /// Retrieves the type of the hook, like `placeholder`, `inlineProcessor` or `processor`.
+    ///
+    /// @return the type of the hook.
+    String type();
+
+    /// Retrieves the expression the hook evaluates.
+    ///
+    /// @return the expression of the hook.
+    String expression();
+
     /// Executes the hook's logic within the context of a document processing flow.
     ///
     /// @param engineFactory a factory responsible for creating instances of the `Engine` class, which may be
@@ -3,14 +3,22 @@ package pro.verron.officestamper.core;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.openpackaging.parts.Part;
 import org.docx4j.wml.ContentAccessor;
+import org.jspecify.annotations.Nullable;
 import pro.verron.officestamper.api.*;
+import pro.verron.officestamper.utils.openpackaging.ImagePartIndex;
+import pro.verron.officestamper.utils.wml.CommentIndex;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.docx4j.openpackaging.parts.relationships.Namespaces.FOOTER;
 import static org.docx4j.openpackaging.parts.relationships.Namespaces.HEADER;
+import static pro.verron.officestamper.api.StampingMetrics.Phase.LOAD;
+import static pro.verron.officestamper.api.StampingMetrics.Phase.POSTPROCESS;
+import static pro.verron.officestamper.api.StampingMetrics.Phase.PREPROCESS;
 
 /// The [DocxStamper] class is an implementation of the [OfficeStamper] interface used to stamp DOCX templates with a
 /// context object and write the result to an output stream.
@@ -20,33 +28,43 @@ import static org.docx4j.openpackaging.parts.relationships.Namespaces.HEADER;
 /// @version ${version}
 /// @since 1.0.0
 public class DocxStamper
-        implements OfficeStamper<WordprocessingMLPackage> {
+        implements CompilingStamper<WordprocessingMLPackage> {
 
-    private final List<PreProcessor> preprocessors;
-    private final List<PostProcessor> postprocessors;
+    private final List<Stage<PreProcessor>> preprocessors;
+    private final List<Stage<ElementHandlers>> perDocumentHandlers;
+    private final List<Stage<PostProcessor>> postprocessors;
+    private final StampingMetrics metrics;
+    private final ExpressionCache expressionCache;
     private final EngineFactory engineFactory;
-    private final EvaluationContextFactory contextFactory;
-    private final Map<Class<?>, Object> interfaceFunctions;
-    private final List<CustomFunction> customFunctions;
-    private final Map<Class<?>, CommentProcessorFactory> commentProcessors;
+    private final OfficeStamperEvaluationContextFactory evaluationContextFactory;
 
     /// Creates new [DocxStamper] with the given configuration.
     ///
     /// @param configuration the configuration to use for this [DocxStamper].
     public DocxStamper(OfficeStamperConfiguration configuration) {
-        this.contextFactory = configuration.getEvaluationContextFactory();
-        this.interfaceFunctions = configuration.getExpressionFunctions();
-        this.customFunctions = configuration.customFunctions();
-        this.commentProcessors = configuration.getCommentProcessors();
+        this.evaluationContextFactory = OfficeStamperEvaluationContextFactory.of(configuration);
+        this.expressionCache = new ExpressionCache();
         this.engineFactory = processorContext -> {
             var parserConfiguration = configuration.getParserConfiguration();
             var exceptionResolver = configuration.getExceptionResolver();
             var resolvers = configuration.getResolvers();
             var registry = new ObjectResolverRegistry(resolvers);
-            return new Engine(parserConfiguration, exceptionResolver, registry, processorContext);
+            return new Engine(parserConfiguration, exceptionResolver, registry, processorContext, expressionCache);
         };
-        this.preprocessors = new ArrayList<>(configuration.getPreprocessors());
-        this.postprocessors = new ArrayList<>(configuration.getPostprocessors());
+        var elementStages = new ArrayList<Stage<ElementHandlers>>();
+        this.preprocessors = fuse(configuration.getPreprocessors(), elementStages);
+        this.perDocumentHandlers = elementStages.stream()
+                                                .map(stage -> new Stage<>(stage.name(),
+                                                        stage.action()
+                                                             .perDocument()))
+                                                .filter(stage -> !stage.action()
+                                                                       .isEmpty())
+                                                .toList();
+        this.postprocessors = configuration.getPostprocessors()
+                                           .stream()
+                                           .map(processor -> new Stage<>(nameOf(processor), processor))
+                                           .toList();
+        this.metrics = configuration.getMetrics();
     }
 
     /// Reads in a .docx template and "stamps" it, using the specified context object to fill out any expressions it
@@ -73,14 +91,175 @@ public class DocxStamper
     /// @return the stamped document
     @Override
     public WordprocessingMLPackage stamp(WordprocessingMLPackage document, Object contextRoot) {
-        preprocess(document);
-        process(document, contextRoot);
+        var event = new StampingEvents.Stamp();
+        event.begin();
+        try {
+            return stampPrepared(document, contextRoot, this::preprocess);
+        } finally {
+            commit(event, 0, contextRoot);
+        }
+    }
+
+    /// Pre-processes the given .docx template once, so that copies of it can then be stamped without loading or
+    /// pre-processing it again.
+    ///
+    /// @param document the .docx template to compile, not to be used afterward.
+    ///
+    /// @return the compiled template.
+    @Override
+    public CompiledTemplate<WordprocessingMLPackage> compile(WordprocessingMLPackage document) {
+        try {
+            preprocess(document);
+        } finally {
+            CommentIndex.detach(document);
+        }
+        return CompiledDocxTemplate.of(this, document);
+    }
+
+    /// Stamps a copy of the given compiled template, as [#stamp(WordprocessingMLPackage, Object)] would stamp the
+    /// template it was compiled from.
+    ///
+    /// The copy is not pre-processed again: only the state the pre-processors keep for each document, like the index
+    /// of its comments, is rebuilt for it. Making the copy is reported as the [StampingMetrics.Phase#LOAD] phase of
+    /// the stamp.
+    ///
+    /// The top-level blocks of the main document, headers and footers holding no hook are shared with the template
+    /// and its other copies: they are read-only, for the post-processors as for the caller. Editing one of them, or
+    /// removing it through its parent, edits every later stamp of the template.
+    ///
+    /// @param template a template compiled by this stamper.
+    /// @param contextRoot the context object to use for stamping.
+    ///
+    /// @return the stamped document.
+    @Override
+    public WordprocessingMLPackage stamp(CompiledTemplate<WordprocessingMLPackage> template, Object contextRoot) {
+        if (!(template instanceof CompiledDocxTemplate compiled) || !compiled.isCompiledBy(this))
+            throw new OfficeStamperException("The template was not compiled by this stamper");
+        var event = new StampingEvents.Stamp();
+        event.begin();
+        try {
+            return stampPrepared(copy(compiled), contextRoot, this::prepareCopy);
+        } finally {
+            commit(event, compiled.id(), contextRoot);
+        }
+    }
+
+    private static void commit(StampingEvents.Stamp event, long templateId, @Nullable Object contextRoot) {
+        if (!event.shouldCommit()) return;
+        event.templateId = templateId;
+        event.contextType = contextRoot == null
+                ? null
+                : contextRoot.getClass()
+                             .getName();
+        event.commit();
+    }
+
+    // Copies the compiled template, reporting the copy as the loading of the document when the metrics are enabled.
+    private WordprocessingMLPackage copy(CompiledDocxTemplate compiled) {
+        if (!metrics.enabled()) return compiled.copy();
+        var start = System.nanoTime();
+        var copy = compiled.copy();
+        metrics.phase(LOAD, "docx", System.nanoTime() - start);
+        return copy;
+    }
+
+    // Rebuilds the state the pre-processors keep for each document, on a copy of a compiled template.
+    private void prepareCopy(WordprocessingMLPackage document) {
+        for (var stage : perDocumentHandlers)
+            measure(PREPROCESS, stage.name(), () -> stage.action()
+                                                        .visit(document));
+    }
+
+    // Prepares then processes the document, detaching the indexes of its comments and images even when either fails.
+    private WordprocessingMLPackage stampPrepared(
+            WordprocessingMLPackage document,
+            Object contextRoot,
+            Consumer<WordprocessingMLPackage> preparation
+    ) {
+        try {
+            preparation.accept(document);
+            process(document, contextRoot);
+        } finally {
+            CommentIndex.detach(document);
+            ImagePartIndex.detach(document);
+        }
         postprocess(document);
         return document;
     }
 
+    /// Returns the cache of parsed expressions shared by all the stamps of this [DocxStamper].
+    ///
+    /// @return the expression cache, exposing its hit and miss counters.
+    public ExpressionCache expressionCache() {
+        return expressionCache;
+    }
+
+    @Override
+    public long expressionHits() {
+        return expressionCache.hits();
+    }
+
+    @Override
+    public long expressionMisses() {
+        return expressionCache.misses();
+    }
+
+    /// Groups the consecutive [ElementPreProcessor]s into stages sharing a single traversal of the document, the other
+    /// pre-processors remaining stages of their own, in the configured order. The handlers of each fused stage are
+    /// added to `elementStages`.
+    private static List<Stage<PreProcessor>> fuse(
+            List<PreProcessor> preprocessors,
+            List<Stage<ElementHandlers>> elementStages
+    ) {
+        var stages = new ArrayList<Stage<PreProcessor>>();
+        var group = new ArrayList<ElementPreProcessor>();
+        for (var preprocessor : preprocessors) {
+            if (preprocessor instanceof ElementPreProcessor elementPreProcessor) group.add(elementPreProcessor);
+            else {
+                fuse(group, stages, elementStages);
+                stages.add(new Stage<>(nameOf(preprocessor), preprocessor));
+            }
+        }
+        fuse(group, stages, elementStages);
+        return stages;
+    }
+
+    private static void fuse(
+            List<ElementPreProcessor> group,
+            List<Stage<PreProcessor>> stages,
+            List<Stage<ElementHandlers>> elementStages
+    ) {
+        if (group.isEmpty()) return;
+        var handlers = new ElementHandlers();
+        group.forEach(preprocessor -> preprocessor.register(handlers));
+        var name = group.stream()
+                        .map(DocxStamper::nameOf)
+                        .collect(Collectors.joining("+"));
+        elementStages.add(new Stage<>(name, handlers));
+        stages.add(new Stage<>(name, handlers::visit));
+        group.clear();
+    }
+
+    private static String nameOf(Object processor) {
+        return processor.getClass()
+                        .getSimpleName();
+    }
+
     private void preprocess(WordprocessingMLPackage document) {
-        preprocessors.forEach(processor -> processor.process(document));
+        for (var stage : preprocessors)
+            measure(PREPROCESS, stage.name(), () -> stage.action()
+                                                        .process(document));
+    }
+
+    /// Runs the action, reporting its duration to the metrics when they are enabled.
+    private void measure(StampingMetrics.Phase phase, String name, Runnable action) {
+        if (!metrics.enabled()) {
+            action.run();
+            return;
+        }
+        var start = System.nanoTime();
+        action.run();
+        metrics.phase(phase, name, System.nanoTime() - start);
     }
 
     private void process(WordprocessingMLPackage document, Object contextRoot) {
@@ -103,22 +282,18 @@ public class DocxStamper
     }
 
     private void postprocess(WordprocessingMLPackage document) {
-        postprocessors.forEach(processor -> processor.process(document));
+        for (var stage : postprocessors)
+            measure(POSTPROCESS, stage.name(), () -> stage.action()
+                                                         .process(document));
     }
 
     private void process(DocxPart part, Object contextRoot) {
         var contextTree = new ContextRoot(contextRoot);
-        var iterator = DocxHook.ofHooks(part::content, part);
-        while (iterator.hasNext()) {
-            var hook = iterator.next();
-            var officeStamperContextFactory = new OfficeStamperEvaluationContextFactory(customFunctions,
-                    commentProcessors,
-                    interfaceFunctions,
-                    contextFactory);
-            if (hook.run(engineFactory, contextTree, officeStamperContextFactory)) {
-                iterator.reset();
-            }
-        }
+        var scheduler = new HookScheduler(part, metrics);
+        scheduler.run(engineFactory, contextTree, evaluationContextFactory);
     }
 
+    /// A pre-processing or post-processing stage, named after the processors it runs for the [StampingMetrics].
+    private record Stage<T>(String name, T action) {}
+
 }
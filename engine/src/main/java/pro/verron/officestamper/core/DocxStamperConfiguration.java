@@ -2,6 +2,7 @@ package pro.verron.officestamper.core;
 
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import pro.verron.officestamper.api.*;
 import pro.verron.officestamper.api.CustomFunction.NeedsBiFunctionImpl;
@@ -36,6 +37,7 @@ public class DocxStamperConfiguration
     private EvaluationContextFactory evaluationContextFactory;
     private SpelParserConfiguration parserConfiguration;
     private ExceptionResolver exceptionResolver;
+    private StampingMetrics metrics;
 
     /// Constructs a new instance of the [DocxStamperConfiguration] class and initializes its default configuration
     /// settings.
@@ -62,6 +64,7 @@ public class DocxStamperConfiguration
         this.evaluationContextFactory = evaluationContextFactory;
         this.parserConfiguration = new SpelParserConfiguration();
         this.exceptionResolver = exceptionResolver;
+        this.metrics = StampingMetrics.none();
     }
 
     /// Exposes all methods of a given interface to the expression language.
@@ -320,6 +323,39 @@ public class DocxStamperConfiguration
         return this;
     }
 
+    /// Sets the compiler mode of the parser configuration, keeping all its other settings.
+    ///
+    /// @param compilerMode the [SpelCompilerMode] to use.
+    ///
+    /// @return the configuration object for chaining.
+    @Override
+    public DocxStamperConfiguration setCompilerMode(SpelCompilerMode compilerMode) {
+        var current = this.parserConfiguration;
+        this.parserConfiguration = new SpelParserConfiguration(compilerMode,
+                current.getCompilerClassLoader(),
+                current.isAutoGrowNullReferences(),
+                current.isAutoGrowCollections(),
+                current.getMaximumAutoGrowSize(),
+                current.getMaximumExpressionLength());
+        return this;
+    }
+
+    @Override
+    public StampingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /// Sets the metrics receiving the timings of the stamping phases.
+    ///
+    /// @param metrics the [StampingMetrics] to report to.
+    ///
+    /// @return the configuration object for chaining.
+    @Override
+    public DocxStamperConfiguration setMetrics(StampingMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     /// Resets all processors in the configuration.
     public void resetCommentProcessors() {
         this.commentProcessors.clear();
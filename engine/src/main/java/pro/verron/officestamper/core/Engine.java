@@ -1,12 +1,11 @@
 package pro.verron.officestamper.core;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelParseException;
 import org.springframework.expression.spel.SpelParserConfiguration;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import pro.verron.officestamper.api.*;
 
 /// The core engine of OfficeStamper, responsible for processing expressions.
@@ -19,7 +18,7 @@ public class Engine {
     private final ProcessorContext processorContext;
     private final String expression;
     private final DocxPart docxPart;
-    private final SpelExpressionParser expressionParser;
+    private final ExpressionCache expressionCache;
 
     /// Constructs an Engine.
     ///
@@ -32,6 +31,23 @@ public class Engine {
             ExceptionResolver exceptionResolver,
             ObjectResolverRegistry objectResolverRegistry,
             ProcessorContext processorContext
+    ) {
+        this(parserConfiguration, exceptionResolver, objectResolverRegistry, processorContext, new ExpressionCache());
+    }
+
+    /// Constructs an Engine sharing its parsed expressions through the given cache.
+    ///
+    /// @param parserConfiguration the parser configuration.
+    /// @param exceptionResolver the exception resolver.
+    /// @param objectResolverRegistry the object resolver registry.
+    /// @param processorContext the processor context.
+    /// @param expressionCache the cache of parsed expressions.
+    public Engine(
+            SpelParserConfiguration parserConfiguration,
+            ExceptionResolver exceptionResolver,
+            ObjectResolverRegistry objectResolverRegistry,
+            ProcessorContext processorContext,
+            ExpressionCache expressionCache
     ) {
         this.parserConfiguration = parserConfiguration;
         this.exceptionResolver = exceptionResolver;
@@ -39,7 +55,7 @@ public class Engine {
         this.processorContext = processorContext;
         this.expression = processorContext.expression();
         this.docxPart = processorContext.part();
-        this.expressionParser = new SpelExpressionParser(parserConfiguration);
+        this.expressionCache = expressionCache;
     }
 
     /// Processes the provided evaluation context against the expression defined in the processor context.
@@ -55,16 +71,26 @@ public class Engine {
     ///
     /// @return true if the processing was successful, otherwise false
     public boolean process(UnionEvaluationContext evaluationContext) {
+        var event = new StampingEvents.Expression();
+        event.begin();
+        var timed = event.isEnabled();
+        var start = timed ? System.nanoTime() : 0;
+        long evaluationTime = 0;
+        var failed = false;
         try {
-            var parsedExpression = expressionParser.parseRaw(expression);
-            parsedExpression.getValue(evaluationContext);
+            var parsedExpression = expressionCache.parse(parserConfiguration, expression);
+            parsedExpression.evaluate(evaluationContext);
+            if (timed) evaluationTime = System.nanoTime() - start;
             log.debug("Processed '{}' successfully.", expression);
             return true;
         } catch (SpelEvaluationException | SpelParseException e) {
+            failed = true;
             var msgTemplate = "Expression %s could not be processed against context '%s'";
             var message = msgTemplate.formatted(expression, evaluationContext);
             exceptionResolver.resolve(expression, message, e);
             return false;
+        } finally {
+            commit(event, evaluationTime, null, null, failed);
         }
     }
 
@@ -75,19 +101,52 @@ public class Engine {
     ///
     /// @return an [Insert] object representing the resolved result of the expression within the context.
     public Insert resolve(UnionEvaluationContext evaluationContext) {
+        var event = new StampingEvents.Expression();
+        event.begin();
+        var timed = event.isEnabled();
+        var start = timed ? System.nanoTime() : 0;
+        long evaluationTime = 0;
+        ObjectResolver resolver = null;
+        Insert insert = null;
+        var failed = false;
         try {
-            var parsedExpression = expressionParser.parseRaw(expression);
-            var parsedAst = parsedExpression.getAST();
-            var expressionState = new ExpressionState(evaluationContext, parserConfiguration);
-            expressionState.pushActiveContextObject(evaluationContext.getLeafObject());
-            var resolution = parsedAst.getValue(expressionState);
-            var resolve = objectResolverRegistry.resolve(docxPart, expression, resolution);
+            var parsedExpression = expressionCache.parse(parserConfiguration, expression);
+            var resolution = parsedExpression.evaluate(evaluationContext, evaluationContext.getLeafObject());
+            if (timed) evaluationTime = System.nanoTime() - start;
+            resolver = objectResolverRegistry.resolver(resolution);
+            insert = resolver.resolve(docxPart, expression, resolution);
             log.debug("Resolved '{}' successfully.", expression);
-            return resolve;
+            return insert;
         } catch (SpelEvaluationException | SpelParseException | OfficeStamperException e) {
+            failed = true;
             var msgTemplate = "Expression %s could not be resolved against context '%s'";
             var message = msgTemplate.formatted(expression, evaluationContext);
-            return exceptionResolver.resolve(expression, message, e);
+            insert = exceptionResolver.resolve(expression, message, e);
+            return insert;
+        } finally {
+            commit(event, evaluationTime, resolver, insert, failed);
         }
     }
+
+    private void commit(
+            StampingEvents.Expression event,
+            long evaluationTime,
+            @Nullable ObjectResolver resolver,
+            @Nullable Insert insert,
+            boolean failed
+    ) {
+        if (!event.shouldCommit()) return;
+        event.expression = StampingEvents.truncate(expression);
+        event.evaluationTime = evaluationTime;
+        event.resolver = resolver == null
+                ? null
+                : resolver.getClass()
+                          .getName();
+        event.insertSize = insert == null
+                ? 0
+                : insert.elements()
+                        .size();
+        event.failed = failed;
+        event.commit();
+    }
 }
@@ -0,0 +1,133 @@
+package pro.verron.officestamper.core;
+
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import pro.verron.officestamper.core.CachedExpression.ExpressionStatistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/// A thread-safe, size-bounded cache of parsed expressions.
+///
+/// Expressions are keyed by their text and the [SpelParserConfiguration] used to parse them, so a single cache can be
+/// shared by every hook and every stamp call of a [DocxStamper]. When the cache is full, the least recently used
+/// expression is evicted.
+///
+/// Parse failures are never cached, they are rethrown to the caller on every attempt. Each cached expression keeps its
+/// own compilation state and evaluation statistics, see [CachedExpression].
+public final class ExpressionCache {
+
+    /// The default maximum number of parsed expressions kept by a cache.
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<Key, CachedExpression> expressions;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /// Constructs a cache holding at most [#DEFAULT_CAPACITY] parsed expressions.
+    public ExpressionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /// Constructs a cache holding at most `capacity` parsed expressions.
+    ///
+    /// @param capacity the maximum number of parsed expressions to keep, must be strictly positive.
+    public ExpressionCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be strictly positive: " + capacity);
+        this.expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedExpression> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /// Retrieves the parsed form of an expression, parsing it with the given configuration on a cache miss.
+    ///
+    /// @param configuration the parser configuration to use.
+    /// @param expression the raw expression text.
+    ///
+    /// @return the parsed expression.
+    public CachedExpression parse(SpelParserConfiguration configuration, String expression) {
+        var key = new Key(configuration, expression);
+        synchronized (expressions) {
+            var cached = expressions.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        var parser = new SpelExpressionParser(interpreted(configuration));
+        var parsed = new CachedExpression(configuration, parser.parseRaw(expression));
+        synchronized (expressions) {
+            var previous = expressions.putIfAbsent(key, parsed);
+            return previous == null ? parsed : previous;
+        }
+    }
+
+    private static SpelParserConfiguration interpreted(SpelParserConfiguration configuration) {
+        return new SpelParserConfiguration(SpelCompilerMode.OFF,
+                configuration.getCompilerClassLoader(),
+                configuration.isAutoGrowNullReferences(),
+                configuration.isAutoGrowCollections(),
+                configuration.getMaximumAutoGrowSize(),
+                configuration.getMaximumExpressionLength());
+    }
+
+    /// Returns the number of lookups answered from the cache.
+    ///
+    /// @return the hit count.
+    public long hits() {
+        return hits.sum();
+    }
+
+    /// Returns the number of lookups that required parsing the expression.
+    ///
+    /// @return the miss count.
+    public long misses() {
+        return misses.sum();
+    }
+
+    /// Returns the number of parsed expressions currently held.
+    ///
+    /// @return the cache size.
+    public int size() {
+        synchronized (expressions) {
+            return expressions.size();
+        }
+    }
+
+    /// Returns a snapshot of the evaluation statistics of every cached expression, telling notably which ones run as
+    /// compiled bytecode.
+    ///
+    /// @return the statistics, from the least to the most recently used expression.
+    public List<ExpressionStatistics> statistics() {
+        var statistics = new ArrayList<ExpressionStatistics>();
+        synchronized (expressions) {
+            for (var expression : expressions.values())
+                statistics.add(expression.statistics());
+        }
+        return statistics;
+    }
+
+    /// Removes all parsed expressions and resets the hit and miss counters.
+    public void clear() {
+        synchronized (expressions) {
+            expressions.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ExpressionCache[size=%d, hits=%d, misses=%d]".formatted(size(), hits(), misses());
+    }
+
+    private record Key(SpelParserConfiguration configuration, String expression) {}
+}
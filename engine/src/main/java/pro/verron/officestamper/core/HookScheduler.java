@@ -0,0 +1,208 @@
+package pro.verron.officestamper.core;
+
+import org.docx4j.wml.CTSmartTagRun;
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.api.DocxPart;
+import pro.verron.officestamper.api.StampingMetrics;
+import pro.verron.officestamper.api.StampingMetrics.Outcome;
+import pro.verron.officestamper.utils.wml.DocxIterator;
+import pro.verron.officestamper.utils.wml.WmlUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.docx4j.XmlUtils.unwrap;
+
+/// Schedules the execution of the hooks of a document part, in document order.
+///
+/// Hooks rewrite the content they are attached to, a repeat processor for example removes the elements under its
+/// comment and inserts one copy of them per item. 3.0 restarted the traversal from the top of the part after each
+/// processed hook, running the first pending hook in document order. The scheduler runs the hooks in the same order
+/// without restarting: it keeps a cursor, the path of elements leading to the last visited hook, and resynchronizes it
+/// with the live content after each execution:
+/// - elements that are still attached are found again at their position, usually without searching;
+/// - when an element of the path has been removed or replaced, the traversal resumes right after the element that
+///   preceded it, so the newly inserted content is visited next.
+///
+/// The traversal restarts from the top of the part, as in 3.0, only when pending hooks may precede the cursor: when
+/// the element preceding a removed or moved element of the path has moved too, content having been inserted or removed
+/// before the cursor, or when a hook processed while a hook before the cursor was left pending. Once no hook is left
+/// ahead of the cursor, the part is walked once more from the top, as 3.0 did after its last processed hook, for the
+/// edits the cursor cannot observe.
+///
+/// A hook is done once it processed, tracked by identity, or once it marked itself with the `status=executed` smart
+/// tag attribute, which copies of executed hooks inherit. A hook left without the attribute after not processing stays
+/// pending, and runs again after the next processed hook.
+///
+/// When the [StampingMetrics] are enabled, the scheduler reports the duration of each hook execution, and the time
+/// spent walking the part for hooks, as a single [StampingMetrics.Phase#HOOK_DISCOVERY] phase per part.
+final class HookScheduler {
+    private final DocxPart part;
+    private final StampingMetrics metrics;
+    private final Set<Object> executed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Frame> frames = new ArrayList<>();
+    private boolean processedSinceRewind;
+    private boolean pendingBehind;
+
+    HookScheduler(DocxPart part, StampingMetrics metrics) {
+        this.part = part;
+        this.metrics = metrics;
+    }
+
+    /// Executes every hook of the part.
+    ///
+    /// @param engineFactory the factory of engines evaluating hook expressions.
+    /// @param contextRoot the root of the context tree.
+    /// @param evaluationContextFactory the factory of evaluation contexts.
+    void run(
+            EngineFactory engineFactory,
+            ContextRoot contextRoot,
+            OfficeStamperEvaluationContextFactory evaluationContextFactory
+    ) {
+        var timed = metrics.enabled();
+        long discovery = 0;
+        rewind();
+        var start = timed ? System.nanoTime() : 0;
+        while (true) {
+            var tag = nextPending();
+            if (tag == null) {
+                if (!processedSinceRewind) break;
+                rewind();
+                continue;
+            }
+            if (timed) discovery += System.nanoTime() - start;
+            var hook = DocxHook.asHook(part, tag);
+            var processed = timed
+                    ? runMeasured(hook, engineFactory, contextRoot, evaluationContextFactory)
+                    : hook.run(engineFactory, contextRoot, evaluationContextFactory);
+            start = timed ? System.nanoTime() : 0;
+            if (processed) {
+                executed.add(tag);
+                processedSinceRewind = true;
+            }
+            else if (!WmlUtils.hasTagAttribute(tag, "status", "executed")) pendingBehind = true;
+            var moved = resynchronize();
+            if (moved || processed && pendingBehind) rewind();
+        }
+        if (timed) discovery += System.nanoTime() - start;
+        if (timed) metrics.phase(StampingMetrics.Phase.HOOK_DISCOVERY,
+                part.part()
+                    .getPartName()
+                    .getName(),
+                discovery);
+    }
+
+    /// Runs a hook, reporting its duration and outcome to the metrics.
+    private boolean runMeasured(
+            DocxHook hook,
+            EngineFactory engineFactory,
+            ContextRoot contextRoot,
+            OfficeStamperEvaluationContextFactory evaluationContextFactory
+    ) {
+        // Read before running, as running rewrites the tag.
+        var type = hook.type();
+        var expression = hook.expression();
+        var outcome = Outcome.FAILED;
+        var start = System.nanoTime();
+        try {
+            var processed = hook.run(engineFactory, contextRoot, evaluationContextFactory);
+            outcome = processed ? Outcome.PROCESSED : Outcome.UNPROCESSED;
+            return processed;
+        } finally {
+            metrics.hook(type, expression, System.nanoTime() - start, outcome);
+        }
+    }
+
+    /// Moves the cursor back to the top of the part.
+    private void rewind() {
+        frames.clear();
+        frames.add(new Frame(part.content()));
+        processedSinceRewind = false;
+        pendingBehind = false;
+    }
+
+    private @Nullable CTSmartTagRun nextPending() {
+        while (!frames.isEmpty()) {
+            var frame = frames.getLast();
+            if (frame.index >= frame.content.size()) {
+                frames.removeLast();
+                continue;
+            }
+            var index = frame.index++;
+            var element = unwrap(frame.content.get(index));
+            frame.previous = index == 0 ? null : unwrap(frame.content.get(index - 1));
+            frame.visited = element;
+            var children = DocxIterator.children(element);
+            if (children != null) frames.add(new Frame(children));
+            if (DocxHook.isPotentialHook(element) && isPending((CTSmartTagRun) element))
+                return (CTSmartTagRun) element;
+        }
+        return null;
+    }
+
+    private boolean isPending(CTSmartTagRun tag) {
+        if (executed.contains(tag)) return false;
+        if (WmlUtils.hasTagAttribute(tag, "status", "executed")) {
+            executed.add(tag);
+            return false;
+        }
+        return true;
+    }
+
+    /// Realigns each frame of the cursor with the live content, from the part down to the last visited element.
+    ///
+    /// @return `true` when content was inserted or removed before the cursor, which must then be rewound.
+    private boolean resynchronize() {
+        for (int depth = 0; depth < frames.size(); depth++) {
+            var frame = frames.get(depth);
+            var content = frame.content;
+            var visited = frame.visited;
+            if (visited == null) {
+                frame.index = Math.min(frame.index, content.size());
+                truncate(depth + 1);
+                return false;
+            }
+            var position = frame.index - 1;
+            if (!holds(content, position, visited)) {
+                // The visited element is gone or has moved, resume right after its predecessor to visit what took its
+                // place, unless its predecessor has moved too.
+                var previous = frame.previous;
+                if (previous != null && !holds(content, position - 1, previous)) return true;
+                frame.index = Math.min(position, content.size());
+                frame.visited = null;
+                truncate(depth + 1);
+                return false;
+            }
+            if (depth + 1 < frames.size() && frames.get(depth + 1).content != DocxIterator.children(visited)) {
+                // The visited element holds a new content list, visit it again to descend into it.
+                frame.index = position;
+                frame.visited = null;
+                truncate(depth + 1);
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void truncate(int size) {
+        while (frames.size() > size) frames.removeLast();
+    }
+
+    private static boolean holds(List<Object> content, int position, Object element) {
+        return position >= 0 && position < content.size() && unwrap(content.get(position)) == element;
+    }
+
+    private static final class Frame {
+        private final List<Object> content;
+        private int index;
+        private @Nullable Object visited;
+        private @Nullable Object previous;
+
+        private Frame(List<Object> content) {
+            this.content = content;
+        }
+    }
+}
@@ -19,12 +19,12 @@ import static java.util.Arrays.asList;
 public record Invoker(String name, Invokers.Args args, MethodExecutor executor) {
 
     /// Constructs an `Invoker` instance by extracting the method name, parameter types,
-    /// and creating a corresponding [ReflectionExecutor] for the provided object and method.
+    /// and creating a corresponding [MethodCallExecutor] for the provided object and method.
     ///
     /// @param obj    the object on which the method will be invoked.
     /// @param method the method to be invoked, including its name and parameter types.
     public Invoker(Object obj, Method method) {
-        this(method.getName(), asList(method.getParameterTypes()), new ReflectionExecutor(obj, method));
+        this(method.getName(), asList(method.getParameterTypes()), new MethodCallExecutor(obj, MethodCall.of(method)));
     }
 
     /// Constructs an `Invoker` instance using the provided method name, argument types, and executor.
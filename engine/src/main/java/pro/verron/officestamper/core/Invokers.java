@@ -8,8 +8,8 @@ import org.springframework.expression.MethodResolver;
 import org.springframework.expression.TypedValue;
 import pro.verron.officestamper.api.CustomFunction;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -17,9 +17,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.stream;
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.*;
 
 /// The Invokers class serves as an implementation of the MethodResolver interface.
 ///
@@ -27,10 +25,11 @@ import static java.util.stream.Collectors.toMap;
 /// types.
 ///
 /// The class organizes and stores registered invokers in a structured map, enabling streamlined method resolution at
-/// runtime.
+/// runtime. The executor resolved for a method name and the classes of its arguments is remembered, so that a call
+/// site evaluated again is resolved without matching the overloads of the name.
 public class Invokers
         implements MethodResolver {
-    private final Map<String, Map<Args, MethodExecutor>> map;
+    private final Map<String, Overloads> map;
 
     /// Constructs an `Invokers` instance, grouping and mapping invokers by their names and argument types to their
     /// corresponding executors.
@@ -38,7 +37,8 @@ public class Invokers
     /// @param invokerStream a stream of `Invoker` objects, where each invoker encapsulates the method name, its
     ///         parameter types, and the associated method executor.
     public Invokers(Stream<Invoker> invokerStream) {
-        map = invokerStream.collect(groupingBy(Invoker::name, toMap(Invoker::args, Invoker::executor)));
+        map = invokerStream.collect(groupingBy(Invoker::name,
+                collectingAndThen(toMap(Invoker::args, Invoker::executor), Overloads::new)));
     }
 
     /// Transforms a map containing interface-to-implementation mappings into a stream of `Invoker` objects. Each entry
@@ -62,6 +62,23 @@ public class Invokers
         return stream(key.getDeclaredMethods()).map(method -> new Invoker(obj, method));
     }
 
+    /// Transforms a collection of comment processor interfaces into a stream of `Invoker` objects, whose executors
+    /// resolve the comment processor instance from the evaluation context at execution time.
+    ///
+    /// @param processorClasses the interfaces under which comment processors have been registered.
+    ///
+    /// @return a stream of `Invoker` objects, one per method declared by the interfaces.
+    public static Stream<Invoker> streamInvokersFromProcessors(Collection<Class<?>> processorClasses) {
+        return processorClasses.stream()
+                               .flatMap(Invokers::streamProcessorInvokers);
+    }
+
+    private static Stream<Invoker> streamProcessorInvokers(Class<?> processorClass) {
+        return stream(processorClass.getDeclaredMethods()).map(method -> new Invoker(method.getName(),
+                Arrays.asList(method.getParameterTypes()),
+                new ProcessorExecutor(processorClass, method)));
+    }
+
     static Stream<Invoker> streamInvokersFromCustomFunction(List<CustomFunction> functions) {
         return functions.stream()
                         .map(Invokers::ofCustomFunction);
@@ -99,21 +116,11 @@ public class Invokers
             String name,
             List<TypeDescriptor> argumentTypes
     ) {
-        var argumentClasses = argumentTypes.stream()
-                                           .map(this::typeDescriptor2Class)
-                                           .toList();
-        return map.getOrDefault(name, emptyMap())
-                  .entrySet()
-                  .stream()
-                  .filter(entry -> entry.getKey()
-                                        .validate(argumentClasses))
-                  .map(Entry::getValue)
-                  .findFirst()
-                  .orElse(null);
+        var overloads = map.get(name);
+        return overloads == null ? null : overloads.resolve(argumentTypes);
     }
 
-    @SuppressWarnings("rawtypes")
-    private Class typeDescriptor2Class(@Nullable TypeDescriptor typeDescriptor) {
+    private static Class<?> typeDescriptor2Class(@Nullable TypeDescriptor typeDescriptor) {
         // When null, consider it as compatible with any type argument, so return Any.class placeholder
         return typeDescriptor == null ? Any.class : typeDescriptor.getType();
     }
@@ -124,6 +131,70 @@ public class Invokers
 
     }
 
+    /// The executors registered under a method name, and the executors resolved for the classes of the arguments of its
+    /// call sites, at most [#MAX_CALL_SITES] of them.
+    ///
+    /// The overloads never change, so a resolution, even unsuccessful, holds for good. Resolutions are published as an
+    /// immutable array, read without locking by concurrent stamps.
+    private static final class Overloads {
+        private static final int MAX_CALL_SITES = 32;
+
+        private final Args[] args;
+        private final MethodExecutor[] executors;
+        private volatile CallSite[] callSites = new CallSite[0];
+
+        private Overloads(Map<Args, MethodExecutor> overloads) {
+            args = new Args[overloads.size()];
+            executors = new MethodExecutor[overloads.size()];
+            var index = 0;
+            for (Entry<Args, MethodExecutor> overload : overloads.entrySet()) {
+                args[index] = overload.getKey();
+                executors[index] = overload.getValue();
+                index++;
+            }
+        }
+
+        private @Nullable MethodExecutor resolve(List<TypeDescriptor> argumentTypes) {
+            for (var callSite : callSites)
+                if (callSite.fits(argumentTypes)) return callSite.executor;
+            var argumentClasses = new Class<?>[argumentTypes.size()];
+            for (int i = 0; i < argumentClasses.length; i++)
+                argumentClasses[i] = typeDescriptor2Class(argumentTypes.get(i));
+            var executor = match(argumentClasses);
+            remember(new CallSite(argumentClasses, executor));
+            return executor;
+        }
+
+        private @Nullable MethodExecutor match(Class<?>[] argumentClasses) {
+            for (int i = 0; i < args.length; i++)
+                if (args[i].validate(argumentClasses)) return executors[i];
+            return null;
+        }
+
+        private synchronized void remember(CallSite callSite) {
+            var current = callSites;
+            if (current.length >= MAX_CALL_SITES) return;
+            for (var known : current)
+                if (Arrays.equals(known.argumentClasses, callSite.argumentClasses)) return;
+            var extended = Arrays.copyOf(current, current.length + 1);
+            extended[current.length] = callSite;
+            callSites = extended;
+        }
+    }
+
+    /// The executor resolved for the classes of the arguments of a call site.
+    ///
+    /// @param argumentClasses the classes of the arguments, [Any] standing for an unknown type.
+    /// @param executor the executor resolved, or `null` when no overload accepts the arguments.
+    private record CallSite(Class<?>[] argumentClasses, @Nullable MethodExecutor executor) {
+        private boolean fits(List<TypeDescriptor> argumentTypes) {
+            if (argumentTypes.size() != argumentClasses.length) return false;
+            for (int i = 0; i < argumentClasses.length; i++)
+                if (typeDescriptor2Class(argumentTypes.get(i)) != argumentClasses[i]) return false;
+            return true;
+        }
+    }
+
     /// Represents argument types associated with method invocation.
     ///
     /// This record encapsulates a list of parameter types and provides a method to validate whether a list of target
@@ -146,16 +217,26 @@ public class Invokers
         @SuppressWarnings("rawtypes")
         public boolean validate(List<Class> searchedTypes) {
             if (searchedTypes.size() != sourceTypes.size()) return false;
+            for (int i = 0; i < searchedTypes.size(); i++)
+                if (!accepts(sourceTypes.get(i), searchedTypes.get(i))) return false;
+            return true;
+        }
 
-            var sourceTypesQ = new ArrayDeque<>(sourceTypes);
-            var searchedTypesQ = new ArrayDeque<>(searchedTypes);
-            var valid = true;
-            while (!sourceTypesQ.isEmpty() && valid) {
-                Class<?> parameterType = sourceTypesQ.remove();
-                Class<?> searchedType = searchedTypesQ.remove();
-                valid = searchedType == Any.class || parameterType.isAssignableFrom(searchedType);
-            }
-            return valid;
+        /// Validates if the provided classes match the source types, with the same compatibility rules as
+        /// [#validate(List)], without allocating.
+        ///
+        /// @param searchedTypes the classes to validate against the source types.
+        ///
+        /// @return true if all the searched classes are compatible with the source types; false otherwise.
+        public boolean validate(Class<?>[] searchedTypes) {
+            if (searchedTypes.length != sourceTypes.size()) return false;
+            for (int i = 0; i < searchedTypes.length; i++)
+                if (!accepts(sourceTypes.get(i), searchedTypes[i])) return false;
+            return true;
+        }
+
+        private static boolean accepts(Class<?> parameterType, Class<?> searchedType) {
+            return searchedType == Any.class || parameterType.isAssignableFrom(searchedType);
         }
     }
 
@@ -0,0 +1,189 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.TypedValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/// A call to a method on a receiver, prepared once when the stamper is configured, for the executors of exposed
+/// interfaces and comment processors.
+///
+/// The method is invoked through a [MethodHandle] adapted to take and return [Object]s, with one implementation per
+/// arity up to three arguments, so that the JIT can inline the call to the method instead of going through the
+/// reflective [Method#invoke] with its argument array. Static methods take the receiver too, and ignore it, like
+/// [Method#invoke] does. Methods the engine cannot access through a handle are invoked reflectively, as before.
+///
+/// Whatever the implementation, a call fails like [Method#invoke] does: an exception thrown by the method is wrapped in
+/// an [InvocationTargetException], itself the cause of the [AccessException] thrown, so that SpEL rethrows the original
+/// runtime exceptions, and a `null` argument for a primitive parameter is rejected with an
+/// [IllegalArgumentException].
+public sealed interface MethodCall
+        permits MethodCall.Arity0, MethodCall.Arity1, MethodCall.Arity2, MethodCall.Arity3, MethodCall.ArityN,
+        MethodCall.Reflective {
+
+    /// Prepares the call to a method.
+    ///
+    /// @param method the method to call.
+    ///
+    /// @return the call, through a method handle when the engine can access the method, reflective otherwise.
+    static MethodCall of(Method method) {
+        MethodHandle handle;
+        try {
+            MethodCall.class.getModule()
+                            .addReads(method.getDeclaringClass()
+                                            .getModule());
+            handle = MethodHandles.lookup()
+                                  .unreflect(method)
+                                  .asFixedArity();
+        } catch (IllegalAccessException _) {
+            return new Reflective(method);
+        }
+        if (Modifier.isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        var arity = method.getParameterCount();
+        var generic = handle.asType(MethodType.genericMethodType(arity + 1));
+        return switch (arity) {
+            case 0 -> new Arity0(method, generic);
+            case 1 -> new Arity1(method, generic);
+            case 2 -> new Arity2(method, generic);
+            case 3 -> new Arity3(method, generic);
+            default -> new ArityN(method, generic.asSpreader(1, Object[].class, arity));
+        };
+    }
+
+    /// The method called.
+    ///
+    /// @return the method.
+    Method method();
+
+    /// Calls the method.
+    ///
+    /// @param receiver the object on which to call the method.
+    /// @param arguments the arguments of the method, as many as its parameters.
+    ///
+    /// @return a TypedValue wrapping the result of the method.
+    ///
+    /// @throws AccessException if the method fails.
+    default TypedValue call(Object receiver, @Nullable Object... arguments)
+            throws AccessException {
+        checkPrimitives(arguments);
+        try {
+            return new TypedValue(invoke(receiver, arguments));
+        } catch (InvocationTargetException | IllegalAccessException e) {
+            throw failure(receiver, arguments, e);
+        } catch (Throwable t) {
+            throw failure(receiver, arguments, new InvocationTargetException(t));
+        }
+    }
+
+    /// Invokes the method, without wrapping the exceptions it throws.
+    ///
+    /// @param receiver the object on which to invoke the method.
+    /// @param arguments the arguments of the method.
+    ///
+    /// @return the result of the method.
+    ///
+    /// @throws Throwable the exception thrown by the method.
+    @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+            throws Throwable;
+
+    private void checkPrimitives(@Nullable Object[] arguments) {
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] != null) continue;
+            var parameterTypes = method().getParameterTypes();
+            if (i < parameterTypes.length && parameterTypes[i].isPrimitive())
+                throw new IllegalArgumentException("Null argument %d for primitive parameter of %s".formatted(i,
+                        method()));
+        }
+    }
+
+    private AccessException failure(Object receiver, @Nullable Object[] arguments, Exception e) {
+        var message = "Failed to invoke method %s with arguments [%s] from object %s".formatted(method(),
+                Arrays.toString(arguments),
+                receiver);
+        return new AccessException(message, e);
+    }
+
+    /// A call to a method without parameters.
+    ///
+    /// @param method the method.
+    /// @param handle the handle of the method, typed `(Object)Object`.
+    record Arity0(Method method, MethodHandle handle)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return (Object) handle.invokeExact(receiver);
+        }
+    }
+
+    /// A call to a method with one parameter.
+    ///
+    /// @param method the method.
+    /// @param handle the handle of the method, typed `(Object,Object)Object`.
+    record Arity1(Method method, MethodHandle handle)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return (Object) handle.invokeExact(receiver, arguments[0]);
+        }
+    }
+
+    /// A call to a method with two parameters.
+    ///
+    /// @param method the method.
+    /// @param handle the handle of the method, typed `(Object,Object,Object)Object`.
+    record Arity2(Method method, MethodHandle handle)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return (Object) handle.invokeExact(receiver, arguments[0], arguments[1]);
+        }
+    }
+
+    /// A call to a method with three parameters.
+    ///
+    /// @param method the method.
+    /// @param handle the handle of the method, typed `(Object,Object,Object,Object)Object`.
+    record Arity3(Method method, MethodHandle handle)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return (Object) handle.invokeExact(receiver, arguments[0], arguments[1], arguments[2]);
+        }
+    }
+
+    /// A call to a method with more than three parameters.
+    ///
+    /// @param method the method.
+    /// @param handle the handle of the method, spreading its arguments, typed `(Object,Object[])Object`.
+    record ArityN(Method method, MethodHandle handle)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return (Object) handle.invokeExact(receiver, arguments);
+        }
+    }
+
+    /// A reflective call to a method the engine cannot access through a method handle.
+    ///
+    /// @param method the method.
+    record Reflective(Method method)
+            implements MethodCall {
+        @Override
+        public @Nullable Object invoke(Object receiver, @Nullable Object[] arguments)
+                throws Throwable {
+            return method.invoke(receiver, arguments);
+        }
+    }
+}
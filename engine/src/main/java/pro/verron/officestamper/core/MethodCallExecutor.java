@@ -0,0 +1,31 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.TypedValue;
+
+/// A [MethodExecutor] calling a method of an exposed interface on its implementation, through a [MethodCall] prepared
+/// when the stamper is configured.
+///
+/// @param object the implementation on which to call the method.
+/// @param call the call to the method.
+public record MethodCallExecutor(Object object, MethodCall call)
+        implements MethodExecutor {
+
+    /// Calls the method on the implementation with the specified arguments.
+    ///
+    /// @param context the evaluation context in which this execution occurs.
+    /// @param target the target object on which the method has been resolved.
+    /// @param arguments the arguments to be passed to the method during invocation.
+    ///
+    /// @return a TypedValue wrapping the result of the called method.
+    ///
+    /// @throws AccessException if the method fails.
+    @Override
+    public TypedValue execute(EvaluationContext context, Object target, @Nullable Object... arguments)
+            throws AccessException {
+        return call.call(object, arguments);
+    }
+}
@@ -34,8 +34,17 @@ public final class ObjectResolverRegistry {
     /// @return the resolved value for the expression.
     /// @throws OfficeStamperException if no resolver is found for the object.
     public Insert resolve(DocxPart part, String expression, @Nullable Object object) {
+        return resolver(object).resolve(part, expression, object);
+    }
+
+    /// Finds the first registered resolver able to resolve the provided object.
+    ///
+    /// @param object the object to be resolved.
+    /// @return the resolver of the object.
+    /// @throws OfficeStamperException if no resolver is found for the object.
+    public ObjectResolver resolver(@Nullable Object object) {
         for (ObjectResolver resolver : resolvers)
-            if (resolver.canResolve(object)) return resolver.resolve(part, expression, object);
+            if (resolver.canResolve(object)) return resolver;
         throw new OfficeStamperException("No resolver for %s".formatted(object));
     }
 }
@@ -3,24 +3,28 @@ package pro.verron.officestamper.core;
 import org.springframework.expression.EvaluationContext;
 import pro.verron.officestamper.api.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.function.Function.identity;
-import static pro.verron.officestamper.core.Invokers.streamInvokersFromClass;
-import static pro.verron.officestamper.core.Invokers.streamInvokersFromCustomFunction;
+import static pro.verron.officestamper.core.Invokers.*;
 
 /// Factory for creating [EvaluationContext] instances for OfficeStamper.
+///
+/// The [Invokers] table, exposing comment processors, interface functions and custom functions to the expression
+/// language, is built once when the factory is constructed. Creating a context for a hook then only binds the comment
+/// processor factories to its [ProcessorContext]; each processor is created the first time one of its methods is
+/// invoked, see [CommentProcessors]. The contexts it creates share a [UnionPropertyAccessor] and its
+/// [PropertyResolutionCache], remembering where the properties of each shape of context branch are read.
 public final class OfficeStamperEvaluationContextFactory {
 
-    private final List<CustomFunction> customFunctions;
     private final Map<Class<?>, CommentProcessorFactory> commentProcessors;
-    private final Map<Class<?>, Object> interfaceFunctions;
     private final EvaluationContextFactory contextFactory;
+    private final Invokers invokers;
+    private final UnionPropertyAccessor propertyAccessor = new UnionPropertyAccessor(new PropertyResolutionCache());
 
-    /// Constructs a factory.
+    /// Constructs a factory, reflecting once over the exposed interfaces, comment processors and custom functions.
     ///
     /// @param customFunctions custom functions to be registered.
     /// @param commentProcessors comment processor factories.
@@ -32,10 +36,26 @@ public final class OfficeStamperEvaluationContextFactory {
             Map<Class<?>, Object> interfaceFunctions,
             EvaluationContextFactory contextFactory
     ) {
-        this.customFunctions = customFunctions;
-        this.commentProcessors = commentProcessors;
-        this.interfaceFunctions = interfaceFunctions;
+        this.commentProcessors = Map.copyOf(commentProcessors);
         this.contextFactory = contextFactory;
+        var invokerStream = Stream.of(streamInvokersFromProcessors(this.commentProcessors.keySet()),
+                                          streamInvokersFromClass(Map.copyOf(interfaceFunctions)),
+                                          streamInvokersFromCustomFunction(List.copyOf(customFunctions)))
+                                  .flatMap(identity());
+        this.invokers = new Invokers(invokerStream);
+    }
+
+    /// Creates a factory for the exposed interfaces, comment processors, custom functions and base evaluation context
+    /// factory of a configuration.
+    ///
+    /// @param configuration the configuration.
+    ///
+    /// @return the factory.
+    public static OfficeStamperEvaluationContextFactory of(OfficeStamperConfiguration configuration) {
+        return new OfficeStamperEvaluationContextFactory(configuration.customFunctions(),
+                configuration.getCommentProcessors(),
+                configuration.getExpressionFunctions(),
+                configuration.getEvaluationContextFactory());
     }
 
     /// Creates an evaluation context.
@@ -45,32 +65,7 @@ public final class OfficeStamperEvaluationContextFactory {
     /// @return the evaluation context.
     public UnionEvaluationContext create(ProcessorContext processorContext, ContextBranch branch) {
         var ec = contextFactory.create(branch);
-        var processors = instantiate(commentProcessors, processorContext);
-        var invokerStream = Stream.of(streamInvokersFromClass(processors),
-                                          streamInvokersFromClass(interfaceFunctions),
-                                          streamInvokersFromCustomFunction(customFunctions))
-                                  .flatMap(identity());
-        var invokers = new Invokers(invokerStream);
-        return new UnionEvaluationContext(ec, branch, invokers);
-    }
-
-    /// Returns a set view of the mappings contained in this map. Each entry in the set is a mapping between a
-    /// [Class<?>] key and its associated `CommentProcessor` value.
-    ///
-    /// @return a map representing the associations between [Class<?>] keys and their corresponding [CommentProcessor]
-    ///         values in this map.
-
-    private static Map<Class<?>, CommentProcessor> instantiate(
-            Map<Class<?>, CommentProcessorFactory> commentProcessorFactories,
-            ProcessorContext processorContext
-    ) {
-        var map = new HashMap<Class<?>, CommentProcessor>();
-        for (var entry : commentProcessorFactories.entrySet()) {
-            var processorClass = entry.getKey();
-            var processorFactory = entry.getValue();
-            var processor = processorFactory.create(processorContext);
-            map.put(processorClass, processor);
-        }
-        return map;
+        var processors = new CommentProcessors(commentProcessors, processorContext);
+        return new UnionEvaluationContext(ec, branch, invokers, processors, propertyAccessor);
     }
 }
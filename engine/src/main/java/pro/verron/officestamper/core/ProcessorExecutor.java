@@ -0,0 +1,50 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.TypedValue;
+
+import java.lang.reflect.Method;
+
+/// A [MethodExecutor] invoking a comment processor method on the processor bound to the evaluation context.
+///
+/// Comment processors depend on the [pro.verron.officestamper.api.ProcessorContext] of the hook being run, so unlike
+/// the executors of exposed interfaces and custom functions, this executor does not hold its receiver. It is
+/// resolved at execution time from the [UnionEvaluationContext] of the hook, which lets the invoker table, and the
+/// [MethodCall] to each method, be built once per stamper.
+///
+/// @param processorClass the interface under which the comment processor has been registered.
+/// @param call the call to the method, declared by the interface.
+public record ProcessorExecutor(Class<?> processorClass, MethodCall call)
+        implements MethodExecutor {
+
+    /// Creates an executor preparing the call to a method of a comment processor interface.
+    ///
+    /// @param processorClass the interface under which the comment processor has been registered.
+    /// @param method the method to invoke, declared by the interface.
+    public ProcessorExecutor(Class<?> processorClass, Method method) {
+        this(processorClass, MethodCall.of(method));
+    }
+
+    /// Executes the method on the comment processor bound to the given context.
+    ///
+    /// @param context the evaluation context of the hook, expected to be a [UnionEvaluationContext].
+    /// @param target the target object on which the method has been resolved.
+    /// @param arguments the arguments to be passed to the method during invocation.
+    ///
+    /// @return a TypedValue wrapping the result of the invoked method.
+    ///
+    /// @throws AccessException if no processor is bound to the context, or if the invocation fails.
+    @Override
+    public TypedValue execute(EvaluationContext context, Object target, @Nullable Object... arguments)
+            throws AccessException {
+        if (!(context instanceof UnionEvaluationContext unionContext))
+            throw new AccessException("Cannot invoke %s outside of a stamping context".formatted(call.method()));
+        var processor = unionContext.processor(processorClass);
+        if (processor == null)
+            throw new AccessException("No comment processor bound for %s".formatted(processorClass.getName()));
+        return call.call(processor, arguments);
+    }
+}
@@ -0,0 +1,167 @@
+package pro.verron.officestamper.core;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.spel.support.DataBindingPropertyAccessor;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// Remembers, for a property name and the classes of the objects of a [ContextBranch], which level of the branch and
+/// which property accessor read the property, so that [UnionPropertyAccessor] probes that single accessor instead of
+/// all the accessors at all the levels.
+///
+/// Only the reflective and data binding accessors of Spring are known to decide whether they can read a property from
+/// the class of the target alone; other accessors, like the map ones, may decide from the target itself. A resolution
+/// found in the cache is therefore trusted only if the evaluation context has the same accessors as when it was found,
+/// and if the other accessors still cannot read the property before the remembered one, at the levels before its own
+/// and at its own level, while the remembered one still can. The accessors deciding by class are not probed again;
+/// the others are, and as soon as one answers differently, the branch is scanned again.
+///
+/// A cache is shared by all the stamps of a stamper, across threads.
+final class PropertyResolutionCache {
+    /// Bounds the number of branch shapes remembered for a property name.
+    private static final int MAX_SHAPES = 32;
+
+    private final Map<String, Resolution[]> resolutions = new ConcurrentHashMap<>();
+
+    /// Finds the level and the accessor reading a property from a branch, probing only the remembered ones when the
+    /// branch has a known shape, and remembering them otherwise.
+    ///
+    /// @param context the evaluation context.
+    /// @param branch the branch holding the property.
+    /// @param name the name of the property.
+    /// @param accessors the property accessors of the evaluation context.
+    ///
+    /// @return the resolution, or `null` when no accessor can read the property at any level.
+    ///
+    /// @throws AccessException if an accessor fails to tell whether it can read the property.
+    @Nullable Resolution resolve(
+            EvaluationContext context,
+            ContextBranch branch,
+            String name,
+            List<PropertyAccessor> accessors
+    )
+            throws AccessException {
+        var cached = find(branch, name);
+        if (cached != null && cached.holds(context, branch, name, accessors)) return cached;
+        var size = branch.size();
+        for (int level = 0; level < size; level++) {
+            var element = branch.level(level);
+            for (int index = 0; index < accessors.size(); index++) {
+                var accessor = accessors.get(index);
+                if (accessor.canRead(context, element, name)) {
+                    var resolution = new Resolution(classes(branch), level, index, accessorClasses(accessors));
+                    remember(name, resolution);
+                    return resolution;
+                }
+            }
+        }
+        return null;
+    }
+
+    private @Nullable Resolution find(ContextBranch branch, String name) {
+        var candidates = resolutions.get(name);
+        if (candidates == null) return null;
+        for (var candidate : candidates)
+            if (candidate.fits(branch)) return candidate;
+        return null;
+    }
+
+    private void remember(String name, Resolution resolution) {
+        resolutions.compute(name, (_, candidates) -> {
+            if (candidates == null) return new Resolution[]{resolution};
+            for (int i = 0; i < candidates.length; i++) {
+                if (Arrays.equals(candidates[i].classes, resolution.classes)) {
+                    var updated = candidates.clone();
+                    updated[i] = resolution;
+                    return updated;
+                }
+            }
+            if (candidates.length >= MAX_SHAPES) return candidates;
+            var extended = Arrays.copyOf(candidates, candidates.length + 1);
+            extended[candidates.length] = resolution;
+            return extended;
+        });
+    }
+
+    private static Class<?>[] accessorClasses(List<PropertyAccessor> accessors) {
+        var classes = new Class<?>[accessors.size()];
+        for (int index = 0; index < classes.length; index++)
+            classes[index] = accessors.get(index)
+                                      .getClass();
+        return classes;
+    }
+
+    private static Class<?>[] classes(ContextBranch branch) {
+        var classes = new Class<?>[branch.size()];
+        for (int level = 0; level < classes.length; level++)
+            classes[level] = branch.level(level)
+                                   .getClass();
+        return classes;
+    }
+
+    /// The level of a branch, from its leaf, and the index of the accessor reading a property, for the branches whose
+    /// objects have the given classes.
+    ///
+    /// @param classes the classes of the objects of the branch, from its leaf.
+    /// @param level the level of the object holding the property, 0 being the leaf.
+    /// @param accessor the index of the accessor reading the property.
+    /// @param accessorClasses the classes of the accessors of the evaluation context.
+    record Resolution(Class<?>[] classes, int level, int accessor, Class<?>[] accessorClasses) {
+
+        private boolean fits(ContextBranch branch) {
+            if (classes.length != branch.size()) return false;
+            for (int level = 0; level < classes.length; level++)
+                if (branch.level(level)
+                          .getClass() != classes[level]) return false;
+            return true;
+        }
+
+        private boolean holds(
+                EvaluationContext context,
+                ContextBranch branch,
+                String name,
+                List<PropertyAccessor> accessors
+        )
+                throws AccessException {
+            if (accessors.size() != accessorClasses.length) return false;
+            for (int index = 0; index < accessorClasses.length; index++)
+                if (accessors.get(index)
+                             .getClass() != accessorClasses[index]) return false;
+            for (int level = 0; level < this.level; level++)
+                if (anyCanRead(context, branch.level(level), name, accessors, accessors.size())) return false;
+            var element = branch.level(level);
+            if (anyCanRead(context, element, name, accessors, accessor)) return false;
+            var candidate = accessors.get(accessor);
+            return decidesByClass(candidate, element) || candidate.canRead(context, element, name);
+        }
+
+        private static boolean anyCanRead(
+                EvaluationContext context,
+                Object element,
+                String name,
+                List<PropertyAccessor> accessors,
+                int until
+        )
+                throws AccessException {
+            for (int index = 0; index < until; index++) {
+                var candidate = accessors.get(index);
+                if (!decidesByClass(candidate, element) && candidate.canRead(context, element, name)) return true;
+            }
+            return false;
+        }
+
+        private static boolean decidesByClass(PropertyAccessor accessor, Object element) {
+            var accessorClass = accessor.getClass();
+            return !(element instanceof Class<?>)
+                   && (accessorClass == ReflectivePropertyAccessor.class
+                       || accessorClass == DataBindingPropertyAccessor.class);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package pro.verron.officestamper.core;
+
+import jdk.jfr.*;
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.api.OfficeStamperException;
+
+/// The Java Flight Recorder events of the stamping lifecycle, to diagnose a stamping from a recording.
+///
+/// The events are disabled by default, even in a running recording: they must be enabled in its settings, like with
+/// `-XX:StartFlightRecording:+pro.verron.officestamper.Hook#enabled=true`, or with `Recording#enable(String)`. When no
+/// recording enables them, emitting them is reduced to checking a flag, their fields being filled only when they are
+/// committed.
+///
+/// The events of a stamping nest in time on its thread: a [Stamp] encloses the [Hook]s of the document, each
+/// enclosing the [Expression] it evaluates.
+final class StampingEvents {
+    private static final String CATEGORY = "Office Stamper";
+    private static final int MAX_EXPRESSION_LENGTH = 256;
+
+    private StampingEvents() {
+        throw new OfficeStamperException("Utility class shouldn't be instantiated");
+    }
+
+    /// Truncates an expression to the length recorded in events.
+    ///
+    /// @param expression the expression.
+    ///
+    /// @return the expression, truncated.
+    static @Nullable String truncate(@Nullable String expression) {
+        if (expression == null || expression.length() <= MAX_EXPRESSION_LENGTH) return expression;
+        return expression.substring(0, MAX_EXPRESSION_LENGTH - 1) + "…";
+    }
+
+    /// Stamping a document, from its pre-processing or the copy of its compiled template, to its post-processing.
+    @Name("pro.verron.officestamper.Stamp")
+    @Label("Stamp Document")
+    @Category(CATEGORY)
+    @Description("Stamping of a document with a context")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Stamp
+            extends Event {
+        @Label("Template Id")
+        @Description("Identity of the compiled template stamped, 0 when the template was not compiled")
+        long templateId;
+
+        @Label("Context Type")
+        @Nullable String contextType;
+    }
+
+    /// Executing a hook of a document.
+    @Name("pro.verron.officestamper.Hook")
+    @Label("Execute Hook")
+    @Category(CATEGORY)
+    @Description("Execution of a placeholder, inline processor or comment processor hook")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Hook
+            extends Event {
+        @Label("Part Name")
+        @Nullable String partName;
+
+        @Label("Hook Type")
+        @Nullable String hookType;
+
+        @Label("Expression")
+        @Description("Expression of the hook, truncated")
+        @Nullable String expression;
+
+        @Label("Processed")
+        boolean processed;
+    }
+
+    /// Evaluating the expression of a hook, and resolving its value into the elements inserted in the document.
+    @Name("pro.verron.officestamper.Expression")
+    @Label("Evaluate Expression")
+    @Category(CATEGORY)
+    @Description("Evaluation of an expression, and resolution of its value for placeholders")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Expression
+            extends Event {
+        @Label("Expression")
+        @Description("Expression evaluated, truncated")
+        @Nullable String expression;
+
+        @Label("Evaluation Time")
+        @Description("Time spent parsing and evaluating the expression, excluding the resolution of its value")
+        @Timespan(Timespan.NANOSECONDS)
+        long evaluationTime;
+
+        @Label("Resolver")
+        @Description("Resolver of the value, absent for processors")
+        @Nullable String resolver;
+
+        @Label("Insert Size")
+        @Description("Number of elements inserted in place of a placeholder")
+        int insertSize;
+
+        @Label("Failed")
+        boolean failed;
+    }
+}
@@ -1,9 +1,9 @@
 package pro.verron.officestamper.core;
 
-import org.docx4j.XmlUtils;
 import org.docx4j.wml.Tbl;
 import org.docx4j.wml.Tr;
 import pro.verron.officestamper.api.*;
+import pro.verron.officestamper.utils.wml.WmlCloner;
 import pro.verron.officestamper.utils.wml.WmlUtils;
 
 import java.util.List;
@@ -41,7 +41,7 @@ public class StandardRow
 
     @Override
     public Table.Row copy() {
-        return new StandardRow(part, tbl, XmlUtils.deepCopy(tr));
+        return new StandardRow(part, tbl, WmlCloner.copy(tr));
     }
 
     @Override
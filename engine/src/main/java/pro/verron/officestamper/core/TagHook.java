@@ -1,5 +1,6 @@
 package pro.verron.officestamper.core;
 
+import org.jspecify.annotations.Nullable;
 import pro.verron.officestamper.api.DocxPart;
 import pro.verron.officestamper.api.ProcessorContext;
 import pro.verron.officestamper.utils.wml.WmlUtils;
@@ -15,6 +16,17 @@ public class TagHook
         this.part = part;
     }
 
+    @Override
+    public String type() {
+        return tag.type()
+                  .orElse("tag");
+    }
+
+    @Override
+    public String expression() {
+        return tag.expression();
+    }
+
     @Override
     public boolean run(
             EngineFactory engineFactory,
@@ -22,16 +34,42 @@ public class TagHook
             OfficeStamperEvaluationContextFactory evaluationContextFactory
     ) {
         if (WmlUtils.hasTagAttribute(tag.tag(), "status", "executed")) return false;
+        var event = new StampingEvents.Hook();
+        event.begin();
+        var expression = tag.expression();
+        var tagType = tag.type()
+                         .orElse(null);
+        boolean processed = false;
+        try {
+            processed = process(engineFactory, contextRoot, evaluationContextFactory, expression, tagType);
+            return processed;
+        } finally {
+            if (event.shouldCommit()) {
+                event.partName = part.part()
+                                     .getPartName()
+                                     .getName();
+                event.hookType = tagType;
+                event.expression = StampingEvents.truncate(expression);
+                event.processed = processed;
+                event.commit();
+            }
+        }
+    }
+
+    private boolean process(
+            EngineFactory engineFactory,
+            ContextRoot contextRoot,
+            OfficeStamperEvaluationContextFactory evaluationContextFactory,
+            String expression,
+            @Nullable String tagType
+    ) {
         var comment = tag.asComment();
         var paragraph = tag.getParagraph();
-        var expression = tag.expression();
         var contextKey = tag.getContextKey();
         var contextStack = contextRoot.find(contextKey);
         var processorContext = new ProcessorContext(part, paragraph, comment, expression, contextStack);
         var evaluationContext = evaluationContextFactory.create(processorContext, contextStack);
         var engine = engineFactory.create(processorContext);
-        var tagType = tag.type()
-                         .orElse(null);
         boolean processed = false;
         if ("inlineProcessor".equals(tagType)) {
             if (engine.process(evaluationContext)) processed = true;
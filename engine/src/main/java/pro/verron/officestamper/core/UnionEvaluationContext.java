@@ -4,20 +4,46 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.expression.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /// An {@link EvaluationContext} that combines multiple contexts.
+///
+/// SpEL asks for the accessor and resolver lists for each property, index and method node it evaluates. They are built
+/// once per context, on first request: the accessors and resolvers of the wrapped context, preceded by the union ones
+/// reading from the whole [ContextBranch], which are shared by all the contexts of a stamper.
 public class UnionEvaluationContext
         implements EvaluationContext {
     private final EvaluationContext evaluationContext;
     private final ContextBranch root;
     private final Invokers invokers;
-
-    UnionEvaluationContext(EvaluationContext evaluationContext, ContextBranch root, Invokers invokers) {
+    private final CommentProcessors processors;
+    private final UnionPropertyAccessor propertyAccessor;
+    private @Nullable List<PropertyAccessor> propertyAccessors;
+    private @Nullable List<IndexAccessor> indexAccessors;
+    private @Nullable List<MethodResolver> methodResolvers;
+
+    UnionEvaluationContext(
+            EvaluationContext evaluationContext,
+            ContextBranch root,
+            Invokers invokers,
+            CommentProcessors processors,
+            UnionPropertyAccessor propertyAccessor
+    ) {
         this.evaluationContext = evaluationContext;
         this.root = root;
         this.invokers = invokers;
+        this.processors = processors;
+        this.propertyAccessor = propertyAccessor;
+    }
+
+    private static <T> List<T> union(T first, List<? extends T> delegates, List<? extends T> last) {
+        var union = new ArrayList<T>(delegates.size() + last.size() + 1);
+        union.add(first);
+        union.addAll(delegates);
+        union.addAll(last);
+        return Collections.unmodifiableList(union);
     }
 
     @Override
@@ -27,18 +53,22 @@ public class UnionEvaluationContext
 
     @Override
     public List<PropertyAccessor> getPropertyAccessors() {
-        var accessors = evaluationContext.getPropertyAccessors();
-        var unionAccessors = new ArrayList<>(accessors);
-        unionAccessors.addFirst(new UnionPropertyAccessor(accessors));
-        return unionAccessors;
+        var accessors = propertyAccessors;
+        if (accessors == null) {
+            accessors = union(propertyAccessor, evaluationContext.getPropertyAccessors(), List.of());
+            propertyAccessors = accessors;
+        }
+        return accessors;
     }
 
     @Override
     public List<IndexAccessor> getIndexAccessors() {
-        var accessors = evaluationContext.getIndexAccessors();
-        var unionAccessors = new ArrayList<>(accessors);
-        unionAccessors.addFirst(new UnionIndexAccessor(accessors));
-        return unionAccessors;
+        var accessors = indexAccessors;
+        if (accessors == null) {
+            accessors = union(UnionIndexAccessor.INSTANCE, evaluationContext.getIndexAccessors(), List.of());
+            indexAccessors = accessors;
+        }
+        return accessors;
     }
 
     @Override
@@ -48,11 +78,12 @@ public class UnionEvaluationContext
 
     @Override
     public List<MethodResolver> getMethodResolvers() {
-        var resolvers = evaluationContext.getMethodResolvers();
-        var unionResolvers = new ArrayList<>(resolvers);
-        unionResolvers.addFirst(new UnionMethodResolver(resolvers));
-        unionResolvers.add(invokers);
-        return unionResolvers;
+        var resolvers = methodResolvers;
+        if (resolvers == null) {
+            resolvers = union(UnionMethodResolver.INSTANCE, evaluationContext.getMethodResolvers(), List.of(invokers));
+            methodResolvers = resolvers;
+        }
+        return resolvers;
     }
 
     @Override
@@ -101,6 +132,16 @@ public class UnionEvaluationContext
     /// @return the evaluation context
     public EvaluationContext evaluationContext() {return evaluationContext;}
 
+    /// Returns the comment processor bound to this context for the given interface, creating it on first access.
+    ///
+    /// @param processorClass the interface under which the comment processor has been registered.
+    ///
+    /// @return the comment processor, or `null` if none is registered under that interface.
+    @Nullable
+    public Object processor(Class<?> processorClass) {
+        return processors.get(processorClass);
+    }
+
     /// Returns the invokers.
     ///
     /// @return the invokers
@@ -8,9 +8,27 @@ import org.springframework.expression.TypedValue;
 
 import java.util.List;
 
-record UnionIndexAccessor(List<IndexAccessor> accessors)
+/// Reads the indexes of a [ContextBranch] from its objects, from its leaf to its root, with the first index accessor of
+/// the [UnionEvaluationContext] able to read each.
+///
+/// It holds no accessor itself, reading them from the evaluation context it is given, so a single instance serves all
+/// the evaluation contexts.
+final class UnionIndexAccessor
         implements IndexAccessor {
 
+    /// The instance serving all the evaluation contexts.
+    static final UnionIndexAccessor INSTANCE = new UnionIndexAccessor();
+
+    private UnionIndexAccessor() {
+    }
+
+    private static List<IndexAccessor> accessors(EvaluationContext context) {
+        return context instanceof UnionEvaluationContext union
+                ? union.evaluationContext()
+                       .getIndexAccessors()
+                : List.of();
+    }
+
     @Override
     public Class<?>[] getSpecificTargetClasses() {
         return new Class[]{ContextBranch.class};
@@ -20,6 +38,7 @@ record UnionIndexAccessor(List<IndexAccessor> accessors)
     public boolean canRead(EvaluationContext context, Object target, Object index)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) return false;
+        var accessors = accessors(context);
         for (Object element : branch)
             for (IndexAccessor accessor : accessors)
                 if (accessor.canRead(context, element, index)) return true;
@@ -30,6 +49,7 @@ record UnionIndexAccessor(List<IndexAccessor> accessors)
     public TypedValue read(EvaluationContext context, Object target, Object index)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) throw new AccessException("Target is not a ContextBranch");
+        var accessors = accessors(context);
         for (Object element : branch)
             for (IndexAccessor accessor : accessors)
                 if (accessor.canRead(context, element, index)) return accessor.read(context, element, index);
@@ -40,6 +60,7 @@ record UnionIndexAccessor(List<IndexAccessor> accessors)
     public boolean canWrite(EvaluationContext context, Object target, Object index)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) return false;
+        var accessors = accessors(context);
         for (Object element : branch)
             for (IndexAccessor accessor : accessors)
                 if (accessor.canWrite(context, element, index)) return true;
@@ -50,6 +71,7 @@ record UnionIndexAccessor(List<IndexAccessor> accessors)
     public void write(EvaluationContext context, @Nullable Object target, Object index, @Nullable Object newValue)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) throw new AccessException("Target is not a ContextBranch");
+        var accessors = accessors(context);
 
         AccessException lastException = null;
         for (Object element : branch) {
@@ -11,10 +11,21 @@ import org.springframework.expression.MethodResolver;
 
 import java.util.List;
 
-record UnionMethodResolver(List<MethodResolver> resolvers)
+/// Resolves the methods invoked on a [ContextBranch] on its objects, from its leaf to its root, with the first method
+/// resolver of the [UnionEvaluationContext] resolving each.
+///
+/// It holds no resolver itself, reading them from the evaluation context it is given, so a single instance serves all
+/// the evaluation contexts.
+final class UnionMethodResolver
         implements MethodResolver {
+    /// The instance serving all the evaluation contexts.
+    static final UnionMethodResolver INSTANCE = new UnionMethodResolver();
+
     private static final Logger log = LoggerFactory.getLogger(UnionMethodResolver.class);
 
+    private UnionMethodResolver() {
+    }
+
     @Override
     @Nullable
     public MethodExecutor resolve(
@@ -24,6 +35,9 @@ record UnionMethodResolver(List<MethodResolver> resolvers)
             List<TypeDescriptor> argumentTypes
     ) {
         if (!(target instanceof ContextBranch branch)) return null;
+        if (!(context instanceof UnionEvaluationContext union)) return null;
+        var resolvers = union.evaluationContext()
+                             .getMethodResolvers();
 
         for (Object elements : branch) {
             for (MethodResolver resolver : resolvers) {
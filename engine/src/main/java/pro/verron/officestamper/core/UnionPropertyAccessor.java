@@ -8,9 +8,24 @@ import org.springframework.expression.TypedValue;
 
 import java.util.List;
 
-record UnionPropertyAccessor(List<PropertyAccessor> accessors)
+/// Reads the properties of a [ContextBranch] from its objects, from its leaf to its root, with the first property
+/// accessor of the [UnionEvaluationContext] able to read each, the level and the accessor found being remembered in a
+/// [PropertyResolutionCache].
+///
+/// It holds no accessor itself, reading them from the evaluation context it is given, so a single instance serves all
+/// the evaluation contexts of a stamper.
+///
+/// @param cache the cache of the levels and accessors reading each property.
+record UnionPropertyAccessor(PropertyResolutionCache cache)
         implements PropertyAccessor {
 
+    private static List<PropertyAccessor> accessors(EvaluationContext context) {
+        return context instanceof UnionEvaluationContext union
+                ? union.evaluationContext()
+                       .getPropertyAccessors()
+                : List.of();
+    }
+
     @Override
     public Class<?>[] getSpecificTargetClasses() {
         return new Class[]{ContextBranch.class};
@@ -20,10 +35,7 @@ record UnionPropertyAccessor(List<PropertyAccessor> accessors)
     public boolean canRead(EvaluationContext context, @Nullable Object target, String name)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) return false;
-        for (Object element : branch)
-            for (PropertyAccessor accessor : accessors)
-                if (accessor.canRead(context, element, name)) return true;
-        return false;
+        return cache.resolve(context, branch, name, accessors(context)) != null;
     }
 
     @Override
@@ -31,16 +43,19 @@ record UnionPropertyAccessor(List<PropertyAccessor> accessors)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) throw new AccessException("Target is not a ContextBranch");
 
-        for (Object element : branch)
-            for (PropertyAccessor accessor : accessors)
-                if (accessor.canRead(context, element, name)) return accessor.read(context, element, name);
-        throw new AccessException("Unable to read property '" + name + "' from any context object");
+        var accessors = accessors(context);
+        var resolution = cache.resolve(context, branch, name, accessors);
+        if (resolution == null)
+            throw new AccessException("Unable to read property '" + name + "' from any context object");
+        return accessors.get(resolution.accessor())
+                        .read(context, branch.level(resolution.level()), name);
     }
 
     @Override
     public boolean canWrite(EvaluationContext context, @Nullable Object target, String name)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) return false;
+        var accessors = accessors(context);
         for (Object element : branch)
             for (PropertyAccessor accessor : accessors)
                 if (accessor.canWrite(context, element, name)) return true;
@@ -52,6 +67,7 @@ record UnionPropertyAccessor(List<PropertyAccessor> accessors)
             throws AccessException {
         if (!(target instanceof ContextBranch branch)) throw new AccessException("Target is not a ContextBranch");
 
+        var accessors = accessors(context);
         AccessException lastException = null;
         for (Object element : branch) {
             for (PropertyAccessor accessor : accessors) {
@@ -3,6 +3,7 @@ package pro.verron.officestamper.preset;
 
 import org.springframework.expression.AccessException;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypeLocator;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -47,24 +48,43 @@ public class EvaluationContextFactories {
     ///
     /// @return an [EvaluationContextFactory] instance with enhanced security features
     public static EvaluationContextFactory defaultFactory() {
-        return object -> {
-            var standardEvaluationContext = new StandardEvaluationContext(object);
-            TypeLocator typeLocator = typeName -> {
-                throw new SpelEvaluationException(SpelMessage.TYPE_NOT_FOUND, typeName);
-            };
-            standardEvaluationContext.setPropertyAccessors(List.of(DataBindingPropertyAccessor.forReadWriteAccess(),
-                    new MapAccessor()));
-            standardEvaluationContext.setConstructorResolvers(emptyList());
-            standardEvaluationContext.setMethodResolvers(new ArrayList<>(List.of(DataBindingMethodResolver.forInstanceMethodInvocation())));
-            standardEvaluationContext.setBeanResolver((_, _) -> {
-                throw new AccessException("Bean resolution not supported for security reasons.");
-            });
-            standardEvaluationContext.setTypeLocator(typeLocator);
-            standardEvaluationContext.setTypeConverter(new StandardTypeConverter());
-            standardEvaluationContext.setTypeComparator(new StandardTypeComparator());
-            standardEvaluationContext.setOperatorOverloader(new StandardOperatorOverloader());
-            return standardEvaluationContext;
+        return object -> securedContext(object,
+                List.of(DataBindingPropertyAccessor.forReadWriteAccess(), new MapAccessor()));
+    }
+
+    /// Returns an [EvaluationContextFactory] instance with the security of the [#defaultFactory()], reading the
+    /// properties of records and JavaBeans with a [TypedPropertyAccessor], and the entries of maps with a
+    /// [MapAccessor].
+    /// The properties these accessors cannot read, like public fields, and all the writes are left to a data binding
+    /// accessor, as with the default factory. The accessors are created once, and shared by all the contexts the
+    /// factory creates, along with the method handles looked up for each class.
+    /// This factory is recommended when the contexts are mostly records, JavaBeans or maps, like the ones deserialized
+    /// from JSON.
+    ///
+    /// @return an [EvaluationContextFactory] instance with typed property accessors
+    public static EvaluationContextFactory typedFactory() {
+        List<PropertyAccessor> accessors = List.of(new TypedPropertyAccessor(),
+                new MapAccessor(),
+                DataBindingPropertyAccessor.forReadWriteAccess());
+        return object -> securedContext(object, accessors);
+    }
+
+    private static StandardEvaluationContext securedContext(Object object, List<PropertyAccessor> propertyAccessors) {
+        var standardEvaluationContext = new StandardEvaluationContext(object);
+        TypeLocator typeLocator = typeName -> {
+            throw new SpelEvaluationException(SpelMessage.TYPE_NOT_FOUND, typeName);
         };
+        standardEvaluationContext.setPropertyAccessors(propertyAccessors);
+        standardEvaluationContext.setConstructorResolvers(emptyList());
+        standardEvaluationContext.setMethodResolvers(new ArrayList<>(List.of(DataBindingMethodResolver.forInstanceMethodInvocation())));
+        standardEvaluationContext.setBeanResolver((_, _) -> {
+            throw new AccessException("Bean resolution not supported for security reasons.");
+        });
+        standardEvaluationContext.setTypeLocator(typeLocator);
+        standardEvaluationContext.setTypeConverter(new StandardTypeConverter());
+        standardEvaluationContext.setTypeComparator(new StandardTypeComparator());
+        standardEvaluationContext.setOperatorOverloader(new StandardOperatorOverloader());
+        return standardEvaluationContext;
     }
 
 }
@@ -0,0 +1,190 @@
+package pro.verron.officestamper.preset;
+
+import pro.verron.officestamper.api.StampingMetrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/// [StampingMetrics] recording the durations of each phase in an in-memory histogram, to read their percentiles, like
+/// the median and the 99th percentile, without any monitoring dependency.
+///
+/// The histograms have a bounded footprint whatever the number of durations recorded: durations are counted in
+/// buckets whose width grows with the durations they hold, so that a percentile is read with a relative error of at
+/// most 1/16. Recording is lock-free, and reading while stamping gives a consistent enough snapshot for monitoring.
+///
+/// ```java
+/// var metrics = new HistogramMetrics();
+/// var configuration = OfficeStamperConfigurations.standard().setMetrics(metrics);
+/// // ... stamp with stampers of this configuration
+/// var hooks = metrics.histogram(StampingMetrics.Phase.HOOK);
+/// log.info("hooks: p50 {} ns, p99 {} ns", hooks.percentile(50), hooks.percentile(99));
+/// ```
+public final class HistogramMetrics
+        implements StampingMetrics {
+
+    private final Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+    /// Creates metrics with an empty histogram per phase.
+    public HistogramMetrics() {
+        for (var phase : Phase.values())
+            histograms.put(phase, new Histogram());
+        for (var outcome : Outcome.values())
+            outcomes.put(outcome, new LongAdder());
+    }
+
+    @Override
+    public void phase(Phase phase, String name, long nanos) {
+        histograms.get(phase)
+                  .record(nanos);
+    }
+
+    @Override
+    public void hook(String type, String expression, long nanos, Outcome outcome) {
+        histograms.get(Phase.HOOK)
+                  .record(nanos);
+        outcomes.get(outcome)
+                .increment();
+    }
+
+    /// Returns the histogram of the durations of a phase.
+    ///
+    /// @param phase the phase.
+    ///
+    /// @return the histogram of its durations, in nanoseconds.
+    public Histogram histogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /// Returns the number of hook executions with the given outcome.
+    ///
+    /// @param outcome the outcome.
+    ///
+    /// @return the number of hook executions.
+    public long hooks(Outcome outcome) {
+        return outcomes.get(outcome)
+                       .sum();
+    }
+
+    /// Empties all the histograms and hook counters.
+    public void reset() {
+        histograms.values()
+                  .forEach(Histogram::reset);
+        outcomes.values()
+                .forEach(LongAdder::reset);
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("HistogramMetrics{");
+        var separator = "";
+        for (var entry : histograms.entrySet()) {
+            builder.append(separator)
+                   .append(entry.getKey())
+                   .append('=')
+                   .append(entry.getValue());
+            separator = ", ";
+        }
+        return builder.append('}')
+                      .toString();
+    }
+
+    /// A histogram of durations, in nanoseconds.
+    ///
+    /// Durations below 32 ns are counted exactly; above, each power of two is split into 16 buckets of equal width.
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private Histogram() {
+        }
+
+        private static int bucket(long value) {
+            if (value < 2 * SUB_BUCKETS) return (int) value;
+            var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+            var shift = exponent - SUB_BUCKET_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+        }
+
+        private static long highestValue(int bucket) {
+            if (bucket < 2 * SUB_BUCKETS) return bucket;
+            var shift = bucket / SUB_BUCKETS - 1;
+            var lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+
+        private void record(long nanos) {
+            var value = Math.max(nanos, 0);
+            counts.incrementAndGet(bucket(value));
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++)
+                counts.set(i, 0);
+            sum.reset();
+            max.reset();
+        }
+
+        /// Returns the number of durations recorded.
+        ///
+        /// @return the count.
+        public long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                count += counts.get(i);
+            return count;
+        }
+
+        /// Returns the longest duration recorded.
+        ///
+        /// @return the maximum, in nanoseconds, 0 when empty.
+        public long max() {
+            return max.get();
+        }
+
+        /// Returns the average of the durations recorded.
+        ///
+        /// @return the mean, in nanoseconds, 0 when empty.
+        public double mean() {
+            var count = count();
+            return count == 0 ? 0 : (double) sum.sum() / count;
+        }
+
+        /// Returns the duration under which the given percentage of the recorded durations fall.
+        ///
+        /// @param percentile the percentage, from 0 to 100, like 50 for the median.
+        ///
+        /// @return the percentile, in nanoseconds, 0 when empty.
+        public long percentile(double percentile) {
+            if (percentile < 0 || percentile > 100)
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            var snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                count += snapshot[i] = counts.get(i);
+            if (count == 0) return 0;
+            var rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) return Math.min(highestValue(i), max());
+            }
+            return max();
+        }
+
+        @Override
+        public String toString() {
+            return "{count=%d, p50=%d, p99=%d, max=%d}".formatted(count(), percentile(50), percentile(99), max());
+        }
+    }
+}
@@ -9,6 +9,9 @@ import pro.verron.officestamper.utils.wml.WmlFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /// This class describes an image, which will be inserted into a document.
 ///
@@ -22,6 +25,7 @@ public final class Image {
     private final @Nullable Integer maxWidth;
     private final String filenameHint;
     private final String altText;
+    private volatile @Nullable String digest;
 
     /// Constructor for Image.
     ///
@@ -72,10 +76,10 @@ public final class Image {
         this(in.readAllBytes(), maxWidth);
     }
 
-    /// Creates a new run with the provided image and associated metadata.
+    /// Creates a new run with the provided image and associated metadata, in a new image part.
     ///
-    /// TODO: adding the same image twice will put the image twice into the docx-zip file.
-    ///  We should make the second addition of the same image a reference instead.
+    /// Each call adds the image to the docx-zip file again; the [pro.verron.officestamper.preset.Resolvers#image()]
+    /// resolver instead reuses the image part already holding the same content, with [#newRun(BinaryPartAbstractImage)].
     ///
     /// @param part The document part where the image will be inserted.
     ///
@@ -83,12 +87,48 @@ public final class Image {
     ///
     /// @throws OfficeStamperException If there is an error creating the image part
     public R newRun(DocxPart part) {
-        var mlPackage = part.document();
+        return newRun(newImagePart(part));
+    }
+
+    /// Creates a new image part holding this image, related to the given document part.
+    ///
+    /// @param part The document part where the image will be inserted.
+    ///
+    /// @return The created image part.
+    ///
+    /// @throws OfficeStamperException If there is an error creating the image part
+    public BinaryPartAbstractImage newImagePart(DocxPart part) {
         try {
-            var image = BinaryPartAbstractImage.createImagePart(mlPackage, part.part(), imageBytes);
-            return WmlFactory.newRun(maxWidth, image, filenameHint, altText);
+            return BinaryPartAbstractImage.createImagePart(part.document(), part.part(), imageBytes);
         } catch (Exception e) {
             throw new OfficeStamperException("Failed to create an ImagePart", e);
         }
     }
+
+    /// Creates a new run displaying the given image part with the metadata of this image.
+    ///
+    /// @param imagePart an image part holding this image, related to the document part where the run is inserted.
+    ///
+    /// @return The created run containing the image.
+    public R newRun(BinaryPartAbstractImage imagePart) {
+        return WmlFactory.newRun(maxWidth, imagePart, filenameHint, altText);
+    }
+
+    /// Returns the SHA-256 digest of the image content, in hexadecimal, computed on the first call only.
+    ///
+    /// @return the digest of the image bytes.
+    public String digest() {
+        var result = digest;
+        if (result == null) digest = result = HexFormat.of()
+                                                       .formatHex(sha256().digest(imageBytes));
+        return result;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new OfficeStamperException(e);
+        }
+    }
 }
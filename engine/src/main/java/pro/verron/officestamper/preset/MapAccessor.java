@@ -13,9 +13,13 @@ import java.util.Map;
 /// designed for accessing and manipulating properties specifically on Map objects.
 /// It provides functionality to read and write entries in a Map based on the
 /// property name provided.
+///
+/// Reading a property looks the key up once, telling a missing key from a `null` value with a sentinel default.
 public class MapAccessor
         implements PropertyAccessor {
 
+    private static final Object MISSING = new Object();
+
     /// Constructs a new instance of `MapAccessor`.
     public MapAccessor(){
         // Explicit default constructor for Javadoc
@@ -35,9 +39,9 @@ public class MapAccessor
     public TypedValue read(EvaluationContext context, @Nullable Object target, String name)
             throws AccessException {
         Assert.state(target instanceof Map, "Target must be of type Map");
-        Map<?, ?> map = (Map<?, ?>) target;
-        Object value = map.get(name);
-        if (value == null && !map.containsKey(name)) {
+        @SuppressWarnings("unchecked") Map<Object, @Nullable Object> map = (Map<Object, @Nullable Object>) target;
+        Object value = map.getOrDefault(name, MISSING);
+        if (value == MISSING) {
             throw new MapAccessException(name);
         }
         return new TypedValue(value);
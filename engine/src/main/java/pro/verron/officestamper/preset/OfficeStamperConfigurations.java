@@ -3,6 +3,7 @@ package pro.verron.officestamper.preset;
 import pro.verron.officestamper.api.ObjectResolver;
 import pro.verron.officestamper.api.OfficeStamperConfiguration;
 import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.api.PlaceholderScanner;
 import pro.verron.officestamper.core.DocxStamperConfiguration;
 import pro.verron.officestamper.preset.CommentProcessorFactory.*;
 import pro.verron.officestamper.preset.processors.displayif.DisplayIfProcessor;
@@ -169,14 +170,15 @@ public class OfficeStamperConfigurations {
     ///
     /// This configuration includes:
     /// - A fallback resolver with a default value of a newline character ("`\n`").
-    /// - A placeholder preprocessor that prepares placeholders matching a specific pattern.
+    /// - Placeholder preprocessors that prepare the `${...}` and `#{...}` placeholders.
     ///
     /// @return a minimally configured [OfficeStamperConfiguration] instance
     public static OfficeStamperConfiguration minimal() {
         var configuration = raw();
         configuration.addResolver(Resolvers.fallback("\n"));
-        configuration.addPreprocessor(Preprocessors.preparePlaceholders("(\\$\\{([^{]+?)})", "placeholder"));
-        configuration.addPreprocessor(Preprocessors.preparePlaceholders("(\\#\\{([^{]+?)})", "inlineProcessor"));
+        configuration.addPreprocessor(Preprocessors.preparePlaceholders(PlaceholderScanner.braces('$'), "placeholder"));
+        configuration.addPreprocessor(Preprocessors.preparePlaceholders(PlaceholderScanner.braces('#'),
+                "inlineProcessor"));
         configuration.addPreprocessor(Preprocessors.prepareCommentProcessor());
         configuration.addPostprocessor(Postprocessors.removeTags("officestamper"));
         configuration.addPostprocessor(Postprocessors.removeComments());
@@ -1,13 +1,24 @@
 package pro.verron.officestamper.preset;
 
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import pro.verron.officestamper.api.CompiledStreamStamper;
+import pro.verron.officestamper.api.CompiledTemplate;
 import pro.verron.officestamper.api.OfficeStamper;
 import pro.verron.officestamper.api.OfficeStamperConfiguration;
 import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.api.StampingMetrics;
 import pro.verron.officestamper.api.StreamStamper;
 import pro.verron.officestamper.core.DocxStamper;
 import pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static pro.verron.officestamper.api.StampingMetrics.Phase.EXPORT;
+import static pro.verron.officestamper.api.StampingMetrics.Phase.LOAD;
+
 /// [OfficeStampers] is a utility class that provides factory methods for creating document stampers for Office
 /// documents. This class offers convenient methods to create stampers for DOCX documents with various configurations.
 ///
@@ -38,9 +49,76 @@ public class OfficeStampers {
     ///         preprocessing steps of the stamper
     ///
     /// @return a [StreamStamper] of [WordprocessingMLPackage] configured to process DOCX documents
+    ///
+    /// @see #lazyDocxStamper(OfficeStamperConfiguration)
     public static StreamStamper<WordprocessingMLPackage> docxStamper(OfficeStamperConfiguration configuration) {
         var stamper = docxPackageStamper(configuration);
-        return new StreamStamper<>(OpenpackagingUtils::loadWord, stamper, OpenpackagingUtils::exportWord);
+        var metrics = configuration.getMetrics();
+        return new StreamStamper<>(measuredLoader(metrics, OpenpackagingUtils::loadWord),
+                stamper,
+                measuredExporter(metrics, OpenpackagingUtils::exportWord));
+    }
+
+    /// Creates a [StreamStamper] processing [WordprocessingMLPackage] (DOCX) documents with the given configuration,
+    /// loading the templates lazily.
+    ///
+    /// Templates are loaded with [OpenpackagingUtils#loadWordLazily(java.io.InputStream)], so the parts the stamping
+    /// does not touch are copied verbatim to the output instead of being unmarshalled and marshalled again. This suits
+    /// templates carrying large styles, themes, fonts or glossaries.
+    ///
+    /// @param configuration an instance of [OfficeStamperConfiguration] that defines the behavior and
+    ///         preprocessing steps of the stamper
+    ///
+    /// @return a [StreamStamper] of [WordprocessingMLPackage] configured to process DOCX documents
+    public static StreamStamper<WordprocessingMLPackage> lazyDocxStamper(OfficeStamperConfiguration configuration) {
+        var stamper = docxPackageStamper(configuration);
+        var metrics = configuration.getMetrics();
+        return new StreamStamper<>(measuredLoader(metrics, OpenpackagingUtils::loadWordLazily),
+                stamper,
+                measuredExporter(metrics, OpenpackagingUtils::exportWord));
+    }
+
+    /// Creates a [CompiledStreamStamper] processing [WordprocessingMLPackage] (DOCX) documents with the given
+    /// configuration, keeping at most [CompiledStreamStamper#DEFAULT_CAPACITY] compiled templates.
+    ///
+    /// @param configuration an instance of [OfficeStamperConfiguration] that defines the behavior and
+    ///         preprocessing steps of the stamper
+    ///
+    /// @return a [CompiledStreamStamper] of [WordprocessingMLPackage] configured to process DOCX documents
+    ///
+    /// @see #compiledDocxStamper(OfficeStamperConfiguration, int)
+    public static CompiledStreamStamper<WordprocessingMLPackage> compiledDocxStamper(
+            OfficeStamperConfiguration configuration
+    ) {
+        return compiledDocxStamper(configuration, CompiledStreamStamper.DEFAULT_CAPACITY);
+    }
+
+    /// Creates a [CompiledStreamStamper] processing [WordprocessingMLPackage] (DOCX) documents with the given
+    /// configuration.
+    ///
+    /// Each template is loaded and pre-processed once into a [CompiledTemplate], cached by the digest of its bytes,
+    /// and each stamp works on a copy of it. This suits services stamping the same templates over and over, at the
+    /// cost of keeping the compiled templates in memory.
+    ///
+    /// The [StampingMetrics.Phase#LOAD] phase of each stamp is the copy of the compiled template, whether or not the
+    /// template was found compiled. Loading the template itself is part of its compiling, and is not reported.
+    ///
+    /// @param configuration an instance of [OfficeStamperConfiguration] that defines the behavior and
+    ///         preprocessing steps of the stamper
+    /// @param capacity the maximum number of compiled templates to keep, the least recently used being evicted
+    ///         first
+    ///
+    /// @return a [CompiledStreamStamper] of [WordprocessingMLPackage] configured to process DOCX documents
+    public static CompiledStreamStamper<WordprocessingMLPackage> compiledDocxStamper(
+            OfficeStamperConfiguration configuration,
+            int capacity
+    ) {
+        var stamper = new DocxStamper(configuration);
+        var metrics = configuration.getMetrics();
+        return new CompiledStreamStamper<>(OpenpackagingUtils::loadWord,
+                stamper,
+                measuredExporter(metrics, OpenpackagingUtils::exportWord),
+                capacity);
     }
 
     /// Creates an [OfficeStamper] instance for processing [WordprocessingMLPackage] documents with the specified
@@ -53,4 +131,33 @@ public class OfficeStampers {
     public static OfficeStamper<WordprocessingMLPackage> docxPackageStamper(OfficeStamperConfiguration configuration) {
         return new DocxStamper(configuration);
     }
+
+    /// Wraps the loader to report the duration of each loading as a [StampingMetrics.Phase#LOAD] phase, unless the
+    /// metrics are disabled.
+    private static Function<InputStream, WordprocessingMLPackage> measuredLoader(
+            StampingMetrics metrics,
+            Function<InputStream, WordprocessingMLPackage> loader
+    ) {
+        if (!metrics.enabled()) return loader;
+        return inputStream -> {
+            var start = System.nanoTime();
+            var document = loader.apply(inputStream);
+            metrics.phase(LOAD, "docx", System.nanoTime() - start);
+            return document;
+        };
+    }
+
+    /// Wraps the exporter to report the duration of each export as a [StampingMetrics.Phase#EXPORT] phase, unless the
+    /// metrics are disabled.
+    private static BiConsumer<WordprocessingMLPackage, OutputStream> measuredExporter(
+            StampingMetrics metrics,
+            BiConsumer<WordprocessingMLPackage, OutputStream> exporter
+    ) {
+        if (!metrics.enabled()) return exporter;
+        return (document, outputStream) -> {
+            var start = System.nanoTime();
+            exporter.accept(document, outputStream);
+            metrics.phase(EXPORT, "docx", System.nanoTime() - start);
+        };
+    }
 }
@@ -5,6 +5,7 @@ import org.docx4j.wml.ProofErr;
 import pro.verron.officestamper.api.CommentHooker;
 import pro.verron.officestamper.api.OfficeStamperException;
 import pro.verron.officestamper.api.PlaceholderHooker;
+import pro.verron.officestamper.api.PlaceholderScanner;
 import pro.verron.officestamper.api.PreProcessor;
 import pro.verron.officestamper.preset.preprocessors.malformedcomments.RemoveMalformedComments;
 import pro.verron.officestamper.preset.preprocessors.prooferror.RemoveProofErrors;
@@ -60,6 +61,17 @@ public class Preprocessors {
         return new PlaceholderHooker(regex, element);
     }
 
+    /// Returns a [PreProcessor] object that prepares inline placeholders found by the provided scanner.
+    ///
+    /// @param scanner the scanner used to identify placeholders in the document, for example
+    ///         [PlaceholderScanner#braces(char)].
+    /// @param element the name of the smart tag element to be used for the placeholders
+    ///
+    /// @return a [PreProcessor] object that prepares inline placeholders.
+    public static PreProcessor preparePlaceholders(PlaceholderScanner scanner, String element) {
+        return new PlaceholderHooker(scanner, element);
+    }
+
 
     /// Returns a [PreProcessor] object that prepares comment processors for use with the stamper.
     ///
@@ -0,0 +1,219 @@
+package pro.verron.officestamper.preset;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.CompilablePropertyAccessor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// A read-only property accessor for records and JavaBeans, reading properties through [MethodHandle]s looked up once
+/// per class and property.
+///
+/// A property `name` is read from the first public, non-static, parameterless method found among `getName()`,
+/// `isName()` returning a boolean, and the record-style `name()`, like the getters of the
+/// [org.springframework.expression.spel.support.DataBindingPropertyAccessor]. Methods declared by [Object] and
+/// [Class], and the properties of [Class] and [ClassLoader] objects, are never read. Properties it cannot read, like
+/// fields or methods it cannot access, are left to the following accessors of the evaluation context.
+///
+/// Compiled expressions read the properties through [#readValue(Object, String)], with the same handles.
+///
+/// @see EvaluationContextFactories#typedFactory()
+public class TypedPropertyAccessor
+        implements CompilablePropertyAccessor {
+
+    private static final ClassValue<Readers> READERS = new ClassValue<>() {
+        @Override
+        protected Readers computeValue(Class<?> type) {
+            return new Readers(type);
+        }
+    };
+
+    /// Constructs a new instance of `TypedPropertyAccessor`.
+    public TypedPropertyAccessor() {
+        // Explicit default constructor for Javadoc
+    }
+
+    /// Reads a property of an object, for compiled expressions.
+    ///
+    /// @param target the object holding the property.
+    /// @param name the name of the property.
+    ///
+    /// @return the value of the property.
+    ///
+    /// @throws IllegalStateException if the object has no readable property of that name, or if its getter throws a
+    ///         checked exception.
+    public static @Nullable Object readValue(Object target, String name) {
+        var reader = reader(target, name);
+        if (reader == null) throw new IllegalStateException("Cannot read property '%s' of %s".formatted(name,
+                target.getClass()
+                      .getName()));
+        try {
+            return reader.read(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to access property '%s' through getter method".formatted(name), t);
+        }
+    }
+
+    private static @Nullable Reader reader(@Nullable Object target, String name) {
+        if (target == null || target instanceof Class<?> || target instanceof ClassLoader) return null;
+        return READERS.get(target.getClass())
+                      .reader(name);
+    }
+
+    @Override
+    public Class<?> @Nullable [] getSpecificTargetClasses() {
+        return null;
+    }
+
+    @Override
+    public boolean canRead(EvaluationContext context, @Nullable Object target, String name) {
+        return reader(target, name) != null;
+    }
+
+    @Override
+    public TypedValue read(EvaluationContext context, @Nullable Object target, String name)
+            throws AccessException {
+        var reader = reader(target, name);
+        if (reader == null) throw new AccessException("Cannot read property '%s' of %s".formatted(name, target));
+        try {
+            var value = reader.read(target);
+            return new TypedValue(value, reader.typeDescriptor(value));
+        } catch (Throwable t) {
+            throw new AccessException("Unable to access property '%s' through getter method".formatted(name),
+                    t instanceof Exception e ? e : new IllegalStateException(t));
+        }
+    }
+
+    @Override
+    public boolean canWrite(EvaluationContext context, @Nullable Object target, String name) {
+        return false;
+    }
+
+    @Override
+    public void write(EvaluationContext context, @Nullable Object target, String name, @Nullable Object newValue)
+            throws AccessException {
+        throw new AccessException("Property '%s' is read-only".formatted(name));
+    }
+
+    @Override
+    public boolean isCompilable() {
+        return true;
+    }
+
+    @Override
+    public Class<?> getPropertyType() {
+        return Object.class;
+    }
+
+    @Override
+    public void generateCode(String propertyName, MethodVisitor mv, CodeFlow cf) {
+        var descriptor = cf.lastDescriptor();
+        if (descriptor == null) cf.loadTarget(mv);
+        else CodeFlow.insertBoxIfNecessary(mv, descriptor);
+        mv.visitLdcInsn(propertyName);
+        mv.visitMethodInsn(INVOKESTATIC,
+                "pro/verron/officestamper/preset/TypedPropertyAccessor",
+                "readValue",
+                "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;",
+                false);
+    }
+
+    /// The readers of the properties of a class, looked up on first read.
+    private static final class Readers {
+        private static final Reader NONE = new Reader(MethodHandles.constant(Object.class, null),
+                TypeDescriptor.valueOf(Object.class));
+
+        private final Class<?> type;
+        private final Map<String, Reader> readers = new ConcurrentHashMap<>();
+
+        private Readers(Class<?> type) {
+            this.type = type;
+        }
+
+        private @Nullable Reader reader(String name) {
+            var reader = readers.computeIfAbsent(name, this::lookup);
+            return reader == NONE ? null : reader;
+        }
+
+        private Reader lookup(String name) {
+            var capitalized = StringUtils.capitalize(name);
+            var suffix = name.length() > 1 && Character.isUpperCase(name.charAt(1)) ? name : capitalized;
+            var method = getter("get", suffix, capitalized, false);
+            if (method == null) method = getter("is", suffix, capitalized, true);
+            if (method == null) method = getter(name, false);
+            return method == null ? NONE : handle(method);
+        }
+
+        private @Nullable Method getter(String prefix, String suffix, String capitalized, boolean booleanOnly) {
+            var method = getter(prefix + suffix, booleanOnly);
+            if (method == null && !suffix.equals(capitalized)) method = getter(prefix + capitalized, booleanOnly);
+            return method;
+        }
+
+        private @Nullable Method getter(String methodName, boolean booleanOnly) {
+            Method method;
+            try {
+                method = type.getMethod(methodName);
+            } catch (NoSuchMethodException _) {
+                return null;
+            }
+            var declaringClass = method.getDeclaringClass();
+            if (declaringClass == Object.class || declaringClass == Class.class) return null;
+            if (Modifier.isStatic(method.getModifiers()) || method.getReturnType() == void.class) return null;
+            var returnType = method.getReturnType();
+            if (booleanOnly && returnType != boolean.class && returnType != Boolean.class) return null;
+            return method;
+        }
+
+        private Reader handle(Method method) {
+            var accessible = ClassUtils.getPubliclyAccessibleMethodIfPossible(method, type);
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup()
+                                      .unreflect(accessible);
+            } catch (IllegalAccessException _) {
+                if (!accessible.trySetAccessible()) return NONE;
+                try {
+                    handle = MethodHandles.lookup()
+                                          .unreflect(accessible);
+                } catch (IllegalAccessException _) {
+                    return NONE;
+                }
+            }
+            var generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return new Reader(generic, new TypeDescriptor(new MethodParameter(method, -1)));
+        }
+    }
+
+    /// The reader of a property.
+    ///
+    /// @param handle the getter, typed `(Object)Object`.
+    /// @param declaredType the type declared by the getter.
+    private record Reader(MethodHandle handle, TypeDescriptor declaredType) {
+        private @Nullable Object read(Object target)
+                throws Throwable {
+            return (Object) handle.invokeExact(target);
+        }
+
+        private TypeDescriptor typeDescriptor(@Nullable Object value) {
+            if (value == null || value.getClass() == declaredType.getType()) return declaredType;
+            return declaredType.narrow(value);
+        }
+    }
+}
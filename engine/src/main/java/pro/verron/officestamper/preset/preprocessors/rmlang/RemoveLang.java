@@ -1,9 +1,9 @@
 package pro.verron.officestamper.preset.preprocessors.rmlang;
 
-import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
-import pro.verron.officestamper.api.PreProcessor;
-
-import static pro.verron.officestamper.utils.wml.WmlUtils.visitDocument;
+import org.docx4j.wml.P;
+import org.docx4j.wml.R;
+import pro.verron.officestamper.api.ElementPreProcessor;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
 
 /// The [RemoveLang] preprocessor removes language settings from paragraphs and runs within a Word document. This is
 /// useful when working with templates where language-specific formatting might interfere with the stamping process.
@@ -14,27 +14,25 @@ import static pro.verron.officestamper.utils.wml.WmlUtils.visitDocument;
 /// @author Joseph Verron
 /// @version ${version}
 public class RemoveLang
-        implements PreProcessor {
+        implements ElementPreProcessor {
 
     @Override
-    public void process(WordprocessingMLPackage document) {
-        removeRprLang(document);
-        removePprLang(document);
+    public void register(ElementHandlers handlers) {
+        handlers.onEnter(R.class, RemoveLang::removeRprLang)
+                .onEnter(P.class, RemoveLang::removePprLang);
     }
 
-    private static void removeRprLang(WordprocessingMLPackage document) {
-        var visitor = new RprLangVisitor();
-        visitDocument(document, visitor);
-        for (var rPr : visitor.getrPrs()) {
-            rPr.setLang(null);
-        }
+    private static void removeRprLang(R run) {
+        var rPr = run.getRPr();
+        if (rPr == null || rPr.getLang() == null) return;
+        rPr.setLang(null);
     }
 
-    private static void removePprLang(WordprocessingMLPackage document) {
-        var visitor2 = new PprLangVisitor();
-        visitDocument(document, visitor2);
-        for (var rPr : visitor2.getParaPrs()) {
-            rPr.setLang(null);
-        }
+    private static void removePprLang(P paragraph) {
+        var pPr = paragraph.getPPr();
+        if (pPr == null) return;
+        var rPr = pPr.getRPr();
+        if (rPr == null || rPr.getLang() == null) return;
+        rPr.setLang(null);
     }
 }
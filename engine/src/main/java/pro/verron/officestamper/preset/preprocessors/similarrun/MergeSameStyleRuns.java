@@ -1,11 +1,14 @@
 package pro.verron.officestamper.preset.preprocessors.similarrun;
 
-import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.wml.ContentAccessor;
-import pro.verron.officestamper.api.PreProcessor;
-import pro.verron.officestamper.utils.wml.WmlUtils;
+import org.docx4j.wml.R;
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.api.ElementPreProcessor;
+import pro.verron.officestamper.utils.wml.ElementHandlers;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 
 /// Merges consecutive runs with the same styling into a single run.
 ///
@@ -17,23 +20,40 @@ import java.util.LinkedHashSet;
 ///
 /// @author Joseph Verron
 public class MergeSameStyleRuns
-        implements PreProcessor {
+        implements ElementPreProcessor {
 
     @Override
-    public void process(WordprocessingMLPackage document) {
-        var visitor = new SimilarRunVisitor();
-        WmlUtils.visitDocument(document, visitor);
-        for (var similarStyleRuns : visitor.getSimilarStyleRuns()) {
-            var firstRun = similarStyleRuns.getFirst();
-            var runContent = firstRun.getContent();
-            var firstRunContent = new LinkedHashSet<>(runContent);
-            var firstRunParentContent = ((ContentAccessor) firstRun.getParent()).getContent();
-            for (var r : similarStyleRuns.subList(1, similarStyleRuns.size())) {
-                firstRunParentContent.remove(r);
-                firstRunContent.addAll(r.getContent());
+    public void register(ElementHandlers handlers) {
+        handlers.onExit(ContentAccessor.class, MergeSameStyleRuns::merge);
+    }
+
+    // Scans the content once, merging each group of consecutive runs sharing the same styling into its first run.
+    private static void merge(ContentAccessor parent) {
+        var content = parent.getContent();
+        var kept = new ArrayList<>(content.size());
+        R firstRun = null;
+        LinkedHashSet<Object> firstRunContent = null;
+        for (var element : content) {
+            if (firstRun != null && element instanceof R run && Objects.equals(run.getRPr(), firstRun.getRPr())) {
+                if (firstRunContent == null) firstRunContent = new LinkedHashSet<>(firstRun.getContent());
+                firstRunContent.addAll(run.getContent());
+                continue;
             }
-            runContent.clear();
-            runContent.addAll(firstRunContent);
+            flush(firstRun, firstRunContent);
+            firstRunContent = null;
+            firstRun = element instanceof R run ? run : null;
+            kept.add(element);
         }
+        flush(firstRun, firstRunContent);
+        if (kept.size() == content.size()) return;
+        content.clear();
+        content.addAll(kept);
+    }
+
+    private static void flush(@Nullable R firstRun, @Nullable LinkedHashSet<Object> firstRunContent) {
+        if (firstRun == null || firstRunContent == null) return;
+        var runContent = firstRun.getContent();
+        runContent.clear();
+        runContent.addAll(firstRunContent);
     }
 }
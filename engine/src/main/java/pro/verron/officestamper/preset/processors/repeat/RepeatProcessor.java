@@ -1,6 +1,5 @@
 package pro.verron.officestamper.preset.processors.repeat;
 
-import org.docx4j.XmlUtils;
 import org.docx4j.openpackaging.exceptions.Docx4JException;
 import org.docx4j.wml.ContentAccessor;
 import org.docx4j.wml.P;
@@ -12,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.verron.officestamper.api.*;
 import pro.verron.officestamper.preset.CommentProcessorFactory.IRepeatProcessor;
+import pro.verron.officestamper.utils.wml.WmlCloner;
 import pro.verron.officestamper.utils.wml.WmlFactory;
 import pro.verron.officestamper.utils.wml.WmlUtils;
 
@@ -54,7 +54,7 @@ public class RepeatProcessor
         while (iterator.hasNext()) {
             var item = iterator.next();
             var copiedElements = elements.stream()
-                                         .map(XmlUtils::deepCopy)
+                                         .map(WmlCloner::copy)
                                          .collect(toCollection(ArrayList::new));
             WmlUtils.deleteCommentFromElements(comment.getId(), copiedElements);
             // Adds section break to last paragraph if needed
@@ -134,7 +134,7 @@ public class RepeatProcessor
 
     private static void addSectionBreak(SectPr sectPr, P paragraph) {
         PPr nextPPr = ofNullable(paragraph.getPPr()).orElseGet(WmlFactory::newPPr);
-        nextPPr.setSectPr(XmlUtils.deepCopy(sectPr));
+        nextPPr.setSectPr(WmlCloner.copy(sectPr));
         paragraph.setPPr(nextPPr);
     }
 }
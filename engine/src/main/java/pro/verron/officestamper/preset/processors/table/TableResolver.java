@@ -1,7 +1,6 @@
 package pro.verron.officestamper.preset.processors.table;
 
 import jakarta.xml.bind.JAXBElement;
-import org.docx4j.XmlUtils;
 import org.docx4j.wml.ContentAccessor;
 import org.docx4j.wml.Tbl;
 import org.docx4j.wml.Tc;
@@ -11,6 +10,7 @@ import pro.verron.officestamper.api.CommentProcessor;
 import pro.verron.officestamper.api.ProcessorContext;
 import pro.verron.officestamper.preset.CommentProcessorFactory;
 import pro.verron.officestamper.preset.StampTable;
+import pro.verron.officestamper.utils.wml.WmlCloner;
 import pro.verron.officestamper.utils.wml.WmlFactory;
 
 import java.util.List;
@@ -74,7 +74,7 @@ public class TableResolver
         if (values.size() > 1) {
             //Copy the first cell and replace content for each remaining value
             for (String cellContent : values.subList(1, values.size())) {
-                JAXBElement<Tc> xmlCell = XmlUtils.deepCopy(cell0);
+                JAXBElement<Tc> xmlCell = WmlCloner.copy(cell0);
                 setCellText(xmlCell.getValue(), cellContent);
                 cellRowContent.add(xmlCell);
             }
@@ -82,7 +82,7 @@ public class TableResolver
     }
 
     private Tr copyRowFromTemplate(Tr firstDataRow, List<String> rowContent) {
-        Tr newXmlRow = XmlUtils.deepCopy(firstDataRow);
+        Tr newXmlRow = WmlCloner.copy(firstDataRow);
         List<Object> xmlRow = newXmlRow.getContent();
         for (int i = 0; i < rowContent.size(); i++) {
             String cellContent = rowContent.get(i);
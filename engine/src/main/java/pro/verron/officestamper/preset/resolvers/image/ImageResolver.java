@@ -7,11 +7,15 @@ import pro.verron.officestamper.api.Insert;
 import pro.verron.officestamper.api.ObjectResolver;
 import pro.verron.officestamper.api.OfficeStamperException;
 import pro.verron.officestamper.preset.Image;
+import pro.verron.officestamper.utils.openpackaging.ImagePartIndex;
 
 /// This [ObjectResolver] allows context objects to return objects of type [Image]. An expression that resolves to an
 /// [Image] object will be replaced by an actual image in the resulting .docx document. The image will be put as an
 /// inline into the surrounding paragraph of text.
 ///
+/// Images of identical content inserted in the same document part share a single image part, only the drawing run
+/// being new, so that an image repeated many times is stored once in the resulting .docx file.
+///
 /// @author Joseph Verron
 /// @version ${version}
 /// @since 1.6.7
@@ -39,7 +43,11 @@ public class ImageResolver
     /// @throws OfficeStamperException If an error occurs while adding the image to the document
     private Insert resolve(DocxPart part, Image image) {
         try {
-            return new Insert(image.newRun(part));
+            var imagePart = ImagePartIndex.imagePart(part.document(),
+                    part.part(),
+                    image.digest(),
+                    () -> image.newImagePart(part));
+            return new Insert(image.newRun(imagePart));
         } catch (Exception e) {
             throw new OfficeStamperException("Error while adding image to document!", e);
         }
@@ -3,6 +3,9 @@ module pro.verron.officestamper.test {
     requires pro.verron.officestamper;
     requires org.objectweb.asm;
 
+    requires jdk.management;
+    requires jdk.jfr;
+
     requires org.junit.jupiter.api;
     requires org.junit.jupiter.params;
 
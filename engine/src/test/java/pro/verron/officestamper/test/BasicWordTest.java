@@ -2,16 +2,23 @@ package pro.verron.officestamper.test;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.api.StreamStamper;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
 import static pro.verron.officestamper.preset.OfficeStamperConfigurations.full;
-import static pro.verron.officestamper.preset.OfficeStampers.docxPackageStamper;
+import static pro.verron.officestamper.preset.OfficeStampers.*;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getResource;
 import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.loadWord;
 
 @DisplayName("Basic Word Test") class BasicWordTest {
     @Test
@@ -34,6 +41,23 @@ import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
         assertEquals(expected, actual);
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"word-base.docx", "ProcessorDisplayIf_Footnotes.docx", "ProcessorDisplayIf_Endnotes.docx"})
+    @DisplayName("Should stamp a Word document loaded lazily as one loaded eagerly")
+    void testLazyStamper(String template) {
+        record Person(String name) {}
+        var context = new Person("Bart");
+        var expected = stampStream(docxStamper(full()), template, context);
+        var actual = stampStream(lazyDocxStamper(full()), template, context);
+        assertEquals(expected, actual);
+    }
+
+    private static String stampStream(StreamStamper<?> stamper, String template, Object context) {
+        var output = new ByteArrayOutputStream();
+        stamper.stamp(getResource(Path.of(template)), context, output);
+        return toAsciidoc(loadWord(new ByteArrayInputStream(output.toByteArray())));
+    }
+
     @Test
     @DisplayName("Should fail on malformed comment")
     void testMalformedStamper() {
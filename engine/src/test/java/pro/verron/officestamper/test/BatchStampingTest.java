@@ -0,0 +1,131 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.preset.OfficeStampers.compiledDocxStamper;
+import static pro.verron.officestamper.test.utils.BatchFixtures.*;
+
+/// Tests the stamping of a compiled template with a batch of contexts.
+class BatchStampingTest {
+
+    @DisplayName("stampAll stamps each context on the executor, with a bounded number of documents in flight")
+    @Test
+    void stampsEachContext()
+            throws Exception {
+        var config = OfficeStamperConfigurations.standard();
+        var stamper = compiledDocxStamper(config);
+        var template = compileTemplate(stamper);
+        var contexts = namedContexts(12);
+        var sinks = new ConcurrentHashMap<Object, ByteArrayOutputStream>();
+        var open = new AtomicInteger();
+        var maxOpen = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var report = stamper.stampAll(template, contexts, context -> {
+                maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                var sink = new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        open.decrementAndGet();
+                    }
+                };
+                sinks.put(context, sink);
+                return sink;
+            }, executor, 2);
+
+            assertTrue(report.succeeded(), report.failures()::toString);
+            assertEquals(12, report.stamped());
+        }
+        assertTrue(maxOpen.get() <= 2);
+        for (var context : contexts)
+            assertStamped(config,
+                    context,
+                    sinks.get(context)
+                         .toByteArray());
+    }
+
+    @DisplayName("stampAll reports the failing items without aborting the batch")
+    @Test
+    void reportsFailures() {
+        var stamper = compiledDocxStamper(OfficeStamperConfigurations.standard());
+        var template = compileTemplate(stamper);
+        var contexts = contextsFailingAtSecond();
+
+        var report = stamper.stampAll(template, contexts, _ -> OutputStream.nullOutputStream());
+
+        assertEquals(2, report.stamped());
+        assertEquals(1,
+                report.failures()
+                      .size());
+        var failure = report.failures()
+                            .getFirst();
+        assertEquals(1, failure.index());
+        assertSame(contexts.get(1), failure.context());
+    }
+
+    @DisplayName("stampAll reports the items failing with an error")
+    @Test
+    void reportsErrors() {
+        var stamper = compiledDocxStamper(OfficeStamperConfigurations.standard());
+        var template = compileTemplate(stamper);
+        var contexts = namedContexts(3);
+
+        var report = stamper.stampAll(template, contexts, _ -> {
+            throw new AssertionError("No sink");
+        });
+
+        assertEquals(0, report.stamped());
+        assertEquals(3,
+                report.failures()
+                      .size());
+        assertInstanceOf(AssertionError.class,
+                report.failures()
+                      .getFirst()
+                      .cause());
+    }
+
+    @DisplayName("stampAll waits for the submitted items when drawing the contexts fails")
+    @Test
+    void waitsForSubmittedItems() {
+        var stamper = compiledDocxStamper(OfficeStamperConfigurations.standard());
+        var template = compileTemplate(stamper);
+        var first = namedContexts(1).getFirst();
+        Iterable<Object> contexts = () -> new Iterator<>() {
+            private boolean drawn;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Object next() {
+                if (drawn) throw new IllegalStateException("No more contexts");
+                drawn = true;
+                return first;
+            }
+        };
+        var written = new AtomicBoolean();
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            assertThrows(IllegalStateException.class,
+                    () -> stamper.stampAll(template, contexts, _ -> new ByteArrayOutputStream() {
+                        @Override
+                        public void close() {
+                            written.set(true);
+                        }
+                    }, executor, 2));
+            assertTrue(written.get(), "the submitted item completed before the call returned");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.core.DocxStamper;
+import pro.verron.officestamper.preset.ExceptionResolvers;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+import pro.verron.officestamper.utils.wml.CommentIndex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.preset.OfficeStampers.compiledDocxStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getResource;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.loadWord;
+
+/// Tests the stamping of templates compiled once.
+class CompiledTemplateTest {
+
+    @DisplayName("Copies of a compiled template stamp like the template itself")
+    @Test
+    void stampsCopies() {
+        var config = OfficeStamperConfigurations.standard();
+        var factory = objectContextFactory();
+        var stamper = new DocxStamper(config);
+        var template = stamper.compile(getWordResource("MultiStampTest.docx"));
+
+        for (var context : new Object[]{factory.names("Homer", "Marge"), factory.names("Bart", "Lisa", "Maggie")}) {
+            var expected = toAsciidoc(new DocxStamper(config).stamp(getWordResource("MultiStampTest.docx"), context));
+            assertEquals(expected, toAsciidoc(stamper.stamp(template, context)));
+        }
+    }
+
+    @DisplayName("Copies of a compiled template share the blocks holding no hook")
+    @Test
+    void sharesBlocksWithoutHooks() {
+        var stamper = new DocxStamper(OfficeStamperConfigurations.standard());
+        var template = stamper.compile(getWordResource("MultiStampTest.docx"));
+        var first = template.copy();
+        var second = template.copy();
+        var firstBlocks = first.getMainDocumentPart()
+                               .getContent();
+        var secondBlocks = second.getMainDocumentPart()
+                                 .getContent();
+
+        assertNotSame(firstBlocks, secondBlocks);
+        assertSame(firstBlocks.getFirst(), secondBlocks.getFirst(), "the title holds no hook");
+        assertNotSame(firstBlocks.get(1), secondBlocks.get(1), "the table holds a repeatTableRow comment");
+
+        var expected = toAsciidoc(template.copy());
+        stamper.stamp(template, objectContextFactory().names("Homer", "Marge"));
+        assertEquals(expected, toAsciidoc(second), "stamping a copy leaves the others untouched");
+    }
+
+    @DisplayName("Post-processing a copy of a compiled template leaves the template untouched")
+    @Test
+    void postProcessesCopies() {
+        var config = OfficeStamperConfigurations.full();
+        var factory = objectContextFactory();
+        var stamper = new DocxStamper(config);
+        var template = stamper.compile(getWordResource("ProcessorDisplayIf_Footnotes.docx"));
+        var compiled = toAsciidoc(template.copy());
+
+        // Each context hides other paragraphs, orphaning other footnotes.
+        for (var context : new Object[]{factory.name("Bart"), factory.name("Homer"), factory.name("Bart")}) {
+            var single = new DocxStamper(config).stamp(getWordResource("ProcessorDisplayIf_Footnotes.docx"), context);
+            assertEquals(toAsciidoc(single), toAsciidoc(stamper.stamp(template, context)));
+        }
+        assertEquals(compiled, toAsciidoc(template.copy()), "the orphaned footnotes are removed from the copies only");
+    }
+
+    @DisplayName("Compiled templates are only stamped by the stamper that compiled them")
+    @Test
+    void rejectsForeignTemplates() {
+        var config = OfficeStamperConfigurations.standard();
+        var template = new DocxStamper(config).compile(getWordResource("MultiStampTest.docx"));
+        var stamper = new DocxStamper(config);
+        var context = objectContextFactory().names("Homer");
+        assertThrows(OfficeStamperException.class, () -> stamper.stamp(template, context));
+    }
+
+    @DisplayName("Failing stamps detach the index of the comments from the document")
+    @Test
+    void detachesCommentIndexOnFailure() {
+        var stamper = new DocxStamper(OfficeStamperConfigurations.standard());
+        var document = getWordResource("MultiStampTest.docx");
+        assertThrows(OfficeStamperException.class, () -> stamper.stamp(document, Map.of()));
+        assertNull(CommentIndex.of(document));
+    }
+
+    @DisplayName("Compiled stream stampers compile each template once, evicting the least recently used one")
+    @Test
+    void cachesByContent()
+            throws Exception {
+        var config = OfficeStamperConfigurations.standard()
+                                                .setExceptionResolver(ExceptionResolvers.passing());
+        var stamper = compiledDocxStamper(config, 1);
+        var context = objectContextFactory().names("Homer", "Marge");
+        var multiStamp = getResource(Path.of("MultiStampTest.docx")).readAllBytes();
+        var header = getResource(Path.of("ExpressionReplacementInHeaderAndFooterTest.docx")).readAllBytes();
+
+        var first = new ByteArrayOutputStream();
+        stamper.stamp(new ByteArrayInputStream(multiStamp), context, first);
+        var expressionMisses = stamper.expressionMisses();
+        assertTrue(expressionMisses > 0);
+        var second = new ByteArrayOutputStream();
+        stamper.stamp(new ByteArrayInputStream(multiStamp.clone()), context, second);
+        assertEquals(1, stamper.misses());
+        assertEquals(1, stamper.hits());
+        assertEquals(expressionMisses, stamper.expressionMisses(), "expressions are parsed once");
+        assertTrue(stamper.expressionHits() > 0);
+        assertEquals(toAsciidoc(loadWord(new ByteArrayInputStream(first.toByteArray()))),
+                toAsciidoc(loadWord(new ByteArrayInputStream(second.toByteArray()))));
+
+        stamper.stamp(new ByteArrayInputStream(header), context, new ByteArrayOutputStream());
+        stamper.stamp(new ByteArrayInputStream(multiStamp), context, new ByteArrayOutputStream());
+        assertEquals(3, stamper.misses());
+        assertEquals(1, stamper.size());
+    }
+}
@@ -0,0 +1,217 @@
+package pro.verron.officestamper.test;
+
+import com.sun.management.ThreadMXBean;
+import org.docx4j.jaxb.Context;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.wml.ContentAccessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pro.verron.officestamper.api.OfficeStamper;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.argumentSet;
+import static pro.verron.officestamper.preset.OfficeStamperConfigurations.standard;
+import static pro.verron.officestamper.preset.OfficeStampers.docxPackageStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Guards how the stamping cost grows with the size of the template or of its context.
+///
+/// Each scenario stamps a synthetic template at geometric sizes, measuring the CPU time and the bytes allocated by the
+/// stamping thread at each size, the median of a few runs. The growth exponent of each measure is the slope of the
+/// least-squares fit of its logarithm against the logarithm of the size: about 1 for a linear cost, about 2 for a
+/// quadratic one. A scenario fails when either exponent exceeds the one of the complexity class it declares, plus a
+/// tolerance absorbing the noise of the measures:
+/// - allocations are close to deterministic, their tolerance is tight;
+/// - CPU time catches the quadratic scans that allocate nothing, like searching a list of siblings or walking the part
+///   again after each hook. It excludes the time the thread waits for a processor, but still depends on the caches of
+///   the machine running the build, so its tolerance is generous.
+///
+/// Fixed costs, like the traversal of the document parts, flatten the curve at small sizes, so the sizes are chosen
+/// large enough for the cost per item to dominate.
+class ComplexityTest {
+
+    private static final double ALLOCATION_TOLERANCE = 0.2;
+    private static final double TIME_TOLERANCE = 0.5;
+    private static final int RUNS = 5;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    static Stream<Arguments> scenarios() {
+        var factory = objectContextFactory();
+        return Stream.of(argumentSet("placeholders, by paragraph count",
+                        Complexity.LINEAR,
+                        List.of(250, 500, 1000, 2000),
+                        (IntFunction<WordprocessingMLPackage>) ComplexityTest::placeholders,
+                        (IntFunction<Object>) _ -> factory.name("Homer")),
+                argumentSet("repeatParagraph, by item count",
+                        Complexity.LINEAR,
+                        List.of(250, 500, 1000, 2000),
+                        (IntFunction<WordprocessingMLPackage>) _ -> repeatedParagraph(),
+                        (IntFunction<Object>) size -> factory.names(names(size))),
+                argumentSet("repeatTableRow, by row count",
+                        Complexity.LINEAR,
+                        List.of(250, 500, 1000, 2000),
+                        (IntFunction<WordprocessingMLPackage>) _ -> getWordResource(Path.of(
+                                "ProcessorRepeatTableRow.docx")),
+                        (IntFunction<Object>) size -> factory.roles(names(2 * size))),
+                // After each hook, the scheduler realigns its cursor with the live content at each nesting level.
+                argumentSet("placeholders in nested tables, by nesting depth",
+                        Complexity.QUADRATIC,
+                        List.of(25, 50, 100, 200),
+                        (IntFunction<WordprocessingMLPackage>) ComplexityTest::nestedTables,
+                        (IntFunction<Object>) _ -> factory.name("Homer")));
+    }
+
+    private static String[] names(int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> "Name " + i)
+                        .toArray(String[]::new);
+    }
+
+    private static WordprocessingMLPackage placeholders(int paragraphs) {
+        return makeWordResource(IntStream.range(0, paragraphs)
+                                         .mapToObj(i -> "Paragraph " + i + " is for ${name}.\n")
+                                         .collect(Collectors.joining("\n")));
+    }
+
+    private static WordprocessingMLPackage repeatedParagraph() {
+        return makeWordResource("""
+                comment::1[start="0,0", end="0,7", value="repeatParagraph(names)"]
+                ${name}
+                """);
+    }
+
+    private static WordprocessingMLPackage nestedTables(int depth) {
+        var document = newWord();
+        var factory = Context.getWmlObjectFactory();
+        ContentAccessor parent = document.getMainDocumentPart();
+        for (int level = 0; level < depth; level++) {
+            parent.getContent()
+                  .add(newParagraph(List.of(newRun("Level " + level + " is for "), newRun("${name}"))));
+            var table = newTbl();
+            var row = newRow();
+            var cell = newCell();
+            row.getContent()
+               .add(factory.createTrTc(cell));
+            table.getContent()
+                 .add(row);
+            parent.getContent()
+                  .add(table);
+            parent = cell;
+        }
+        parent.getContent()
+              .add(newParagraph("The innermost cell."));
+        return document;
+    }
+
+    // The CPU time and the bytes allocated by the current thread to stamp the template.
+    private static double[] measure(
+            OfficeStamper<WordprocessingMLPackage> stamper,
+            WordprocessingMLPackage template,
+            Object context
+    ) {
+        var allocated = THREADS.getCurrentThreadAllocatedBytes();
+        var start = THREADS.getCurrentThreadCpuTime();
+        stamper.stamp(template, context);
+        var time = THREADS.getCurrentThreadCpuTime() - start;
+        return new double[]{time, THREADS.getCurrentThreadAllocatedBytes() - allocated};
+    }
+
+    private static double median(double[] measures) {
+        var sorted = measures.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // The slope of the least-squares line fitting log(measure) against log(size).
+    private static double exponent(List<Integer> sizes, List<Double> measures) {
+        var n = sizes.size();
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        for (int i = 0; i < n; i++) {
+            var x = Math.log(sizes.get(i));
+            var y = Math.log(measures.get(i));
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
+
+    @DisplayName("Stamping time and allocations grow no faster than the declared complexity class")
+    @ParameterizedTest
+    @MethodSource("scenarios")
+    void growsWithinComplexityClass(
+            Complexity complexity,
+            List<Integer> sizes,
+            IntFunction<WordprocessingMLPackage> templates,
+            IntFunction<Object> contexts,
+            TestReporter reporter
+    ) {
+        var stamper = docxPackageStamper(standard());
+        // Warms the stamping code up, so that the smallest size is not measured interpreted.
+        var smallest = sizes.getFirst();
+        for (int i = 0; i < RUNS; i++)
+            stamper.stamp(templates.apply(smallest), contexts.apply(smallest));
+
+        var times = new ArrayList<Double>();
+        var allocations = new ArrayList<Double>();
+        for (var size : sizes) {
+            var context = contexts.apply(size);
+            // Stamping modifies the template, so each run stamps a fresh one.
+            var runTimes = new double[RUNS];
+            var runAllocations = new double[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                var measures = measure(stamper, templates.apply(size), context);
+                runTimes[run] = measures[0];
+                runAllocations[run] = measures[1];
+            }
+            times.add(median(runTimes));
+            allocations.add(median(runAllocations));
+        }
+
+        var timeExponent = exponent(sizes, times);
+        var allocationExponent = exponent(sizes, allocations);
+        var report = "sizes %s, CPU times %s ns (exponent %.2f), allocations %s bytes (exponent %.2f)".formatted(sizes,
+                times,
+                timeExponent,
+                allocations,
+                allocationExponent);
+        reporter.publishEntry("complexity", report);
+        assertTrue(timeExponent <= complexity.exponent() + TIME_TOLERANCE,
+                () -> "Time grows faster than " + complexity + ": " + report);
+        assertTrue(allocationExponent <= complexity.exponent() + ALLOCATION_TOLERANCE,
+                () -> "Allocations grow faster than " + complexity + ": " + report);
+    }
+
+    /// The complexity classes a scenario can declare, by the exponent of the size in their cost.
+    enum Complexity {
+        LINEAR(1),
+        QUADRATIC(2);
+
+        private final double exponent;
+
+        Complexity(double exponent) {
+            this.exponent = exponent;
+        }
+
+        double exponent() {
+            return exponent;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package pro.verron.officestamper.test;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -9,6 +10,7 @@ import pro.verron.officestamper.api.ProcessorContext;
 import pro.verron.officestamper.test.utils.ContextFactory;
 
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -54,6 +56,26 @@ import static pro.verron.officestamper.utils.wml.WmlFactory.newRun;
         assertEquals(expected.replace("\r\n", "\n"), actual.replace("\r\n", "\n"));
     }
 
+    @DisplayName("Should only instantiate the processors invoked by a comment")
+    @Test
+    void should_instantiate_processors_lazily() {
+        var visited = new AtomicInteger();
+        var unused = new AtomicInteger();
+        var config = minimal().addCommentProcessor(ICustomProcessor.class, context -> {
+                                  visited.incrementAndGet();
+                                  return new CustomProcessor(context);
+                              })
+                              .addCommentProcessor(IUnusedProcessor.class, context -> {
+                                  unused.incrementAndGet();
+                                  return new UnusedProcessor(context);
+                              });
+        var template = getWordResource(Path.of("CustomCommentProcessorTest.docx"));
+        var stamper = docxPackageStamper(config);
+        stamper.stamp(template, objectContextFactory().empty());
+        assertEquals(2, visited.get());
+        assertEquals(0, unused.get());
+    }
+
     /// A custom processor interface that defines methods to handle specific actions during document processing.
     public interface ICustomProcessor {
 
@@ -84,4 +106,26 @@ import static pro.verron.officestamper.utils.wml.WmlFactory.newRun;
             });
         }
     }
+
+    /// A custom processor interface never invoked by the test templates.
+    public interface IUnusedProcessor {
+
+        /// Does nothing.
+        void unused();
+    }
+
+    /// An implementation of [IUnusedProcessor], which should never be instantiated by the test templates.
+    public static class UnusedProcessor
+            extends CommentProcessor
+            implements IUnusedProcessor {
+
+        UnusedProcessor(ProcessorContext processorContext) {
+            super(processorContext);
+        }
+
+        @Override
+        public void unused() {
+            // Intentionally left empty.
+        }
+    }
 }
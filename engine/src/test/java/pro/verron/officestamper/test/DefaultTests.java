@@ -310,7 +310,7 @@ import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
                         
                         In this paragraph, an image of Mona Lisa is inserted: image:rId6[cx=1276350, cy=962025].
                         
-                        This paragraph has the image image:rId7[cx=1276350, cy=962025] in the middle.
+                        This paragraph has the image image:rId6[cx=1276350, cy=962025] in the middle.
                         
                         // section {docGrid={charSpace=-6145, linePitch=240}, pgMar={bottom=1134, left=1134, right=1134, top=1134}, pgSz={h=16838, w=11906}, space=720}
                         
@@ -329,7 +329,7 @@ import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
                         
                         In this paragraph, an image of Mona Lisa is inserted: image:rId6[cx=635000, cy=478619].
                         
-                        This paragraph has the image image:rId7[cx=635000, cy=478619] in the middle.
+                        This paragraph has the image image:rId6[cx=635000, cy=478619] in the middle.
                         
                         // section {docGrid={charSpace=-6145, linePitch=240}, pgMar={bottom=1134, left=1134, right=1134, top=1134}, pgSz={h=16838, w=11906}, space=720}
                         
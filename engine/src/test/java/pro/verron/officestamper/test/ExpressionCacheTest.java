@@ -0,0 +1,148 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import pro.verron.officestamper.core.CachedExpression.ExpressionStatistics;
+import pro.verron.officestamper.core.DocxStamper;
+import pro.verron.officestamper.core.ExpressionCache;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.test.utils.ContextFactory.mapContextFactory;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
+
+/// Tests the sharing of parsed expressions through the [ExpressionCache].
+class ExpressionCacheTest {
+
+    @DisplayName("Parsed expressions are shared between the stamps of a same stamper")
+    @Test
+    void sharedAcrossStamps() {
+        var config = OfficeStamperConfigurations.standard();
+        var context = objectContextFactory().names("Homer", "Marge", "Bart", "Lisa", "Maggie");
+        var stamper = new DocxStamper(config);
+        var cache = stamper.expressionCache();
+
+        stamper.stamp(getWordResource("MultiStampTest.docx"), context);
+        var missesAfterFirstStamp = cache.misses();
+        var hitsAfterFirstStamp = cache.hits();
+        assertTrue(missesAfterFirstStamp > 0);
+        assertTrue(hitsAfterFirstStamp > 0, "Repeated rows should reuse the parsed expression");
+
+        stamper.stamp(getWordResource("MultiStampTest.docx"), context);
+        assertEquals(missesAfterFirstStamp, cache.misses());
+        assertTrue(cache.hits() > hitsAfterFirstStamp);
+    }
+
+    @DisplayName("Expression cache evicts the least recently used expression")
+    @Test
+    void boundedSize() {
+        var cache = new ExpressionCache(2);
+        var configuration = new SpelParserConfiguration();
+        var first = cache.parse(configuration, "a");
+        cache.parse(configuration, "b");
+        assertSame(first, cache.parse(configuration, "a"));
+        cache.parse(configuration, "c");
+        assertEquals(2, cache.size());
+        assertSame(first, cache.parse(configuration, "a"));
+        assertEquals(3, cache.misses());
+        cache.parse(configuration, "b");
+        assertEquals(4, cache.misses());
+    }
+
+    @DisplayName("Expression cache keys expressions by parser configuration")
+    @Test
+    void keyedByConfiguration() {
+        var cache = new ExpressionCache();
+        var first = cache.parse(new SpelParserConfiguration(), "a");
+        var second = cache.parse(new SpelParserConfiguration(true, true), "a");
+        assertNotSame(first, second);
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.hits());
+    }
+
+    @DisplayName("Expressions evaluated repeatedly get compiled when compilation is enabled")
+    @Test
+    void compiledExpressions() {
+        var context = new Names(List.of(new Name("Homer"), new Name("Marge"), new Name("Bart"), new Name("Lisa")));
+        var interpreted = new DocxStamper(OfficeStamperConfigurations.standard());
+        var expected = toAsciidoc(interpreted.stamp(getWordResource("MultiStampTest.docx"), context));
+
+        var config = OfficeStamperConfigurations.standard()
+                                                .setCompilerMode(SpelCompilerMode.IMMEDIATE);
+        var stamper = new DocxStamper(config);
+        var actual = toAsciidoc(stamper.stamp(getWordResource("MultiStampTest.docx"), context));
+
+        assertEquals(expected, actual);
+        var statistics = statistics(stamper, "name");
+        assertTrue(statistics.compiled());
+        assertEquals(SpelCompilerMode.IMMEDIATE, statistics.compilerMode());
+        assertTrue(statistics.compiledEvaluations() > 0);
+        assertTrue(interpreted.expressionCache()
+                              .statistics()
+                              .stream()
+                              .noneMatch(ExpressionStatistics::compiled));
+    }
+
+    @DisplayName("Compiled expressions fall back to interpretation when the context type changes")
+    @Test
+    void compiledExpressionsFallback() {
+        var config = OfficeStamperConfigurations.standard()
+                                                .setCompilerMode(SpelCompilerMode.IMMEDIATE);
+        var stamper = new DocxStamper(config);
+        var records = new Names(List.of(new Name("Homer"), new Name("Marge"), new Name("Bart"), new Name("Lisa")));
+        stamper.stamp(getWordResource("MultiStampTest.docx"), records);
+        assertTrue(statistics(stamper, "name").compiled());
+
+        var maps = mapContextFactory().names("Homer", "Marge", "Bart", "Lisa");
+        var actual = toAsciidoc(stamper.stamp(getWordResource("MultiStampTest.docx"), maps));
+        var expected = toAsciidoc(new DocxStamper(OfficeStamperConfigurations.standard()).stamp(getWordResource(
+                "MultiStampTest.docx"), maps));
+
+        assertEquals(expected, actual);
+        assertTrue(statistics(stamper, "name").failedAttempts() > 0);
+    }
+
+    @DisplayName("Compiled expressions referencing the root are interpreted against another active context object")
+    @Test
+    void compiledRootReferences() {
+        var cache = new ExpressionCache();
+        var expression = cache.parse(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null), "#root.name");
+        var context = new StandardEvaluationContext(new Name("Homer"));
+        for (int i = 0; i < 3; i++)
+            assertEquals("Homer", expression.evaluate(context));
+        assertTrue(expression.statistics()
+                             .compiled());
+
+        assertEquals("Homer", expression.evaluate(context, new TypedValue(new Name("Marge"))));
+        assertTrue(expression.statistics()
+                             .compiled());
+    }
+
+    private static ExpressionStatistics statistics(DocxStamper stamper, String expression) {
+        return stamper.expressionCache()
+                      .statistics()
+                      .stream()
+                      .filter(statistics -> statistics.expression()
+                                                      .equals(expression))
+                      .findFirst()
+                      .orElseThrow();
+    }
+
+    /// A name, public so that expressions reading it can be compiled.
+    ///
+    /// @param name the name.
+    public record Name(String name) {}
+
+    /// A list of names, public so that expressions reading it can be compiled.
+    ///
+    /// @param names the names.
+    public record Names(List<Name> names) {}
+}
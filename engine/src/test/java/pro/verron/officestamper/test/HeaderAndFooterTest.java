@@ -7,11 +7,13 @@ import org.junit.jupiter.params.provider.MethodSource;
 import pro.verron.officestamper.preset.ExceptionResolvers;
 import pro.verron.officestamper.preset.OfficeStampers;
 import pro.verron.officestamper.test.utils.ContextFactory;
+import pro.verron.officestamper.utils.openpackaging.ImagePartIndex;
 
 import java.nio.file.Path;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.params.provider.Arguments.argumentSet;
 import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
 import static pro.verron.officestamper.preset.OfficeStamperConfigurations.standard;
@@ -37,6 +39,7 @@ class HeaderAndFooterTest {
         var config = standard().setExceptionResolver(ExceptionResolvers.passing());
         var stamper = OfficeStampers.docxPackageStamper(config);
         var stamped = stamper.stamp(template, context);
+        assertNull(stamped.getUserData(ImagePartIndex.class.getName()), "the image index is detached once stamped");
         var actual = toAsciidoc(stamped);
         assertEquals("""
                 [header]
@@ -0,0 +1,225 @@
+package pro.verron.officestamper.test;
+
+import org.docx4j.jaxb.Context;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.wml.ContentAccessor;
+import org.docx4j.wml.P;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pro.verron.officestamper.api.CommentProcessor;
+import pro.verron.officestamper.api.OfficeStamperConfiguration;
+import pro.verron.officestamper.api.ProcessorContext;
+import pro.verron.officestamper.utils.wml.WmlCloner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.argumentSet;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.preset.OfficeStamperConfigurations.standard;
+import static pro.verron.officestamper.preset.OfficeStampers.docxPackageStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+/// Tests the order in which the hooks of a part run while other hooks rewrite the content around them.
+///
+/// The hooks are expected to run in document order, as if the part were walked again from the top after each hook that
+/// processed, the first pending hook in document order running next.
+class HookSchedulingTest {
+
+    private static final String TEMPLATE = """
+            ${visit('first')}
+
+            Edited paragraph
+
+            ${visit('second')}
+
+            ${visit('source')}
+            """;
+    private static final String SECTION = """
+            // section {pgMar={bottom=1440, left=1440, right=1440, top=1440}, pgSz={code=9, h=16839, w=11907}}
+
+            """;
+
+    static Stream<Arguments> edits() {
+        return Stream.of(argumentSet("removal of the edited paragraph",
+                        "removeParagraph()",
+                        List.of("first", "removeParagraph", "second", "source"),
+                        List.of("first", "second", "source")),
+                argumentSet("removal before the cursor",
+                        "removeFirstParagraph()",
+                        List.of("first", "removeFirstParagraph", "second", "source"),
+                        List.of("Edited paragraph", "second", "source")),
+                argumentSet("replacement of the edited paragraph",
+                        "replaceParagraph()",
+                        List.of("first", "replaceParagraph", "source", "second", "source"),
+                        List.of("first", "source", "second", "source")),
+                argumentSet("insertion before the cursor",
+                        "insertFirst()",
+                        List.of("first", "insertFirst", "source", "second", "source"),
+                        List.of("source", "first", "Edited paragraph", "second", "source")),
+                argumentSet("insertion after the cursor",
+                        "insertAfter()",
+                        List.of("first", "insertAfter", "source", "second", "source"),
+                        List.of("first", "Edited paragraph", "source", "second", "source")));
+    }
+
+    private static OfficeStamperConfiguration configuration(List<String> visits) {
+        var configuration = standard().addCommentProcessor(IEditProcessor.class,
+                context -> new EditProcessor(context, visits));
+        configuration.addCustomFunction("visit", String.class)
+                     .withImplementation(name -> {
+                         visits.add(name);
+                         return name;
+                     });
+        return configuration;
+    }
+
+    private static String asciidoc(List<String> paragraphs) {
+        var asciidoc = new StringBuilder();
+        for (var paragraph : paragraphs)
+            asciidoc.append(paragraph)
+                    .append("\n\n");
+        return asciidoc.append(SECTION)
+                       .toString();
+    }
+
+    private static WordprocessingMLPackage nestedTables(int depth) {
+        var document = newWord();
+        var factory = Context.getWmlObjectFactory();
+        ContentAccessor parent = document.getMainDocumentPart();
+        var afters = new ArrayList<ContentAccessor>();
+        for (int level = 0; level < depth; level++) {
+            parent.getContent()
+                  .add(newParagraph(List.of(newRun("${visit('level " + level + "')}"))));
+            var table = newTbl();
+            var row = newRow();
+            var cell = newCell();
+            row.getContent()
+               .add(factory.createTrTc(cell));
+            table.getContent()
+                 .add(row);
+            parent.getContent()
+                  .add(table);
+            afters.add(parent);
+            parent = cell;
+        }
+        parent.getContent()
+              .add(newParagraph(List.of(newRun("${visit('innermost')}"))));
+        for (int level = depth - 1; level >= 0; level--)
+            afters.get(level)
+                  .getContent()
+                  .add(newParagraph(List.of(newRun("${visit('after " + level + "')}"))));
+        return document;
+    }
+
+    @DisplayName("Hooks run in document order while a hook edits the content of the part")
+    @ParameterizedTest
+    @MethodSource("edits")
+    void runsInDocumentOrder(String edit, List<String> expectedVisits, List<String> expectedParagraphs) {
+        var visits = new ArrayList<String>();
+        var template = makeWordResource(TEMPLATE + "comment::1[start=\"1,0\", end=\"1,6\", value=\"" + edit + "\"]\n");
+        var stamper = docxPackageStamper(configuration(visits));
+
+        var stamped = stamper.stamp(template, objectContextFactory().empty());
+
+        assertEquals(expectedVisits, visits);
+        assertEquals(asciidoc(expectedParagraphs), toAsciidoc(stamped));
+    }
+
+    @DisplayName("Hooks of nested tables run in document order, resuming after each table once its hooks ran")
+    @Test
+    void runsNestedTablesInDocumentOrder() {
+        var visits = new ArrayList<String>();
+        var stamper = docxPackageStamper(configuration(visits));
+
+        stamper.stamp(nestedTables(3), objectContextFactory().empty());
+
+        assertEquals(List.of("level 0", "level 1", "level 2", "innermost", "after 2", "after 1", "after 0"), visits);
+    }
+
+    /// Edits the main document around the commented paragraph, using copies of the last paragraph of the document.
+    public interface IEditProcessor {
+
+        /// Removes the commented paragraph.
+        void removeParagraph();
+
+        /// Removes the first paragraph of the document.
+        void removeFirstParagraph();
+
+        /// Replaces the commented paragraph with a copy of the last paragraph.
+        void replaceParagraph();
+
+        /// Inserts a copy of the last paragraph at the top of the document.
+        void insertFirst();
+
+        /// Inserts a copy of the last paragraph right after the commented paragraph.
+        void insertAfter();
+    }
+
+    /// An implementation of [IEditProcessor] recording each of its invocations.
+    public static class EditProcessor
+            extends CommentProcessor
+            implements IEditProcessor {
+        private final List<String> visits;
+
+        EditProcessor(ProcessorContext processorContext, List<String> visits) {
+            super(processorContext);
+            this.visits = visits;
+        }
+
+        private List<Object> body() {
+            return context().part()
+                            .content();
+        }
+
+        private int position() {
+            var body = body();
+            var content = new ArrayList<List<Object>>(1);
+            paragraph().apply(accessor -> content.add(accessor.getContent()));
+            for (int i = 0; i < body.size(); i++)
+                if (body.get(i) instanceof P p && p.getContent() == content.getFirst()) return i;
+            throw new IllegalStateException("The commented paragraph is not a block of the document");
+        }
+
+        private P source() {
+            return WmlCloner.copy((P) body().getLast());
+        }
+
+        @Override
+        public void removeParagraph() {
+            visits.add("removeParagraph");
+            body().remove(position());
+        }
+
+        @Override
+        public void removeFirstParagraph() {
+            visits.add("removeFirstParagraph");
+            body().removeFirst();
+        }
+
+        @Override
+        public void replaceParagraph() {
+            visits.add("replaceParagraph");
+            body().set(position(), source());
+        }
+
+        @Override
+        public void insertFirst() {
+            visits.add("insertFirst");
+            body().addFirst(source());
+        }
+
+        @Override
+        public void insertAfter() {
+            visits.add("insertAfter");
+            body().add(position() + 1, source());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.MethodExecutor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import pro.verron.officestamper.core.Invoker;
+import pro.verron.officestamper.core.Invokers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Tests the resolution of the overloads of a method by [Invokers], and the call sites it remembers.
+class InvokersTest {
+
+    private static final MethodExecutor TEXT = (_, _, _) -> new TypedValue("text");
+    private static final MethodExecutor NUMBER = (_, _, _) -> new TypedValue("number");
+
+    private final Invokers invokers = new Invokers(Stream.of(new Invoker("format", List.of(CharSequence.class), TEXT),
+            new Invoker("format", List.of(Number.class), NUMBER)));
+    private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+    @DisplayName("Invokers resolve the overload accepting the argument classes, again and again")
+    @Test
+    void resolvesOverloads() {
+        for (int i = 0; i < 2; i++) {
+            assertSame(TEXT, resolve("format", TypeDescriptor.valueOf(String.class)));
+            assertSame(NUMBER, resolve("format", TypeDescriptor.valueOf(Integer.class)));
+            assertSame(NUMBER, resolve("format", TypeDescriptor.valueOf(Long.class)));
+        }
+    }
+
+    @DisplayName("Invokers resolve no overload for unknown names, arities or argument classes, again and again")
+    @Test
+    void resolvesNothing() {
+        for (int i = 0; i < 2; i++) {
+            assertNull(resolve("parse", TypeDescriptor.valueOf(String.class)));
+            assertNull(resolve("format"));
+            assertNull(resolve("format", TypeDescriptor.valueOf(Boolean.class)));
+        }
+    }
+
+    @DisplayName("Invokers accept any overload for arguments of unknown type")
+    @Test
+    void resolvesUnknownTypes() {
+        var executor = resolve("format", (TypeDescriptor) null);
+        assertTrue(executor == TEXT || executor == NUMBER);
+        assertSame(executor, resolve("format", (TypeDescriptor) null));
+    }
+
+    @DisplayName("Args validate lists and arrays of classes alike")
+    @Test
+    @SuppressWarnings("rawtypes")
+    void validatesArgs() {
+        var args = new Invokers.Args(List.of(CharSequence.class, Number.class));
+        assertTrue(args.validate(new Class<?>[]{String.class, Integer.class}));
+        assertTrue(args.validate(List.<Class>of(String.class, Integer.class)));
+        assertFalse(args.validate(new Class<?>[]{Integer.class, String.class}));
+        assertFalse(args.validate(List.<Class>of(Integer.class, String.class)));
+        assertFalse(args.validate(new Class<?>[]{String.class}));
+        assertFalse(args.validate(List.<Class>of(String.class)));
+    }
+
+    private MethodExecutor resolve(String name, TypeDescriptor... argumentTypes) {
+        List<TypeDescriptor> types = new ArrayList<>();
+        Collections.addAll(types, argumentTypes);
+        return invokers.resolve(context, context.getRootObject(), name, types);
+    }
+}
@@ -0,0 +1,110 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import pro.verron.officestamper.core.Invokers;
+import pro.verron.officestamper.core.MethodCall;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Tests the [MethodCall]s prepared for the executors of exposed interfaces and comment processors.
+class MethodCallTest {
+
+    @DisplayName("Method calls are specialized by arity")
+    @Test
+    void specializedByArity()
+            throws Exception {
+        var length = MethodCall.of(CharSequence.class.getMethod("length"));
+        assertInstanceOf(MethodCall.Arity0.class, length);
+        assertEquals(5, length.call("Homer")
+                              .getValue());
+
+        var charAt = MethodCall.of(CharSequence.class.getMethod("charAt", int.class));
+        assertInstanceOf(MethodCall.Arity1.class, charAt);
+        assertEquals('m', charAt.call("Homer", 2)
+                                .getValue());
+
+        var regionMatches = MethodCall.of(String.class.getMethod("regionMatches",
+                int.class,
+                String.class,
+                int.class,
+                int.class));
+        assertInstanceOf(MethodCall.ArityN.class, regionMatches);
+        assertEquals(true, regionMatches.call("Homer", 1, "Rome", 1, 2)
+                                        .getValue());
+    }
+
+    @DisplayName("Method calls to static methods ignore their receiver")
+    @Test
+    void callsStaticMethods()
+            throws Exception {
+        var of = MethodCall.of(List.class.getMethod("of", Object.class, Object.class));
+        assertInstanceOf(MethodCall.Arity2.class, of);
+        assertEquals(List.of("Homer", "Marge"), of.call("ignored", "Homer", "Marge")
+                                                  .getValue());
+
+        var copyOf = MethodCall.of(List.class.getMethod("copyOf", Collection.class));
+        assertEquals(List.of("Bart"), copyOf.call(List.of(), List.of("Bart"))
+                                            .getValue());
+        var invokers = assertDoesNotThrow(() -> new Invokers(Invokers.streamInvokersFromClass(Map.of(Greeter.class,
+                Greeter.polite()))));
+        var context = new StandardEvaluationContext();
+        var greet = invokers.resolve(context, context, "greet", List.of(TypeDescriptor.valueOf(String.class)));
+        assertNotNull(greet);
+        assertEquals("Hello Homer", greet.execute(context, context, "Homer")
+                                         .getValue());
+        var polite = invokers.resolve(context, context, "polite", List.of());
+        assertNotNull(polite);
+        assertInstanceOf(Greeter.class, polite.execute(context, context)
+                                              .getValue());
+    }
+
+    @DisplayName("Method calls fail like reflective invocations")
+    @Test
+    void failsLikeReflection()
+            throws Exception {
+        var charAt = MethodCall.of(CharSequence.class.getMethod("charAt", int.class));
+
+        var failure = assertThrows(AccessException.class, () -> charAt.call("Homer", 10));
+        var cause = assertInstanceOf(InvocationTargetException.class, failure.getCause());
+        assertInstanceOf(IndexOutOfBoundsException.class, cause.getCause());
+
+        assertThrows(IllegalArgumentException.class, () -> charAt.call("Homer", (Object) null));
+    }
+
+    @DisplayName("Method calls fall back to reflection for methods inaccessible to handles")
+    @Test
+    void fallsBackToReflection()
+            throws Exception {
+        var list = List.of("Homer", "Marge", "Bart");
+        var size = MethodCall.of(list.getClass()
+                                     .getMethod("size"));
+        assertInstanceOf(MethodCall.Reflective.class, size);
+        assertThrows(AccessException.class, () -> size.call(list));
+    }
+
+    /// An exposed interface declaring a static factory.
+    public interface Greeter {
+        /// Creates a polite greeter.
+        ///
+        /// @return the greeter.
+        static Greeter polite() {
+            return name -> "Hello " + name;
+        }
+
+        /// Greets someone.
+        ///
+        /// @param name the name.
+        ///
+        /// @return the greeting.
+        String greet(String name);
+    }
+}
@@ -2,6 +2,7 @@ package pro.verron.officestamper.test;
 
 import org.junit.jupiter.api.Test;
 import pro.verron.officestamper.api.PlaceholderHooker;
+import pro.verron.officestamper.api.PlaceholderScanner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
@@ -29,4 +30,20 @@ class PlaceholderPreprocessorTest {
                 
                 """, actual);
     }
+
+    @Test
+    void processWithScanner() {
+        var preparePlaceholders = new PlaceholderHooker(PlaceholderScanner.braces('#'), "inlineProcessor");
+        var document = makeWordResource("#{a}, #{b}#{c} and #{{d} or #{e");
+        preparePlaceholders.process(document);
+        var actual = toAsciidoc(document);
+        assertEquals("""
+                tag:[start, element=officestamper, type=inlineProcessor]atag:[end], \
+                tag:[start, element=officestamper, type=inlineProcessor]btag:[end]\
+                tag:[start, element=officestamper, type=inlineProcessor]ctag:[end] and #{{d} or #{e
+                
+                // section {pgMar={bottom=1440, left=1440, right=1440, top=1440}, pgSz={code=9, h=16839, w=11907}}
+                
+                """, actual);
+    }
 }
@@ -0,0 +1,128 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.jspecify.annotations.Nullable;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.DataBindingPropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.preset.OfficeStamperConfigurations.standard;
+import static pro.verron.officestamper.preset.OfficeStampers.docxPackageStamper;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+
+/// Tests the resolution of properties along a context branch, from its leaf to its root, as remembered across the
+/// hooks and stamps of a stamper.
+class PropertyResolutionTest {
+
+    @DisplayName("Properties resolve at the nearest level holding them, even when maps of a level hold different keys")
+    @Test
+    void resolvesAtNearestLevelHoldingProperty() {
+        var stamper = docxPackageStamper(standard());
+        var context = Map.of("show",
+                false,
+                "items",
+                List.of(Map.of("name", "First", "note", "-"),
+                        Map.of("name", "Second", "show", true),
+                        Map.of("name", "Third", "note", "-"),
+                        Map.of("name", "Fourth", "show", true)));
+
+        // Stamps twice, the second time with the resolutions remembered by the first.
+        for (int stamp = 0; stamp < 2; stamp++) {
+            var template = makeWordResource("""
+                    comment::1[start="0,0", end="0,7", value="repeatParagraph(items)"]
+                    ${name}#{displayParagraphIf(show)}
+                    """);
+            var actual = toAsciidoc(stamper.stamp(template, context));
+            assertEquals("""
+                    Second
+                    
+                    Fourth
+                    
+                    // section {pgMar={bottom=1440, left=1440, right=1440, top=1440}, pgSz={code=9, h=16839, w=11907}}
+                    
+                    """, actual);
+        }
+    }
+
+    @DisplayName("Properties resolve at the nearest level holding them, even when accessors decide per instance")
+    @Test
+    void resolvesWithInstanceDependentAccessors() {
+        var configuration = standard().setEvaluationContextFactory(object -> {
+            var context = new StandardEvaluationContext(object);
+            context.setPropertyAccessors(List.of(new NodeAccessor(), DataBindingPropertyAccessor.forReadOnlyAccess()));
+            return context;
+        });
+        var stamper = docxPackageStamper(configuration);
+        var context = new Node(Map.of("show",
+                false,
+                "items",
+                List.of(new Node(Map.of("name", "First")),
+                        new Node(Map.of("name", "Second", "show", true)),
+                        new Node(Map.of("name", "Third")),
+                        new Node(Map.of("name", "Fourth", "show", true)))));
+
+        for (int stamp = 0; stamp < 2; stamp++) {
+            var template = makeWordResource("""
+                    comment::1[start="0,0", end="0,7", value="repeatParagraph(items)"]
+                    ${name}#{displayParagraphIf(show)}
+                    """);
+            var actual = toAsciidoc(stamper.stamp(template, context));
+            assertEquals("""
+                    Second
+                    
+                    Fourth
+                    
+                    // section {pgMar={bottom=1440, left=1440, right=1440, top=1440}, pgSz={code=9, h=16839, w=11907}}
+                    
+                    """, actual);
+        }
+    }
+
+    /// A node of a document tree, like a JSON object, whose properties are its fields.
+    ///
+    /// @param fields the fields of the node.
+    public record Node(Map<String, Object> fields) {}
+
+    /// Reads the fields of a [Node], so whether it can read a property depends on the node, not on its class.
+    private static final class NodeAccessor
+            implements PropertyAccessor {
+        @Override
+        public Class<?>[] getSpecificTargetClasses() {
+            return new Class<?>[]{Node.class};
+        }
+
+        @Override
+        public boolean canRead(EvaluationContext context, @Nullable Object target, String name) {
+            return target instanceof Node node && node.fields()
+                                                      .containsKey(name);
+        }
+
+        @Override
+        public TypedValue read(EvaluationContext context, @Nullable Object target, String name)
+                throws AccessException {
+            if (!(target instanceof Node node)) throw new AccessException("Target is not a Node");
+            return new TypedValue(node.fields()
+                                      .get(name));
+        }
+
+        @Override
+        public boolean canWrite(EvaluationContext context, @Nullable Object target, String name) {
+            return false;
+        }
+
+        @Override
+        public void write(EvaluationContext context, @Nullable Object target, String name, @Nullable Object newValue)
+                throws AccessException {
+            throw new AccessException("Nodes are read-only");
+        }
+    }
+}
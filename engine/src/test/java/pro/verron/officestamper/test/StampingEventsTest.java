@@ -0,0 +1,98 @@
+package pro.verron.officestamper.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.preset.OfficeStampers.docxStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.exportWord;
+
+/// Tests the Java Flight Recorder events of the stamping lifecycle.
+class StampingEventsTest {
+
+    private static final List<String> EVENTS = List.of("pro.verron.officestamper.StreamStamp",
+            "pro.verron.officestamper.Stamp",
+            "pro.verron.officestamper.Hook",
+            "pro.verron.officestamper.Expression");
+
+    private static List<RecordedEvent> record(Path dump, boolean enabled)
+            throws IOException {
+        var template = new ByteArrayOutputStream();
+        exportWord(makeWordResource("Hello ${name}!"), template);
+        var stamper = docxStamper(OfficeStamperConfigurations.standard());
+        var context = objectContextFactory().name("Homer");
+        try (var recording = new Recording()) {
+            if (enabled) EVENTS.forEach(recording::enable);
+            recording.start();
+            stamper.stamp(new ByteArrayInputStream(template.toByteArray()), context, new ByteArrayOutputStream());
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump)
+                            .stream()
+                            .filter(event -> EVENTS.contains(event.getEventType()
+                                                                  .getName()))
+                            .toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var found = events.stream()
+                          .filter(event -> event.getEventType()
+                                                .getName()
+                                                .equals(name))
+                          .toList();
+        assertEquals(1, found.size(), () -> name + " in " + events);
+        return found.getFirst();
+    }
+
+    @DisplayName("Stamping emits its lifecycle events to a recording enabling them")
+    @Test
+    void emitsEnabledEvents(@TempDir Path directory)
+            throws IOException {
+        var events = record(directory.resolve("enabled.jfr"), true);
+
+        var stream = single(events, "pro.verron.officestamper.StreamStamp");
+        assertNull(stream.getString("template"));
+        assertTrue(stream.getLong("loadTime") > 0);
+        assertTrue(stream.getLong("exportTime") > 0);
+
+        var stamp = single(events, "pro.verron.officestamper.Stamp");
+        assertEquals(0, stamp.getLong("templateId"));
+        assertNotNull(stamp.getString("contextType"));
+
+        var hook = single(events, "pro.verron.officestamper.Hook");
+        assertEquals("/word/document.xml", hook.getString("partName"));
+        assertEquals("placeholder", hook.getString("hookType"));
+        assertEquals("name", hook.getString("expression"));
+        assertTrue(hook.getBoolean("processed"));
+
+        var expression = single(events, "pro.verron.officestamper.Expression");
+        assertEquals("name", expression.getString("expression"));
+        assertTrue(expression.getLong("evaluationTime") > 0);
+        assertNotNull(expression.getString("resolver"));
+        assertEquals(1, expression.getInt("insertSize"));
+        assertFalse(expression.getBoolean("failed"));
+    }
+
+    @DisplayName("Stamping emits no lifecycle event to a recording not enabling them")
+    @Test
+    void emitsNoEventByDefault(@TempDir Path directory)
+            throws IOException {
+        var events = record(directory.resolve("default.jfr"), false);
+
+        assertEquals(List.of(), events);
+    }
+}
@@ -0,0 +1,98 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pro.verron.officestamper.api.StampingMetrics.Outcome;
+import pro.verron.officestamper.api.StampingMetrics.Phase;
+import pro.verron.officestamper.preset.HistogramMetrics;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pro.verron.officestamper.preset.OfficeStampers.compiledDocxStamper;
+import static pro.verron.officestamper.preset.OfficeStampers.docxStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.exportWord;
+
+/// Tests the [pro.verron.officestamper.api.StampingMetrics] reported while stamping, and the [HistogramMetrics].
+class StampingMetricsTest {
+
+    @DisplayName("Stamping reports each of its phases to the metrics")
+    @Test
+    void reportsEachPhase() {
+        var metrics = new HistogramMetrics();
+        var configuration = OfficeStamperConfigurations.standard()
+                                                       .setMetrics(metrics);
+        var template = new ByteArrayOutputStream();
+        exportWord(makeWordResource("""
+                Hello ${name}!
+
+                Goodbye ${name}.
+                """), template);
+        var stamper = docxStamper(configuration);
+        var context = objectContextFactory().name("Homer");
+
+        stamper.stamp(new ByteArrayInputStream(template.toByteArray()), context, new ByteArrayOutputStream());
+
+        assertEquals(1, metrics.histogram(Phase.LOAD)
+                               .count());
+        assertTrue(metrics.histogram(Phase.PREPROCESS)
+                          .count() > 0);
+        assertEquals(1, metrics.histogram(Phase.HOOK_DISCOVERY)
+                               .count());
+        assertEquals(2, metrics.histogram(Phase.HOOK)
+                               .count());
+        assertEquals(2, metrics.hooks(Outcome.PROCESSED));
+        assertEquals(configuration.getPostprocessors()
+                                  .size(),
+                metrics.histogram(Phase.POSTPROCESS)
+                       .count());
+        assertEquals(1, metrics.histogram(Phase.EXPORT)
+                               .count());
+    }
+
+    @DisplayName("Stamping a compiled template reports the copy as the loading of each document, cached or not")
+    @Test
+    void reportsTheCopyAsLoad() {
+        var metrics = new HistogramMetrics();
+        var configuration = OfficeStamperConfigurations.standard()
+                                                       .setMetrics(metrics);
+        var template = new ByteArrayOutputStream();
+        exportWord(makeWordResource("Hello ${name}!\n"), template);
+        var stamper = compiledDocxStamper(configuration);
+        var context = objectContextFactory().name("Homer");
+
+        stamper.stamp(new ByteArrayInputStream(template.toByteArray()), context, new ByteArrayOutputStream());
+        stamper.stamp(new ByteArrayInputStream(template.toByteArray()), context, new ByteArrayOutputStream());
+
+        assertEquals(1, stamper.hits());
+        assertEquals(2, metrics.histogram(Phase.LOAD)
+                               .count());
+        assertEquals(2, metrics.histogram(Phase.EXPORT)
+                               .count());
+    }
+
+    @DisplayName("Histogram percentiles are within their bucket precision")
+    @Test
+    void readsPercentiles() {
+        var metrics = new HistogramMetrics();
+        for (int nanos = 1; nanos <= 100_000; nanos++)
+            metrics.phase(Phase.HOOK, "placeholder", nanos);
+
+        var histogram = metrics.histogram(Phase.HOOK);
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        assertEquals(50_000.5, histogram.mean());
+        assertEquals(50_000, histogram.percentile(50), 50_000 / 16.0);
+        assertEquals(99_000, histogram.percentile(99), 99_000 / 16.0);
+        assertEquals(100_000, histogram.percentile(100));
+
+        metrics.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+}
@@ -0,0 +1,182 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pro.verron.officestamper.api.OfficeStamperException;
+import pro.verron.officestamper.api.StampedDocument;
+import pro.verron.officestamper.preset.OfficeStamperConfigurations;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.preset.OfficeStampers.compiledDocxStamper;
+import static pro.verron.officestamper.test.utils.BatchFixtures.*;
+
+/// Tests the stamping of a compiled template with the contexts of a [Flow.Publisher].
+class StampingProcessorTest {
+
+    @DisplayName("processor stamps each context, holding no more documents than allowed for a slow subscriber")
+    @Test
+    void stampsEachContextWithBackpressure()
+            throws Exception {
+        var config = OfficeStamperConfigurations.standard();
+        var stamper = compiledDocxStamper(config);
+        var template = compileTemplate(stamper);
+        var contexts = namedContexts(12);
+        var publisher = new IterablePublisher(contexts);
+        var subscriber = new SlowSubscriber(publisher);
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            var processor = stamper.processor(template, executor, 3);
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            subscriber.done.get(1, TimeUnit.MINUTES);
+        }
+
+        assertTrue(subscriber.maxHeld.get() <= 3, "held " + subscriber.maxHeld.get());
+        assertEquals(12, subscriber.documents.size());
+        for (var document : subscriber.documents) {
+            assertStamped(config, document.context(), document.content());
+            assertSame(contexts.get((int) document.index()), document.context());
+        }
+    }
+
+    @DisplayName("processor terminates its subscriber and cancels upstream when an item fails")
+    @Test
+    void failsFast()
+            throws Exception {
+        var stamper = compiledDocxStamper(OfficeStamperConfigurations.standard());
+        var template = compileTemplate(stamper);
+        var publisher = new IterablePublisher(contextsFailingAtSecond());
+        var subscriber = new SlowSubscriber(publisher);
+        var processor = stamper.processor(template, Runnable::run, 1);
+        publisher.subscribe(processor);
+        processor.subscribe(subscriber);
+
+        var exception = assertThrows(ExecutionException.class, () -> subscriber.done.get(1, TimeUnit.MINUTES));
+        assertInstanceOf(OfficeStamperException.class, exception.getCause());
+        assertEquals(1, subscriber.documents.size());
+        assertTrue(publisher.cancelled);
+    }
+
+    @DisplayName("processor publishes every document to a subscriber requesting an unbounded count after a bounded one")
+    @Test
+    void saturatesDemand()
+            throws Exception {
+        var stamper = compiledDocxStamper(OfficeStamperConfigurations.standard());
+        var template = compileTemplate(stamper);
+        var publisher = new IterablePublisher(namedContexts(6));
+        var subscriber = new GreedySubscriber();
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var processor = stamper.processor(template, executor, 2);
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            subscriber.done.get(1, TimeUnit.MINUTES);
+        }
+
+        assertEquals(6, subscriber.documents.size());
+    }
+
+    /// Emits the elements of an iterable on the thread requesting them.
+    private static final class IterablePublisher
+            implements Flow.Publisher<Object> {
+        private final Iterator<?> iterator;
+        private final AtomicInteger emitted = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean completed;
+
+        private IterablePublisher(Iterable<?> elements) {
+            this.iterator = elements.iterator();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public synchronized void request(long n) {
+                    for (long i = 0; i < n && !cancelled && iterator.hasNext(); i++) {
+                        emitted.incrementAndGet();
+                        subscriber.onNext(iterator.next());
+                    }
+                    if (cancelled || completed || iterator.hasNext()) return;
+                    completed = true;
+                    subscriber.onComplete();
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /// Requests one document at a time, measuring how many documents the processor holds at each.
+    private static final class SlowSubscriber
+            implements Flow.Subscriber<StampedDocument> {
+        private final IterablePublisher publisher;
+        private final List<StampedDocument> documents = new CopyOnWriteArrayList<>();
+        private final AtomicInteger maxHeld = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private SlowSubscriber(IterablePublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(StampedDocument document) {
+            documents.add(document);
+            maxHeld.accumulateAndGet(publisher.emitted.get() - documents.size() + 1, Math::max);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+
+    /// Requests three documents, then an unbounded count of documents, as soon as it subscribes.
+    private static final class GreedySubscriber
+            implements Flow.Subscriber<StampedDocument> {
+        private final List<StampedDocument> documents = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(3);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(StampedDocument document) {
+            documents.add(document);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+}
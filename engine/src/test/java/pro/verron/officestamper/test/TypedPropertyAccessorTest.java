@@ -0,0 +1,137 @@
+package pro.verron.officestamper.test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import pro.verron.officestamper.core.DocxStamper;
+import pro.verron.officestamper.preset.MapAccessor;
+import pro.verron.officestamper.preset.TypedPropertyAccessor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.preset.EvaluationContextFactories.typedFactory;
+import static pro.verron.officestamper.preset.OfficeStamperConfigurations.standard;
+import static pro.verron.officestamper.test.utils.DocxFactory.makeWordResource;
+
+/// Tests the [TypedPropertyAccessor], the single lookup of the [MapAccessor], and the
+/// [pro.verron.officestamper.preset.EvaluationContextFactories#typedFactory()] combining them.
+class TypedPropertyAccessorTest {
+
+    private final StandardEvaluationContext context = new StandardEvaluationContext();
+
+    @DisplayName("Typed accessor reads record components and JavaBean getters")
+    @Test
+    void readsRecordsAndBeans()
+            throws AccessException {
+        var accessor = new TypedPropertyAccessor();
+        var person = new Person("Homer", true);
+
+        assertEquals("Homer", accessor.read(context, person, "name")
+                                      .getValue());
+        assertEquals(true, accessor.read(context, person, "married")
+                                   .getValue());
+        assertEquals("Springfield", accessor.read(context, new Address("Springfield"), "city")
+                                            .getValue());
+        assertFalse(accessor.canWrite(context, person, "name"));
+    }
+
+    @DisplayName("Typed accessor leaves unknown properties, Object methods and classes to the other accessors")
+    @Test
+    void readsOnlyGetters() {
+        var accessor = new TypedPropertyAccessor();
+        var person = new Person("Homer", true);
+
+        assertFalse(accessor.canRead(context, person, "age"));
+        assertFalse(accessor.canRead(context, person, "nickname"));
+        assertFalse(accessor.canRead(context, person, "class"));
+        assertFalse(accessor.canRead(context, Person.class, "name"));
+        assertFalse(accessor.canRead(context, null, "name"));
+    }
+
+    @DisplayName("Map accessor reads null values and rejects missing keys")
+    @Test
+    void readsMapsOnce()
+            throws AccessException {
+        var accessor = new MapAccessor();
+        var map = new HashMap<String, Object>();
+        map.put("nickname", null);
+
+        assertNull(accessor.read(context, map, "nickname")
+                           .getValue());
+        assertThrows(AccessException.class, () -> accessor.read(context, map, "name"));
+    }
+
+    @DisplayName("Typed factory stamps records, beans and maps, interpreted or compiled")
+    @Test
+    void stampsWithTypedFactory() {
+        var household = new Household(new Person("Homer", true), new Address("Springfield"), Map.of("pet", "Santa"));
+        for (var mode : SpelCompilerMode.values()) {
+            var configuration = standard().setEvaluationContextFactory(typedFactory())
+                                          .setCompilerMode(mode);
+            var stamper = new DocxStamper(configuration);
+            for (int stamp = 0; stamp < 3; stamp++) {
+                var template = makeWordResource("""
+                        ${person.name} ${person.married} ${address.city} ${extra.pet} ${person.nickname}
+                        """);
+                var actual = toAsciidoc(stamper.stamp(template, household));
+                assertEquals("""
+                        Homer true Springfield Santa Maxi
+
+                        // section {pgMar={bottom=1440, left=1440, right=1440, top=1440}, pgSz={code=9, h=16839, w=11907}}
+
+                        """, actual, mode.name());
+            }
+            if (mode == SpelCompilerMode.IMMEDIATE) {
+                var statistics = stamper.expressionCache()
+                                        .statistics()
+                                        .stream()
+                                        .filter(candidate -> candidate.expression()
+                                                                      .equals("person.name"))
+                                        .findFirst()
+                                        .orElseThrow();
+                assertTrue(statistics.compiled());
+                assertTrue(statistics.compiledEvaluations() > 0);
+            }
+        }
+    }
+
+    /// The context of the stamping.
+    ///
+    /// @param person the person, a JavaBean.
+    /// @param address the address, a record.
+    /// @param extra extra values.
+    public record Household(Person person, Address address, Map<String, Object> extra) {}
+
+    /// An address.
+    ///
+    /// @param city the city.
+    public record Address(String city) {}
+
+    /// A person, as a JavaBean with a public field.
+    public static class Person {
+        /// The nickname, read by the data binding accessor only.
+        public final String nickname = "Maxi";
+        private final String name;
+        private final boolean married;
+
+        Person(String name, boolean married) {
+            this.name = name;
+            this.married = married;
+        }
+
+        /// @return the name.
+        public String getName() {
+            return name;
+        }
+
+        /// @return whether the person is married.
+        public boolean isMarried() {
+            return married;
+        }
+    }
+}
@@ -41,6 +41,7 @@ public class ArchUnitTests {
                                                                        "java..",
                                                                        "org.docx4j..",
                                                                        "org.jspecify..",
+                                                                       "jdk.jfr..",
                                                                        "org.jvnet.jaxb2_commons..",
                                                                        "jakarta.xml.bind..",
                                                                        "org.slf4j..",
@@ -0,0 +1,74 @@
+package pro.verron.officestamper.test.utils;
+
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import pro.verron.officestamper.api.CompiledStreamStamper;
+import pro.verron.officestamper.api.CompiledTemplate;
+import pro.verron.officestamper.api.OfficeStamperConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pro.verron.officestamper.asciidoc.AsciiDocCompiler.toAsciidoc;
+import static pro.verron.officestamper.preset.OfficeStampers.docxPackageStamper;
+import static pro.verron.officestamper.test.utils.ContextFactory.objectContextFactory;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getResource;
+import static pro.verron.officestamper.test.utils.ResourceUtils.getWordResource;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.loadWord;
+
+/// Fixtures shared by the tests stamping a compiled template with many contexts, the `MultiStampTest.docx` template
+/// repeating a paragraph for each name of its context.
+public class BatchFixtures {
+
+    private static final String TEMPLATE = "MultiStampTest.docx";
+
+    /// Default constructor.
+    public BatchFixtures() {
+    }
+
+    /// Compiles the template with the given stamper.
+    ///
+    /// @param stamper the stamper.
+    ///
+    /// @return the compiled template.
+    public static CompiledTemplate<WordprocessingMLPackage> compileTemplate(
+            CompiledStreamStamper<WordprocessingMLPackage> stamper
+    ) {
+        return stamper.compile(getResource(Path.of(TEMPLATE)));
+    }
+
+    /// Creates contexts holding distinct names, each one stamping successfully.
+    ///
+    /// @param count the number of contexts.
+    ///
+    /// @return the contexts.
+    public static List<Object> namedContexts(int count) {
+        var factory = objectContextFactory();
+        var contexts = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            contexts.add(factory.names("Homer " + i, "Marge " + i));
+        return contexts;
+    }
+
+    /// Creates three contexts, the second one failing to stamp for lacking the names of the template.
+    ///
+    /// @return the contexts.
+    public static List<Object> contextsFailingAtSecond() {
+        var factory = objectContextFactory();
+        return List.of(factory.names("Homer"), Map.of(), factory.names("Bart"));
+    }
+
+    /// Asserts that a document is the template stamped with the given context, as a single stamp would write it.
+    ///
+    /// @param configuration the configuration of the stamper.
+    /// @param context the context.
+    /// @param content the bytes of the stamped document.
+    public static void assertStamped(OfficeStamperConfiguration configuration, Object context, byte[] content) {
+        var expected = toAsciidoc(docxPackageStamper(configuration).stamp(getWordResource(TEMPLATE), context));
+        var actual = toAsciidoc(loadWord(new ByteArrayInputStream(content)));
+        assertEquals(expected, actual);
+    }
+}
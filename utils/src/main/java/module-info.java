@@ -17,6 +17,7 @@ module pro.verron.officestamper.utils {
     requires jakarta.xml.bind;
     requires org.slf4j;
     requires org.docx4j.core;
+    requires org.apache.commons.compress;
     requires org.jspecify;
     requires pro.verron.officestamper.asciidoc;
 
@@ -0,0 +1,58 @@
+package pro.verron.officestamper.utils.openpackaging;
+
+import org.docx4j.openpackaging.packages.OpcPackage;
+import org.docx4j.openpackaging.parts.Part;
+import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPartAbstractImage;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/// An index of the image parts added to a package, by the part they are related to and by the digest of their content,
+/// so that inserting the same image again reuses its image part.
+///
+/// An image part is reused only from the part it was created for, the drawing of an image referencing the relationship
+/// from its own part. The index is attached to the package on the first image inserted, until [#detach] is called once
+/// the package is processed.
+public final class ImagePartIndex {
+    private static final String KEY = ImagePartIndex.class.getName();
+
+    private final Map<Part, Map<String, BinaryPartAbstractImage>> parts = new IdentityHashMap<>();
+
+    private ImagePartIndex() {
+    }
+
+    /// Returns the image part holding the content of the given digest for the given part, creating it on the first
+    /// request.
+    ///
+    /// @param document the package holding the part.
+    /// @param part the part where the image is inserted.
+    /// @param digest the digest of the content of the image.
+    /// @param factory creates the image part, related to the part, on the first request.
+    ///
+    /// @return the image part holding the image content, related to the part.
+    public static BinaryPartAbstractImage imagePart(
+            OpcPackage document,
+            Part part,
+            String digest,
+            Supplier<BinaryPartAbstractImage> factory
+    ) {
+        return of(document).parts.computeIfAbsent(part, _ -> new HashMap<>())
+                                 .computeIfAbsent(digest, _ -> factory.get());
+    }
+
+    private static ImagePartIndex of(OpcPackage document) {
+        if (document.getUserData(KEY) instanceof ImagePartIndex index) return index;
+        var index = new ImagePartIndex();
+        document.setUserData(KEY, index);
+        return index;
+    }
+
+    /// Detaches the index from the given package, if any.
+    ///
+    /// @param document the package.
+    public static void detach(OpcPackage document) {
+        document.setUserData(KEY, null);
+    }
+}
@@ -0,0 +1,239 @@
+package pro.verron.officestamper.utils.openpackaging;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.docx4j.XmlUtils;
+import org.docx4j.openpackaging.contenttype.ContentTypeManager;
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.io3.stores.PartStore;
+import org.docx4j.openpackaging.parts.*;
+import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPart;
+import org.jspecify.annotations.Nullable;
+
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/// A [PartStore] keeping a package as its zip bytes, inflating a part only when docx4j asks for its content.
+///
+/// docx4j's own zip store inflates every entry of the package when loading it, and deflates every part again when
+/// saving it. As a source, this store keeps the compressed bytes only; as the target of a save whose source is such a
+/// store, it copies the compressed entries of the parts that were never unmarshalled or loaded as is, so that untouched
+/// styles, themes, fonts or glossaries are neither inflated nor deflated.
+final class LazyZipPartStore
+        implements PartStore {
+    private final @Nullable ZipFile zip;
+    private final Map<String, String> renamed = new HashMap<>();
+    private @Nullable PartStore sourcePartStore;
+    private @Nullable ZipArchiveOutputStream zos;
+
+    private LazyZipPartStore(@Nullable ZipFile zip) {
+        this.zip = zip;
+    }
+
+    /// Creates a source store over the given zip bytes.
+    ///
+    /// @param bytes the bytes of the package.
+    ///
+    /// @return the store, reading its parts from the bytes.
+    ///
+    /// @throws IOException if the bytes are not a readable zip.
+    static LazyZipPartStore of(byte[] bytes)
+            throws IOException {
+        var zip = ZipFile.builder()
+                         .setSeekableByteChannel(new SeekableInMemoryByteChannel(bytes))
+                         .get();
+        return new LazyZipPartStore(zip);
+    }
+
+    /// Creates a target store, copying the untouched parts of a lazy source store verbatim.
+    ///
+    /// @return the store, writing to the output stream given by the save.
+    static LazyZipPartStore target() {
+        return new LazyZipPartStore(null);
+    }
+
+    private static String zipName(Part part) {
+        return part.getPartName()
+                   .getName()
+                   .substring(1);
+    }
+
+    private @Nullable ZipArchiveEntry entry(String name) {
+        if (zip == null) return null;
+        return zip.getEntry(renamed.getOrDefault(name, name));
+    }
+
+    @Override
+    public void setSourcePartStore(PartStore partStore) {
+        this.sourcePartStore = partStore;
+    }
+
+    /// Tells whether the package holds an entry of the given name.
+    ///
+    /// @param partName the name of the entry, without leading slash.
+    ///
+    /// @return `true` when the entry exists.
+    public boolean partExists(String partName) {
+        return entry(partName) != null;
+    }
+
+    @Override
+    public @Nullable InputStream loadPart(String partName)
+            throws Docx4JException {
+        var entry = entry(partName);
+        if (entry == null) return null;
+        // docx4j sniffs some parts before reading them, resetting the stream afterward, so the part is inflated whole.
+        try (var input = zip.getInputStream(entry)) {
+            return new ByteArrayInputStream(input.readAllBytes());
+        } catch (IOException e) {
+            throw new Docx4JException("Error reading " + partName, e);
+        }
+    }
+
+    @Override
+    public long getPartSize(String partName)
+            throws Docx4JException {
+        var entry = entry(partName);
+        if (entry == null) throw new Docx4JException("Part " + partName + " not found");
+        return entry.getSize();
+    }
+
+    @Override
+    public void rename(PartName oldName, PartName newName) {
+        var oldKey = oldName.getName()
+                            .substring(1);
+        renamed.put(newName.getName()
+                           .substring(1), renamed.getOrDefault(oldKey, oldKey));
+    }
+
+    @Override
+    public void setOutputStream(OutputStream outputStream) {
+        this.zos = new ZipArchiveOutputStream(outputStream);
+    }
+
+    private ZipArchiveOutputStream zos()
+            throws Docx4JException {
+        if (zos == null) throw new Docx4JException("No output stream to save to");
+        return zos;
+    }
+
+    // Copies the compressed entry of the source store, when it is a lazy one holding the part.
+    private boolean copyVerbatim(String name)
+            throws IOException, Docx4JException {
+        if (!(sourcePartStore instanceof LazyZipPartStore source) || source.zip == null) return false;
+        var entry = source.entry(name);
+        if (entry == null) return false;
+        var copy = new ZipArchiveEntry(name);
+        copy.setMethod(entry.getMethod());
+        copy.setCrc(entry.getCrc());
+        copy.setSize(entry.getSize());
+        copy.setCompressedSize(entry.getCompressedSize());
+        copy.setTime(entry.getTime());
+        try (var raw = source.zip.getRawInputStream(entry)) {
+            zos().addRawArchiveEntry(copy, raw);
+        }
+        return true;
+    }
+
+    private void write(String name, Writer writer)
+            throws Docx4JException {
+        try {
+            var output = zos();
+            output.putArchiveEntry(new ZipArchiveEntry(name));
+            writer.write(output);
+            output.closeArchiveEntry();
+        } catch (Docx4JException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new Docx4JException("Failed to put " + name, e);
+        }
+    }
+
+    @Override
+    public void saveContentTypes(ContentTypeManager ctm)
+            throws Docx4JException {
+        write("[Content_Types].xml", ctm::marshal);
+    }
+
+    @Override
+    public void saveJaxbXmlPart(JaxbXmlPart part)
+            throws Docx4JException {
+        var name = zipName(part);
+        var opcPackage = part.getPackage();
+        var untouched = !part.isUnmarshalled() && (opcPackage == null || !opcPackage.isWasStrict());
+        try {
+            if (untouched && copyVerbatim(name)) return;
+        } catch (IOException e) {
+            throw new Docx4JException("Failed to copy " + name, e);
+        }
+        write(name, part::marshal);
+    }
+
+    @Override
+    public void saveCustomXmlDataStoragePart(CustomXmlDataStoragePart part)
+            throws Docx4JException {
+        write(zipName(part),
+                output -> part.getData()
+                              .writeDocument(output));
+    }
+
+    @Override
+    public void saveXmlPart(XmlPart part)
+            throws Docx4JException {
+        write(zipName(part),
+                output -> XmlUtils.getTransformerFactory()
+                                  .newTransformer()
+                                  .transform(new DOMSource(part.getDocument()), new StreamResult(output)));
+    }
+
+    @Override
+    public void saveBinaryPart(Part part)
+            throws Docx4JException {
+        var name = zipName(part);
+        try {
+            if (part instanceof BinaryPart binaryPart && !binaryPart.isLoaded() && copyVerbatim(name)) return;
+        } catch (IOException e) {
+            throw new Docx4JException("Failed to copy " + name, e);
+        }
+        write(name, output -> output.write(bytes(part, name)));
+    }
+
+    private byte[] bytes(Part part, String name)
+            throws Docx4JException, IOException {
+        if (part instanceof BinaryPart binaryPart && binaryPart.isLoaded()) return binaryPart.getBytes();
+        if (sourcePartStore == null) throw new Docx4JException("No source to read " + name + " from");
+        try (var input = sourcePartStore.loadPart(name)) {
+            if (input == null) throw new Docx4JException("Part " + name + " not found");
+            return input.readAllBytes();
+        }
+    }
+
+    @Override
+    public void finishSave()
+            throws Docx4JException {
+        try {
+            zos().close();
+        } catch (IOException e) {
+            throw new Docx4JException("Failed to close the package", e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (zip != null) ZipFile.closeQuietly(zip);
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream output)
+                throws Exception;
+    }
+}
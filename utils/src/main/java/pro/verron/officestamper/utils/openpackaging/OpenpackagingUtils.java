@@ -1,10 +1,14 @@
 package pro.verron.officestamper.utils.openpackaging;
 
 import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.io3.Load3;
+import org.docx4j.openpackaging.io3.Save;
 import org.docx4j.openpackaging.packages.PresentationMLPackage;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import pro.verron.officestamper.utils.UtilsException;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -30,15 +34,67 @@ public class OpenpackagingUtils {
         }
     }
 
+    /// Loads a Word document from the provided input stream, keeping its parts compressed until their content is
+    /// needed.
+    ///
+    /// The parts are only inflated when docx4j unmarshals or loads them, and [#exportWord] copies the ones never
+    /// unmarshalled nor loaded verbatim into the exported document, so parts the stamping does not touch, like styles,
+    /// themes, fonts or glossaries, cost neither memory nor time beyond their compressed bytes.
+    ///
+    /// Documents that are not zip packages, like Flat OPC documents, are loaded by [#loadWord] instead.
+    ///
+    /// @param is the input stream containing the Word document data
+    ///
+    /// @return a WordprocessingMLPackage representing the loaded document
+    ///
+    /// @throws UtilsException if there is an error loading the document
+    public static WordprocessingMLPackage loadWordLazily(InputStream is) {
+        try {
+            return loadWordLazily(is.readAllBytes());
+        } catch (IOException e) {
+            throw new UtilsException(e);
+        }
+    }
+
+    /// Loads a Word document from the provided bytes, keeping its parts compressed until their content is needed, as
+    /// [#loadWordLazily(InputStream)] does.
+    ///
+    /// The bytes are not copied: they must not be modified while the document is in use.
+    ///
+    /// @param bytes the bytes of the Word document
+    ///
+    /// @return a WordprocessingMLPackage representing the loaded document
+    ///
+    /// @throws UtilsException if there is an error loading the document
+    public static WordprocessingMLPackage loadWordLazily(byte[] bytes) {
+        try {
+            if (!isZip(bytes)) return loadWord(new ByteArrayInputStream(bytes));
+            var partStore = LazyZipPartStore.of(bytes);
+            var document = (WordprocessingMLPackage) new Load3(partStore).get();
+            document.setSourcePartStore(partStore);
+            return document;
+        } catch (IOException | Docx4JException | ClassCastException e) {
+            throw new UtilsException(e);
+        }
+    }
+
+    private static boolean isZip(byte[] bytes) {
+        return bytes.length >= 4 && bytes[0] == 'P' && bytes[1] == 'K' && bytes[2] == 3 && bytes[3] == 4;
+    }
+
     /// Exports a Word document to the provided output stream.
     ///
+    /// A document loaded with [#loadWordLazily] has its untouched parts copied verbatim from its source package.
+    ///
     /// @param wordprocessingMLPackage the Word document to export
     /// @param os the output stream to write the document to
     ///
     /// @throws UtilsException if there is an error exporting the document
     public static void exportWord(WordprocessingMLPackage wordprocessingMLPackage, OutputStream os) {
         try {
-            wordprocessingMLPackage.save(os);
+            if (wordprocessingMLPackage.getSourcePartStore() instanceof LazyZipPartStore)
+                new Save(wordprocessingMLPackage, LazyZipPartStore.target()).save(os);
+            else wordprocessingMLPackage.save(os);
         } catch (Docx4JException e) {
             throw new UtilsException(e);
         }
@@ -0,0 +1,145 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.openpackaging.parts.WordprocessingML.CommentsPart;
+import org.docx4j.wml.CommentRangeEnd;
+import org.docx4j.wml.CommentRangeStart;
+import org.docx4j.wml.Comments.Comment;
+import org.docx4j.wml.ContentAccessor;
+import org.docx4j.wml.R.CommentReference;
+import org.jspecify.annotations.Nullable;
+import pro.verron.officestamper.utils.UtilsException;
+import pro.verron.officestamper.utils.openpackaging.OpenpackagingFactory;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.docx4j.XmlUtils.unwrap;
+
+/// An index of the comments of a document, mapping each comment id to its [Comment] and to the range start, range end
+/// and reference marking it in the document.
+///
+/// Resolving a comment hook used to rebuild a map of the whole comments part and to walk the part from the range start
+/// until its end and reference were found, for each comment. The index is instead filled by [#indexer] during the
+/// single pre-processing traversal of the document, then attached to the document until [#detach] is called.
+///
+/// The index describes the document as it was traversed. Content copied afterward, by a repetition for instance, holds
+/// new range starts unknown to the index, and [#range(CommentRangeStart)] only answers for the indexed range starts
+/// whose end is still in place: callers fall back to searching the document otherwise.
+public final class CommentIndex {
+    private static final String KEY = CommentIndex.class.getName();
+
+    private final WordprocessingMLPackage document;
+    private final Map<BigInteger, Range> ranges = new HashMap<>();
+    private final Set<BigInteger> ambiguous = new HashSet<>();
+    private @Nullable Map<BigInteger, Comment> comments;
+
+    private CommentIndex(WordprocessingMLPackage document) {
+        this.document = document;
+    }
+
+    /// Creates an empty index attached to the given document, replacing any previous one, and returns the handlers
+    /// filling it during the traversal of the document.
+    ///
+    /// @param document the document to index.
+    ///
+    /// @return the handlers recording the comment range starts, range ends and references of the document.
+    public static ElementHandlers indexer(WordprocessingMLPackage document) {
+        var index = new CommentIndex(document);
+        document.setUserData(KEY, index);
+        return new ElementHandlers().onEnter(CommentRangeStart.class, index::start)
+                                    .onEnter(CommentRangeEnd.class, index::end)
+                                    .onEnter(CommentReference.class, index::reference);
+    }
+
+    /// Returns the index attached to the given document.
+    ///
+    /// @param document the document.
+    ///
+    /// @return the index, or `null` when the document was not indexed.
+    public static @Nullable CommentIndex of(WordprocessingMLPackage document) {
+        return document.getUserData(KEY) instanceof CommentIndex index ? index : null;
+    }
+
+    /// Detaches the index from the given document, if any.
+    ///
+    /// @param document the document.
+    public static void detach(WordprocessingMLPackage document) {
+        document.setUserData(KEY, null);
+    }
+
+    private static boolean isHeldByItsParent(Object element, @Nullable Object parent) {
+        if (!(parent instanceof ContentAccessor accessor)) return false;
+        for (var sibling : accessor.getContent())
+            if (unwrap(sibling) == element) return true;
+        return false;
+    }
+
+    private void start(CommentRangeStart start) {
+        var id = start.getId();
+        if (ranges.putIfAbsent(id, new Range(start, null, null)) != null) ambiguous.add(id);
+    }
+
+    // Like a search from the range start, only the first end and reference following it are kept.
+    private void end(CommentRangeEnd end) {
+        var range = ranges.get(end.getId());
+        if (range != null && range.end == null) ranges.put(end.getId(), new Range(range.start, end, range.reference));
+    }
+
+    private void reference(CommentReference reference) {
+        var range = ranges.get(reference.getId());
+        if (range != null && range.reference == null)
+            ranges.put(reference.getId(), new Range(range.start, range.end, reference));
+    }
+
+    /// Returns the indexed range of the given comment range start.
+    ///
+    /// @param start the comment range start.
+    ///
+    /// @return the range, or `null` when the range start was not indexed, its id is not unique in the document, or its
+    ///         range end is missing or no longer in place.
+    public @Nullable Range range(CommentRangeStart start) {
+        var id = start.getId();
+        if (ambiguous.contains(id)) return null;
+        var range = ranges.get(id);
+        if (range == null || range.start != start || range.end == null) return null;
+        if (!isHeldByItsParent(range.end, range.end.getParent())) return null;
+        return range;
+    }
+
+    /// Returns the comment of the given id, the comments part being mapped on the first call.
+    ///
+    /// @param id the comment id.
+    ///
+    /// @return the comment, or `null` when the comments part holds no comment of this id.
+    public @Nullable Comment comment(BigInteger id) {
+        if (comments == null) comments = mapComments(document);
+        return comments.get(id);
+    }
+
+    private static Map<BigInteger, Comment> mapComments(WordprocessingMLPackage document) {
+        var name = OpenpackagingFactory.newPartName("/word/comments.xml");
+        var map = new HashMap<BigInteger, Comment>();
+        if (!(document.getParts()
+                      .get(name) instanceof CommentsPart part)) return map;
+        try {
+            for (var comment : part.getContents()
+                                   .getComment())
+                map.putIfAbsent(comment.getId(), comment);
+        } catch (Docx4JException e) {
+            throw new UtilsException(e);
+        }
+        return map;
+    }
+
+    /// The elements marking a comment in the document.
+    ///
+    /// @param start the comment range start.
+    /// @param end the comment range end, `null` while not found yet.
+    /// @param reference the comment reference, `null` when the comment has none.
+    public record Range(CommentRangeStart start, @Nullable CommentRangeEnd end, @Nullable CommentReference reference) {}
+}
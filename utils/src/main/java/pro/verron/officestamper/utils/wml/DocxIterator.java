@@ -54,6 +54,24 @@ public class DocxIterator
         return filter(aClass::isInstance).map(aClass::cast);
     }
 
+    /// Returns the live content list this iterator descends into when it meets the given element, `null` if the element
+    /// has no iterable content.
+    ///
+    /// @param element the unwrapped element.
+    ///
+    /// @return the content of the element, or `null` for leaf elements.
+    public static @Nullable List<Object> children(Object element) {
+        return switch (element) {
+            case ContentAccessor contentAccessor -> contentAccessor.getContent();
+            case SdtRun sdtRun -> sdtRun.getSdtContent()
+                                        .getContent();
+            case SdtBlock sdtBlock -> sdtBlock.getSdtContent()
+                                              .getContent();
+            case Pict pict -> pict.getAnyAndAny();
+            default -> null;
+        };
+    }
+
     @Override
     public void reset() {
         initialize();
@@ -71,27 +89,8 @@ public class DocxIterator
         var result = next;
 
         next = null;
-        switch (result) {
-            case ContentAccessor contentAccessor -> {
-                var content = contentAccessor.getContent();
-                iteratorQueue.add(content.iterator());
-            }
-            case SdtRun sdtRun -> {
-                var sdtContent = sdtRun.getSdtContent();
-                var content = sdtContent.getContent();
-                iteratorQueue.add(content.iterator());
-            }
-            case SdtBlock sdtBlock -> {
-                var sdtContent = sdtBlock.getSdtContent();
-                var content = sdtContent.getContent();
-                iteratorQueue.add(content.iterator());
-            }
-            case Pict pict -> {
-                var content = pict.getAnyAndAny();
-                iteratorQueue.add(content.iterator());
-            }
-            default -> { /* DO NOTHING */ }
-        }
+        var children = children(result);
+        if (children != null) iteratorQueue.add(children.iterator());
         while (!iteratorQueue.isEmpty() && next == null) {
             var nextIterator = iteratorQueue.poll();
             if (nextIterator.hasNext()) {
@@ -0,0 +1,141 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.TraversalUtil;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.docx4j.XmlUtils.unwrap;
+
+/// A registry of element handlers, applied together during a single traversal of each textual part of a document.
+///
+/// Each pre-processing step used to walk the whole document on its own, collecting the elements it cares about before
+/// rewriting them. Registering the steps as handlers instead lets a document be walked once per part, whatever the
+/// number of steps.
+///
+/// An element can be handled when the traversal enters it, before its descendants, or when it exits it, after its
+/// descendants:
+/// - an entry handler sees the element as left by the handlers of its ancestors, and the traversal then descends into
+///   the content the handler left, so content it rewrites is visited;
+/// - an exit handler sees the element as rewritten by the handlers of its descendants.
+///
+/// The handlers registered for a given element run in registration order. Children are iterated over a snapshot of
+/// their parent's content, so a handler may remove, replace or insert siblings of the element it receives; siblings it
+/// inserts are not visited.
+///
+/// Handlers needing a state of their own for each visited document, like an index of its elements, are created by the
+/// factories registered with [#onDocument(Function)] when the traversal of a document starts.
+public final class ElementHandlers {
+    private final List<Handler<?>> entryHandlers = new ArrayList<>();
+    private final List<Handler<?>> exitHandlers = new ArrayList<>();
+    private final List<Function<? super WordprocessingMLPackage, ElementHandlers>> documentHandlers =
+            new ArrayList<>();
+
+    /// Registers a handler for the elements of the given type, applied when the traversal enters them.
+    ///
+    /// @param type the type of elements to handle, subtypes included.
+    /// @param handler the handler, applied to each matching element before its descendants.
+    /// @param <T> the type of elements to handle.
+    ///
+    /// @return this registry, to chain registrations.
+    public <T> ElementHandlers onEnter(Class<T> type, Consumer<? super T> handler) {
+        entryHandlers.add(new Handler<>(type, handler));
+        return this;
+    }
+
+    /// Registers a handler for the elements of the given type, applied when the traversal exits them.
+    ///
+    /// @param type the type of elements to handle, subtypes included.
+    /// @param handler the handler, applied to each matching element after its descendants.
+    /// @param <T> the type of elements to handle.
+    ///
+    /// @return this registry, to chain registrations.
+    public <T> ElementHandlers onExit(Class<T> type, Consumer<? super T> handler) {
+        exitHandlers.add(new Handler<>(type, handler));
+        return this;
+    }
+
+    /// Registers a factory of handlers, called each time the traversal of a document starts. The handlers it returns
+    /// are applied during this traversal only, after the handlers registered directly on this registry.
+    ///
+    /// @param factory the factory, given the document about to be visited.
+    ///
+    /// @return this registry, to chain registrations.
+    public ElementHandlers onDocument(Function<? super WordprocessingMLPackage, ElementHandlers> factory) {
+        documentHandlers.add(factory);
+        return this;
+    }
+
+    /// Returns a registry holding only the factories registered with [#onDocument(Function)], to give the copy of an
+    /// already visited document the state its handlers keep for each document, without applying the other handlers to
+    /// it again.
+    ///
+    /// @return a new registry sharing the factories of this one.
+    public ElementHandlers perDocument() {
+        var handlers = new ElementHandlers();
+        handlers.documentHandlers.addAll(documentHandlers);
+        return handlers;
+    }
+
+    /// Tells whether no handler has been registered.
+    ///
+    /// @return `true` when visiting a document would do nothing.
+    public boolean isEmpty() {
+        return entryHandlers.isEmpty() && exitHandlers.isEmpty() && documentHandlers.isEmpty();
+    }
+
+    /// Applies the registered handlers to the main document part, the headers, the footers, the footnotes and the
+    /// endnotes of the document, traversing each of them once.
+    ///
+    /// @param document the document to visit.
+    public void visit(WordprocessingMLPackage document) {
+        if (isEmpty()) return;
+        var handlers = forDocument(document);
+        for (var root : WmlUtils.textualRoots(document))
+            handlers.visitChildren(root);
+    }
+
+    /// Applies the registered handlers to the descendants of the given element, the element itself excluded. The
+    /// factories registered with [#onDocument(Function)] are not called, no document being visited.
+    ///
+    /// @param root the element to traverse.
+    public void visit(Object root) {
+        if (isEmpty()) return;
+        visitChildren(unwrap(root));
+    }
+
+    private ElementHandlers forDocument(WordprocessingMLPackage document) {
+        if (documentHandlers.isEmpty()) return this;
+        var handlers = new ElementHandlers();
+        handlers.entryHandlers.addAll(entryHandlers);
+        handlers.exitHandlers.addAll(exitHandlers);
+        for (var factory : documentHandlers) {
+            var created = factory.apply(document);
+            handlers.entryHandlers.addAll(created.entryHandlers);
+            handlers.exitHandlers.addAll(created.exitHandlers);
+        }
+        return handlers;
+    }
+
+    private void visitChildren(Object parent) {
+        var children = TraversalUtil.getChildrenImpl(parent);
+        if (children == null || children.isEmpty()) return;
+        for (var child : children.toArray()) {
+            var element = unwrap(child);
+            for (var handler : entryHandlers)
+                handler.accept(element);
+            visitChildren(element);
+            for (var handler : exitHandlers)
+                handler.accept(element);
+        }
+    }
+
+    private record Handler<T>(Class<T> type, Consumer<? super T> consumer) {
+        private void accept(Object element) {
+            if (type.isInstance(element)) consumer.accept(type.cast(element));
+        }
+    }
+}
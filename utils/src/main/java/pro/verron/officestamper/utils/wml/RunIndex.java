@@ -0,0 +1,239 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.wml.ContentAccessor;
+import org.docx4j.wml.P;
+import org.docx4j.wml.R;
+import org.jspecify.annotations.Nullable;
+import org.jvnet.jaxb2_commons.ppp.Child;
+import pro.verron.officestamper.utils.UtilsException;
+
+import java.util.*;
+
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+import static pro.verron.officestamper.utils.wml.WmlUtils.*;
+
+/// An index of the runs of a paragraph, giving the offset of each run in the paragraph's text.
+///
+/// [WmlUtils#insertSmartTag(String, P, String, int, int)] stringifies the paragraph and wraps its runs again for each
+/// inserted tag, so hooking every placeholder of a paragraph one at a time costs a rescan per placeholder. The index is
+/// built once per paragraph instead, and [#insertSmartTags(String, List)] rewrites each run touched by the spans in a
+/// single pass, then rebuilds each affected content list once. The resulting content is the one of inserting the tags
+/// one by one, from left to right.
+///
+/// Only paragraphs whose runs are laid out flat can be indexed: a run nested in another run, as in a text box, or a
+/// paragraph holding text outside of its runs is rejected by [#of(P)], callers then fall back to
+/// [WmlUtils#insertSmartTag(String, P, String, int, int)].
+public final class RunIndex {
+    private final List<Entry> entries;
+    private final String text;
+
+    private RunIndex(List<Entry> entries, String text) {
+        this.entries = entries;
+        this.text = text;
+    }
+
+    /// Indexes the runs of the given paragraph.
+    ///
+    /// @param paragraph the paragraph to index.
+    ///
+    /// @return the index, or `null` when the runs of the paragraph cannot be indexed flat.
+    public static @Nullable RunIndex of(P paragraph) {
+        var entries = new ArrayList<Entry>();
+        var builder = new StringBuilder();
+        var expectedRuns = new IdentityHashMap<List<Object>, Integer>();
+        var iterator = new DocxIterator(paragraph).selectClass(R.class);
+        while (iterator.hasNext()) {
+            var run = iterator.next();
+            if (!(run.getParent() instanceof ContentAccessor parent) || !isFlat(paragraph, run)) return null;
+            var siblings = parent.getContent();
+            var runText = asString(run);
+            entries.add(new Entry(builder.length(), run, runText, siblings));
+            expectedRuns.merge(siblings, 1, Integer::sum);
+            builder.append(runText);
+        }
+        var text = builder.toString();
+        if (!text.equals(asString(paragraph))) return null;
+        if (!holdRunsDirectly(entries, expectedRuns)) return null;
+        return new RunIndex(entries, text);
+    }
+
+    private static boolean isFlat(P paragraph, R run) {
+        var parent = run.getParent();
+        while (parent != paragraph) {
+            if (parent instanceof R || !(parent instanceof Child child)) return false;
+            parent = child.getParent();
+        }
+        return true;
+    }
+
+    // Checks each run is an unwrapped element of its parent's content, scanning each content list once.
+    private static boolean holdRunsDirectly(List<Entry> entries, Map<List<Object>, Integer> expectedRuns) {
+        var runs = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (var entry : entries)
+            runs.add(entry.run);
+        for (var expected : expectedRuns.entrySet()) {
+            var found = 0;
+            for (var element : expected.getKey())
+                if (runs.contains(element)) found++;
+            if (found != expected.getValue()) return false;
+        }
+        return true;
+    }
+
+    /// Returns the text of the indexed paragraph, the concatenation of its runs' text.
+    ///
+    /// @return the text of the paragraph.
+    public String text() {
+        return text;
+    }
+
+    /// Replaces the given spans of the paragraph's text with smart tags holding their expression.
+    ///
+    /// @param element the type of the smart tags.
+    /// @param spans the spans to replace, in ascending order and not overlapping.
+    ///
+    /// @return `true` when the tags were inserted, `false` when the spans cannot be inserted in a single pass, the
+    ///         paragraph being left untouched.
+    public boolean insertSmartTags(String element, List<Span> spans) {
+        var firsts = new int[spans.size()];
+        var lasts = new int[spans.size()];
+        var previousEnd = 0;
+        for (int i = 0, first = 0; i < spans.size(); i++) {
+            var span = spans.get(i);
+            if (span.start < previousEnd || span.end <= span.start || span.end > text.length()) return false;
+            previousEnd = span.end;
+            while (entries.get(first).end() <= span.start) first++;
+            var last = first;
+            while (last + 1 < entries.size() && entries.get(last + 1).start <= span.end) last++;
+            for (int k = first + 1; k <= last; k++)
+                if (entries.get(k).siblings != entries.get(first).siblings) return false;
+            firsts[i] = first;
+            lasts[i] = last;
+        }
+        for (int i = 0; i < spans.size(); i++)
+            insert(element, spans.get(i), firsts[i], lasts[i]);
+        rebuild();
+        return true;
+    }
+
+    private void insert(String element, Span span, int first, int last) {
+        var firstEntry = entries.get(first);
+        var current = firstEntry.current;
+        if (current == null)
+            throw new UtilsException("Span of '%s' starts in a run replaced by a previous span".formatted(
+                    span.expression));
+        var run = newRun(span.expression);
+        run.setRPr(current.getRPr());
+        var tag = newSmartTag("officestamper", newCtAttr("type", element), run);
+        if (first == last) firstEntry.insertWithin(span, tag);
+        else {
+            firstEntry.keepPrefix(span.start);
+            firstEntry.after.add(tag);
+            for (int k = first + 1; k < last; k++)
+                entries.get(k).current = null;
+            entries.get(last)
+                   .keepSuffix(span.end);
+        }
+    }
+
+    private void rebuild() {
+        var slots = new IdentityHashMap<Object, List<Object>>();
+        var lists = Collections.newSetFromMap(new IdentityHashMap<List<Object>, Boolean>());
+        for (var entry : entries) {
+            if (!entry.changed()) continue;
+            slots.put(entry.run, entry.slot());
+            lists.add(entry.siblings);
+        }
+        for (var siblings : lists) {
+            var content = new ArrayList<>(siblings.size() + 2);
+            for (var sibling : siblings) {
+                var slot = slots.get(sibling);
+                if (slot == null) content.add(sibling);
+                else content.addAll(slot);
+            }
+            siblings.clear();
+            siblings.addAll(content);
+        }
+    }
+
+    /// A span of the paragraph's text to replace with a smart tag.
+    ///
+    /// @param start the offset of the first character of the span.
+    /// @param end the offset following the last character of the span.
+    /// @param expression the expression to hold in the smart tag.
+    public record Span(int start, int end, String expression) {}
+
+    /// The state of an indexed run while tags are inserted, the run being replaced in its content list by the
+    /// elements inserted before it, the run currently holding the remainder of its text, if any, and the elements
+    /// inserted after it.
+    private static final class Entry {
+        private final int start;
+        private final R run;
+        private final String text;
+        private final List<Object> siblings;
+        private final List<Object> before = new ArrayList<>();
+        private final List<Object> after = new ArrayList<>();
+        private @Nullable R current;
+        private int segmentStart;
+
+        private Entry(int start, R run, String text, List<Object> siblings) {
+            this.start = start;
+            this.run = run;
+            this.text = text;
+            this.siblings = siblings;
+            this.current = run;
+            this.segmentStart = start;
+        }
+
+        private int end() {
+            return start + text.length();
+        }
+
+        private boolean changed() {
+            return current != run || !before.isEmpty() || !after.isEmpty();
+        }
+
+        private List<Object> slot() {
+            var slot = new ArrayList<>(before);
+            if (current != null) slot.add(current);
+            slot.addAll(after);
+            return slot;
+        }
+
+        private String segment(int from, int to) {
+            return text.substring(from - start, to - start);
+        }
+
+        private void insertWithin(Span span, Object tag) {
+            var current = Objects.requireNonNull(this.current);
+            var end = end();
+            if (span.start == segmentStart) {
+                before.add(tag);
+                setText(current, segment(span.end, end));
+                segmentStart = span.end;
+            }
+            else if (span.end == end) {
+                setText(current, segment(segmentStart, span.start));
+                after.add(tag);
+                segmentStart = end;
+            }
+            else {
+                var rPr = current.getRPr();
+                before.add(create(segment(segmentStart, span.start), rPr));
+                before.add(tag);
+                this.current = create(segment(span.end, end), rPr);
+                segmentStart = span.end;
+            }
+        }
+
+        private void keepPrefix(int to) {
+            setText(Objects.requireNonNull(current), segment(segmentStart, to));
+            segmentStart = end();
+        }
+
+        private void keepSuffix(int from) {
+            setText(Objects.requireNonNull(current), segment(from, end()));
+            segmentStart = from;
+        }
+    }
+}
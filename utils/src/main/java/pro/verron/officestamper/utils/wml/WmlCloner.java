@@ -0,0 +1,248 @@
+package pro.verron.officestamper.utils.wml;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.annotation.XmlTransient;
+import jakarta.xml.bind.annotation.XmlType;
+import org.docx4j.XmlUtils;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Node;
+import pro.verron.officestamper.utils.UtilsException;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/// Copies WordprocessingML object graphs without going through XML.
+///
+/// [XmlUtils#deepCopy(Object)] marshals an element to XML and unmarshals it back, which dominates the cost of
+/// repeating content. This cloner instead walks the docx4j object graph (paragraphs, runs, tables, rows, cells,
+/// structured document tags, smart tags, drawings and their properties) and copies it field by field:
+/// - docx4j JAXB objects are instantiated through their no-arg constructor, the fields to copy of each class being
+///   reflected once; transient fields are not copied, as they are not marshalled either;
+/// - [JAXBElement] wrappers and lists are rebuilt around the copied values, docx4j parent-tracking lists included;
+/// - strings, numbers, booleans, enums and qualified names are shared, as they are immutable;
+/// - the `parent` pointer of each copied child is set to its copied owner, the one of the returned copy is left
+///   `null`, as after [XmlUtils#deepCopy(Object)].
+///
+/// When the graph holds a value of an unknown type, the whole copy falls back to [XmlUtils#deepCopy(Object)].
+///
+/// A copy can also share parts of the original graph, see [#copy(Object, Predicate)].
+public final class WmlCloner {
+    private static final Logger log = LoggerFactory.getLogger(WmlCloner.class);
+    private static final String DOCX4J_PACKAGE = "org.docx4j.";
+    private static final Predicate<Object> NOTHING = _ -> false;
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return Plan.of(type);
+        }
+    };
+    private static final ClassValue<ListPlan> LIST_PLANS = new ClassValue<>() {
+        @Override
+        protected ListPlan computeValue(Class<?> type) {
+            return ListPlan.of(type);
+        }
+    };
+
+    private WmlCloner() {
+        throw new UtilsException("Utility class shouldn't be instantiated");
+    }
+
+    /// Returns a deep copy of the given WordprocessingML element.
+    ///
+    /// @param element the element to copy, a docx4j object or a [JAXBElement] wrapping one.
+    /// @param <T> the type of the element.
+    ///
+    /// @return the copy, detached from any parent.
+    public static <T> T copy(T element) {
+        return copy(element, NOTHING);
+    }
+
+    /// Returns a copy of the given WordprocessingML element, sharing the list elements selected by `shared` with the
+    /// original instead of copying them.
+    ///
+    /// Shared elements are held by both the original and the copy, their `parent` pointer still designating their
+    /// owner in the original: they must be treated as read-only by the users of the copy. The lists holding them in
+    /// the copy are new lists, so they can be removed from or replaced in the copy without affecting the original.
+    ///
+    /// When the graph holds a value of an unknown type, the copy falls back to [XmlUtils#deepCopy(Object)], sharing
+    /// nothing.
+    ///
+    /// @param element the element to copy, a docx4j object or a [JAXBElement] wrapping one.
+    /// @param shared selects the list elements to share, as held by their list, [JAXBElement] wrappers included.
+    /// @param <T> the type of the element.
+    ///
+    /// @return the copy, detached from any parent.
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T element, Predicate<Object> shared) {
+        try {
+            return (T) copyValue(element, null, shared);
+        } catch (UnsupportedCopy e) {
+            log.debug("Falling back to XML round trip to copy {}: {}", element.getClass(), e.getMessage());
+            return XmlUtils.deepCopy(element);
+        }
+    }
+
+    private static @Nullable Object copyValue(@Nullable Object value, @Nullable Object owner, Predicate<Object> shared) {
+        return switch (value) {
+            case null -> null;
+            case String _, Boolean _, Character _, Enum<?> _, QName _ -> value;
+            case Number number when isJavaType(number) -> number;
+            case byte[] bytes -> bytes.clone();
+            case XMLGregorianCalendar calendar -> calendar.clone();
+            case Node node -> node.cloneNode(true);
+            case JAXBElement<?> element -> copyElement(element, owner, shared);
+            case List<?> list -> LIST_PLANS.get(list.getClass())
+                                           .copy(list, owner, shared);
+            case Object object when object.getClass()
+                                          .getName()
+                                          .startsWith(DOCX4J_PACKAGE) -> PLANS.get(object.getClass())
+                                                                              .copy(object, owner, shared);
+            default -> throw new UnsupportedCopy(value.getClass());
+        };
+    }
+
+    private static boolean isJavaType(Object object) {
+        return object.getClass()
+                     .getName()
+                     .startsWith("java.");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static JAXBElement<?> copyElement(
+            JAXBElement<?> element,
+            @Nullable Object owner,
+            Predicate<Object> shared
+    ) {
+        var copy = new JAXBElement(element.getName(),
+                element.getDeclaredType(),
+                element.getScope(),
+                copyValue(element.getValue(), owner, shared));
+        copy.setNil(element.isNil());
+        return copy;
+    }
+
+    private static Object instantiate(Constructor<?> constructor, Object... arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new UtilsException(e);
+        }
+    }
+
+    private static Object get(Field field, Object instance) {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new UtilsException(e);
+        }
+    }
+
+    private static void set(Field field, Object instance, @Nullable Object value) {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new UtilsException(e);
+        }
+    }
+
+    /// The way to copy instances of a docx4j class, reflected once per class.
+    ///
+    /// @param constructor the no-arg constructor, `null` if the class cannot be copied structurally.
+    /// @param fields the instance fields to copy.
+    /// @param parent the `parent` pointer field, if any.
+    private record Plan(@Nullable Constructor<?> constructor, Field[] fields, @Nullable Field parent) {
+        private static Plan of(Class<?> type) {
+            if (!type.isAnnotationPresent(XmlType.class)) return new Plan(null, new Field[0], null);
+            var fields = new ArrayList<Field>();
+            Field parent = null;
+            try {
+                var constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                for (var current = type; current != Object.class; current = current.getSuperclass()) {
+                    for (var field : current.getDeclaredFields()) {
+                        var modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || field.isSynthetic()) continue;
+                        if (Modifier.isFinal(modifiers)) return new Plan(null, new Field[0], null);
+                        var isTransient = field.isAnnotationPresent(XmlTransient.class);
+                        if (isTransient && !"parent".equals(field.getName())) continue;
+                        field.setAccessible(true);
+                        if (isTransient) parent = field;
+                        else fields.add(field);
+                    }
+                }
+                return new Plan(constructor, fields.toArray(Field[]::new), parent);
+            } catch (NoSuchMethodException | RuntimeException e) {
+                log.debug("Cannot copy {} structurally", type, e);
+                return new Plan(null, new Field[0], null);
+            }
+        }
+
+        private Object copy(Object original, @Nullable Object owner, Predicate<Object> shared) {
+            if (constructor == null) throw new UnsupportedCopy(original.getClass());
+            var copy = instantiate(constructor);
+            if (parent != null) set(parent, copy, owner);
+            for (var field : fields)
+                set(field, copy, copyValue(get(field, original), copy, shared));
+            return copy;
+        }
+    }
+
+    /// The way to rebuild lists of a given class, plain lists or docx4j lists tracking the parent of their elements.
+    ///
+    /// @param constructor the constructor taking the owner of the list, `null` for plain lists.
+    /// @param supported whether lists of this class can be rebuilt.
+    private record ListPlan(@Nullable Constructor<?> constructor, boolean supported) {
+        private static ListPlan of(Class<?> type) {
+            if (type == ArrayList.class) return new ListPlan(null, true);
+            if (!type.getName()
+                     .startsWith(DOCX4J_PACKAGE) && !type.getName()
+                                                         .startsWith("org.jvnet.jaxb2_commons."))
+                return new ListPlan(null, false);
+            try {
+                var constructor = type.getConstructor(Object.class);
+                return new ListPlan(constructor, true);
+            } catch (NoSuchMethodException e) {
+                return new ListPlan(null, false);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Object> copy(List<?> original, @Nullable Object owner, Predicate<Object> shared) {
+            if (!supported) throw new UnsupportedCopy(original.getClass());
+            var copy = constructor == null ? new ArrayList<>(original.size()) : (List<Object>) instantiate(
+                    constructor,
+                    (Object) owner);
+            var sharesAny = false;
+            for (var element : original) {
+                var isShared = element != null && shared.test(element);
+                sharesAny |= isShared;
+                copy.add(isShared ? null : copyValue(element, owner, shared));
+            }
+            if (!sharesAny) return copy;
+            // docx4j lists set the parent of the elements added to them, shared elements are put in place afterward
+            // through replaceAll, which they do not override.
+            var originals = original.iterator();
+            copy.replaceAll(element -> {
+                var originalElement = originals.next();
+                return element == null ? originalElement : element;
+            });
+            return copy;
+        }
+    }
+
+    private static final class UnsupportedCopy
+            extends RuntimeException {
+        private UnsupportedCopy(Class<?> type) {
+            super("Unsupported type " + type.getName(), null, false, false);
+        }
+    }
+}
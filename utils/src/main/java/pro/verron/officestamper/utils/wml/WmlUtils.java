@@ -3,12 +3,11 @@ package pro.verron.officestamper.utils.wml;
 import jakarta.xml.bind.JAXBElement;
 import org.docx4j.TraversalUtil;
 import org.docx4j.finders.CommentFinder;
-import org.docx4j.model.structure.HeaderFooterPolicy;
-import org.docx4j.model.structure.SectionWrapper;
 import org.docx4j.model.styles.StyleUtil;
 import org.docx4j.openpackaging.exceptions.Docx4JException;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
 import org.docx4j.openpackaging.parts.JaxbXmlPart;
+import org.docx4j.openpackaging.parts.Part;
 import org.docx4j.openpackaging.parts.WordprocessingML.CommentsPart;
 import org.docx4j.utils.TraversalUtilVisitor;
 import org.docx4j.vml.CTShadow;
@@ -34,6 +33,8 @@ import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
 import static org.docx4j.XmlUtils.unwrap;
+import static org.docx4j.openpackaging.parts.relationships.Namespaces.FOOTER;
+import static org.docx4j.openpackaging.parts.relationships.Namespaces.HEADER;
 import static pro.verron.officestamper.utils.wml.WmlFactory.*;
 
 /// Utility class with methods to help in the interaction with [WordprocessingMLPackage] documents and their elements,
@@ -559,12 +560,39 @@ public final class WmlUtils {
         WmlUtils.visitPartIfExists(visitor, mainDocumentPart.getEndNotesPart());
     }
 
-    private static Stream<Object> streamHeaderFooterPart(WordprocessingMLPackage document) {
-        return document.getDocumentModel()
-                       .getSections()
-                       .stream()
-                       .map(SectionWrapper::getHeaderFooterPolicy)
-                       .flatMap(WmlUtils::extractHeaderFooterParts);
+    /// Lists the roots of the document's textual content: the main document part, each distinct header and footer
+    /// part, and the footnotes and endnotes when present, in the order [#visitDocument] visits them.
+    ///
+    /// @param document the WordprocessingMLPackage representing the document
+    ///
+    /// @return the roots, each to be traversed with [TraversalUtil#getChildrenImpl(Object)]
+    public static List<Object> textualRoots(WordprocessingMLPackage document) {
+        var mainDocumentPart = document.getMainDocumentPart();
+        var roots = new ArrayList<Object>();
+        roots.add(mainDocumentPart);
+        WmlUtils.streamHeaderFooterPart(document)
+                .filter(part -> roots.stream()
+                                     .noneMatch(root -> root == part))
+                .forEach(roots::add);
+        ofNullable(mainDocumentPart.getFootnotesPart()).map(WmlUtils::extractContent)
+                                                       .ifPresent(roots::add);
+        ofNullable(mainDocumentPart.getEndNotesPart()).map(WmlUtils::extractContent)
+                                                      .ifPresent(roots::add);
+        return roots;
+    }
+
+    // Lists the header and footer parts from the relationships of the main document part rather than from its
+    // sections, since the document model would unmarshal the settings part, and read every section, to build them.
+    private static Stream<Part> streamHeaderFooterPart(WordprocessingMLPackage document) {
+        var relationshipsPart = document.getMainDocumentPart()
+                                        .getRelationshipsPart();
+        if (relationshipsPart == null) return Stream.empty();
+        return relationshipsPart.getRelationships()
+                                .getRelationship()
+                                .stream()
+                                .filter(relationship -> HEADER.equals(relationship.getType())
+                                                        || FOOTER.equals(relationship.getType()))
+                                .map(relationshipsPart::getPart);
     }
 
     private static void visitPartIfExists(TraversalUtilVisitor<?> visitor, @Nullable JaxbXmlPart<?> part) {
@@ -572,17 +600,6 @@ public final class WmlUtils {
                         .ifPresent(c -> TraversalUtil.visit(c, visitor));
     }
 
-    private static Stream<JaxbXmlPart<?>> extractHeaderFooterParts(HeaderFooterPolicy hfp) {
-        Stream.Builder<JaxbXmlPart<?>> builder = Stream.builder();
-        ofNullable(hfp.getFirstHeader()).ifPresent(builder::add);
-        ofNullable(hfp.getDefaultHeader()).ifPresent(builder::add);
-        ofNullable(hfp.getEvenHeader()).ifPresent(builder::add);
-        ofNullable(hfp.getFirstFooter()).ifPresent(builder::add);
-        ofNullable(hfp.getDefaultFooter()).ifPresent(builder::add);
-        ofNullable(hfp.getEvenFooter()).ifPresent(builder::add);
-        return builder.build();
-    }
-
     private static Object extractContent(JaxbXmlPart<?> jaxbXmlPart) {
         try {
             return jaxbXmlPart.getContents();
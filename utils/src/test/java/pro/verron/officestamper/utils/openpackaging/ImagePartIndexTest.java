@@ -0,0 +1,42 @@
+package pro.verron.officestamper.utils.openpackaging;
+
+import org.docx4j.openpackaging.exceptions.InvalidFormatException;
+import org.docx4j.openpackaging.parts.PartName;
+import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPartAbstractImage;
+import org.docx4j.openpackaging.parts.WordprocessingML.ImagePngPart;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.utils.wml.WmlFactory.newWord;
+
+class ImagePartIndexTest {
+
+    @Test
+    @DisplayName("imagePart reuses the image part of a same digest and part, until the index is detached")
+    void reusesImageParts() {
+        var document = newWord();
+        var part = document.getMainDocumentPart();
+        var created = new AtomicInteger();
+        Supplier<BinaryPartAbstractImage> factory = () -> {
+            try {
+                return new ImagePngPart(new PartName("/word/media/image" + created.incrementAndGet() + ".png"));
+            } catch (InvalidFormatException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        var butterfly = ImagePartIndex.imagePart(document, part, "butterfly", factory);
+        assertSame(butterfly, ImagePartIndex.imagePart(document, part, "butterfly", factory));
+        assertNotSame(butterfly, ImagePartIndex.imagePart(document, part, "map", factory));
+        assertEquals(2, created.get());
+
+        ImagePartIndex.detach(document);
+        assertNull(document.getUserData(ImagePartIndex.class.getName()));
+        assertNotSame(butterfly, ImagePartIndex.imagePart(document, part, "butterfly", factory));
+        assertEquals(3, created.get());
+    }
+}
@@ -0,0 +1,53 @@
+package pro.verron.officestamper.utils.openpackaging;
+
+import org.docx4j.openpackaging.parts.JaxbXmlPart;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pro.verron.officestamper.utils.wml.WmlUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.utils.openpackaging.OpenpackagingUtils.*;
+import static pro.verron.officestamper.utils.wml.WmlFactory.newParagraph;
+import static pro.verron.officestamper.utils.wml.WmlFactory.newWord;
+
+class OpenpackagingUtilsTest {
+
+    private static byte[] entry(byte[] zip, String name)
+            throws IOException {
+        try (var input = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (var entry = input.getNextEntry(); entry != null; entry = input.getNextEntry())
+                if (entry.getName()
+                         .equals(name)) return input.readAllBytes();
+        }
+        return fail("No entry " + name);
+    }
+
+    @Test
+    @DisplayName("loadWordLazily only unmarshals the parts asked for, and exportWord copies the others verbatim")
+    void copiesUntouchedPartsVerbatim()
+            throws IOException {
+        var template = new ByteArrayOutputStream();
+        exportWord(newWord(), template);
+
+        var document = loadWordLazily(new ByteArrayInputStream(template.toByteArray()));
+        var styles = (JaxbXmlPart<?>) document.getMainDocumentPart()
+                                              .getStyleDefinitionsPart();
+        assertFalse(styles.isUnmarshalled());
+        document.getMainDocumentPart()
+                .getContent()
+                .add(newParagraph("Hello"));
+        var stamped = new ByteArrayOutputStream();
+        exportWord(document, stamped);
+
+        assertFalse(styles.isUnmarshalled());
+        assertArrayEquals(entry(template.toByteArray(), "word/styles.xml"),
+                entry(stamped.toByteArray(), "word/styles.xml"));
+        var reloaded = loadWord(new ByteArrayInputStream(stamped.toByteArray()));
+        assertEquals("Hello", WmlUtils.asString(reloaded.getMainDocumentPart()));
+    }
+}
@@ -0,0 +1,61 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+class CommentIndexTest {
+
+    @Test
+    @DisplayName("indexer maps each comment to its range start, range end, reference and comment")
+    void indexesComments()
+            throws Docx4JException {
+        var document = newWord();
+        var id = BigInteger.ONE;
+        var comment = newComment(id, "displayParagraphIf(true)");
+        document.getMainDocumentPart()
+                .getCommentsPart()
+                .getContents()
+                .getComment()
+                .add(comment);
+        var paragraph = newParagraph(List.of(newRun("text")));
+        var start = newCommentRangeStart(id, paragraph);
+        var end = newCommentRangeEnd(id, paragraph);
+        var referenceRun = newRun(List.of());
+        var reference = newCommentReference(id, referenceRun);
+        referenceRun.getContent()
+                    .add(reference);
+        paragraph.getContent()
+                 .addFirst(start);
+        paragraph.getContent()
+                 .addAll(List.of(end, referenceRun));
+        document.getMainDocumentPart()
+                .getContent()
+                .add(paragraph);
+
+        new ElementHandlers().onDocument(CommentIndex::indexer)
+                             .visit(document);
+
+        var index = CommentIndex.of(document);
+        assertNotNull(index);
+        var range = index.range(start);
+        assertNotNull(range);
+        assertSame(end, range.end());
+        assertSame(reference, range.reference());
+        assertSame(comment, index.comment(id));
+
+        paragraph.getContent()
+                 .remove(end);
+        assertNull(index.range(start), "a range whose end was removed is not answered");
+        assertNull(index.range(newCommentRangeStart(id, paragraph)), "an unknown range start is not answered");
+
+        CommentIndex.detach(document);
+        assertNull(CommentIndex.of(document));
+    }
+}
@@ -0,0 +1,42 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.wml.P;
+import org.docx4j.wml.R;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+class ElementHandlersTest {
+
+    @Test
+    @DisplayName("visit applies entry handlers before and exit handlers after the descendants")
+    void appliesHandlersInTraversalOrder() {
+        var body = newBody(List.<Object>of(newParagraph(List.of(newRun("a"), newRun("b"))), newParagraph(newRun("c"))));
+        var events = new ArrayList<String>();
+        new ElementHandlers().onEnter(P.class, p -> events.add("enter " + WmlUtils.asString(p)))
+                             .onEnter(R.class, r -> events.add("run " + WmlUtils.asString(r)))
+                             .onExit(P.class, p -> events.add("exit " + WmlUtils.asString(p)))
+                             .visit(body);
+        assertEquals(List.of("enter ab", "run a", "run b", "exit ab", "enter c", "run c", "exit c"), events);
+    }
+
+    @Test
+    @DisplayName("visit lets handlers remove the element they receive")
+    void letsHandlersRemoveTheirElement() {
+        var paragraph = newParagraph(List.of(newRun("a"), newRun("b"), newRun("c")));
+        var visited = new ArrayList<String>();
+        new ElementHandlers().onEnter(R.class, r -> {
+                                 visited.add(WmlUtils.asString(r));
+                                 if ("b".equals(WmlUtils.asString(r))) paragraph.getContent()
+                                                                              .remove(r);
+                             })
+                             .visit(paragraph);
+        assertEquals(List.of("a", "b", "c"), visited);
+        assertEquals("ac", WmlUtils.asString(paragraph));
+    }
+}
@@ -0,0 +1,55 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.wml.CTSmartTagRun;
+import org.docx4j.wml.P;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.utils.wml.WmlFactory.newParagraph;
+import static pro.verron.officestamper.utils.wml.WmlFactory.newRun;
+
+class RunIndexTest {
+
+    private static String describe(P paragraph) {
+        var builder = new StringBuilder();
+        for (var element : paragraph.getContent()) {
+            if (element instanceof CTSmartTagRun tag) builder.append("[")
+                                                            .append(WmlUtils.asString(tag))
+                                                            .append("]");
+            else builder.append(WmlUtils.asString(element))
+                        .append("|");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("insertSmartTags replaces every span in a single pass")
+    void insertsAllSpans() {
+        var paragraph = newParagraph(List.of(newRun("Hello ${a}, ${"), newRun("b} and ${c}"), newRun("!")));
+        var index = RunIndex.of(paragraph);
+        assertNotNull(index);
+        assertEquals("Hello ${a}, ${b} and ${c}!", index.text());
+
+        var inserted = index.insertSmartTags("placeholder",
+                List.of(new RunIndex.Span(6, 10, "a"),
+                        new RunIndex.Span(12, 16, "b"),
+                        new RunIndex.Span(21, 25, "c")));
+
+        assertTrue(inserted);
+        assertEquals("Hello |[a], |[b] and |[c]!|", describe(paragraph));
+    }
+
+    @Test
+    @DisplayName("of rejects paragraphs whose text is not held by their runs")
+    void rejectsNestedRuns() {
+        var inner = newParagraph(List.of(newRun("${a}")));
+        var outer = newRun("x");
+        outer.getContent()
+             .add(WmlFactory.newSmartTag("officestamper", WmlFactory.newCtAttr("type", "x"), newRun("y")));
+        assertNotNull(RunIndex.of(inner));
+        assertNull(RunIndex.of(newParagraph(List.of(outer))));
+    }
+}
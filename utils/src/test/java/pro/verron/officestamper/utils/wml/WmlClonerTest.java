@@ -0,0 +1,150 @@
+package pro.verron.officestamper.utils.wml;
+
+import org.docx4j.XmlUtils;
+import org.docx4j.jaxb.Context;
+import org.docx4j.wml.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static pro.verron.officestamper.utils.wml.WmlFactory.*;
+
+class WmlClonerTest {
+
+    private static final String DRAWING = """
+            <w:p xmlns:w="http://schemas.openxmlformats.org/wordprocessingml/2006/main"
+                 xmlns:wp="http://schemas.openxmlformats.org/drawingml/2006/wordprocessingDrawing"
+                 xmlns:a="http://schemas.openxmlformats.org/drawingml/2006/main"
+                 xmlns:pic="http://schemas.openxmlformats.org/drawingml/2006/picture"
+                 xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+              <w:r>
+                <w:drawing>
+                  <wp:inline distT="0" distB="0" distL="0" distR="0">
+                    <wp:extent cx="914400" cy="914400"/>
+                    <wp:docPr id="1" name="Picture 1"/>
+                    <a:graphic>
+                      <a:graphicData uri="http://schemas.openxmlformats.org/drawingml/2006/picture">
+                        <pic:pic>
+                          <pic:nvPicPr><pic:cNvPr id="0" name="image.png"/><pic:cNvPicPr/></pic:nvPicPr>
+                          <pic:blipFill><a:blip r:embed="rId5"/><a:stretch><a:fillRect/></a:stretch></pic:blipFill>
+                          <pic:spPr><a:xfrm><a:off x="0" y="0"/><a:ext cx="914400" cy="914400"/></a:xfrm></pic:spPr>
+                        </pic:pic>
+                      </a:graphicData>
+                    </a:graphic>
+                  </wp:inline>
+                </w:drawing>
+              </w:r>
+            </w:p>
+            """;
+
+    private static String xml(Object element) {
+        return XmlUtils.marshaltoString(element, true, false, Context.jc);
+    }
+
+    @Test
+    @DisplayName("copy produces an equal but independent paragraph")
+    void copiesParagraph() {
+        var run = newRun("Hello");
+        var rPr = new RPr();
+        rPr.setB(new BooleanDefaultTrue());
+        run.setRPr(rPr);
+        var paragraph = newParagraph(run);
+        paragraph.getContent()
+                 .add(newSmartTag("officestamper", newCtAttr("type", "placeholder"), newRun("${name}")));
+
+        var copy = WmlCloner.copy(paragraph);
+
+        assertNotSame(paragraph, copy);
+        assertEquals(xml(paragraph), xml(copy));
+        var copiedRun = (R) copy.getContent()
+                                .getFirst();
+        assertNotSame(run, copiedRun);
+        assertNotSame(rPr, copiedRun.getRPr());
+        assertSame(copy, copiedRun.getParent());
+        assertNull(copy.getParent());
+
+        copiedRun.getContent()
+                 .clear();
+        assertEquals("Hello", WmlUtils.asString(paragraph.getContent()
+                                                         .getFirst()));
+    }
+
+    @Test
+    @DisplayName("copy handles table rows and their wrapped cells")
+    void copiesRow() {
+        var factory = Context.getWmlObjectFactory();
+        var cell = newCell();
+        cell.getContent()
+            .add(newParagraph("cell"));
+        var row = newRow();
+        row.getContent()
+           .add(factory.createTrTc(cell));
+        var table = newTbl();
+        table.getContent()
+             .add(row);
+
+        var copy = WmlCloner.copy(row);
+
+        assertEquals(xml(newTable(row)), xml(newTable(copy)));
+        var copiedCell = (Tc) XmlUtils.unwrap(copy.getContent()
+                                                  .getFirst());
+        assertNotSame(cell, copiedCell);
+        assertSame(copy, copiedCell.getParent());
+    }
+
+    @Test
+    @DisplayName("copy handles structured document tags")
+    void copiesSdtBlock() {
+        var sdtBlock = newSdtBlock(newParagraph("in a block"));
+        var copy = WmlCloner.copy(sdtBlock);
+        assertNotSame(sdtBlock.getSdtContent(), copy.getSdtContent());
+        assertEquals(xml(sdtBlock), xml(copy));
+    }
+
+    @Test
+    @DisplayName("copy handles drawings")
+    void copiesDrawing()
+            throws Exception {
+        var paragraph = (P) XmlUtils.unmarshalString(DRAWING);
+        var copy = WmlCloner.copy(paragraph);
+        assertEquals(xml(paragraph), xml(copy));
+        var drawing = (Drawing) XmlUtils.unwrap(((R) copy.getContent()
+                                                         .getFirst()).getContent()
+                                                                     .getFirst());
+        var originalDrawing = (Drawing) XmlUtils.unwrap(((R) paragraph.getContent()
+                                                                      .getFirst()).getContent()
+                                                                                  .getFirst());
+        assertNotSame(originalDrawing.getAnchorOrInline()
+                                     .getFirst(),
+                drawing.getAnchorOrInline()
+                       .getFirst());
+    }
+
+    private static Tbl newTable(Tr row) {
+        var table = newTbl();
+        table.getContent()
+             .add(row);
+        return table;
+    }
+
+    @Test
+    @DisplayName("copy shares the selected list elements without re-parenting them")
+    void sharesSelectedElements() {
+        var shared = newRun("Shared");
+        var copied = newRun("Copied");
+        var paragraph = newParagraph(List.of(shared, copied));
+
+        var copy = WmlCloner.copy(paragraph, element -> element == shared);
+
+        assertSame(shared, copy.getContent()
+                               .getFirst());
+        assertSame(paragraph, shared.getParent());
+        var copiedRun = (R) copy.getContent()
+                                .get(1);
+        assertNotSame(copied, copiedRun);
+        assertSame(copy, copiedRun.getParent());
+        assertEquals(xml(paragraph), xml(copy));
+    }
+}